@@ -0,0 +1,176 @@
+package benchmark;
+
+import config.DatabaseConfig;
+import domain.Book;
+import domain.Loan;
+import domain.Member;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-process H2 database and generated data shared by the benchmarks.
+ * The connection settings come from src/jmh/resources/config.properties.
+ */
+final class BenchmarkDatabase {
+    private static final int BATCH_SIZE = 1000;
+    private static final Book.Category[] CATEGORIES = Book.Category.values();
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Recreate the schema and load books and members
+     * @return Database configuration whose pool serves the benchmark
+     */
+    static DatabaseConfig create(int bookCount, int memberCount) throws SQLException, IOException {
+        return create(bookCount, memberCount, 0);
+    }
+
+    /**
+     * Recreate the schema and load books, members and loans
+     * @return Database configuration whose pool serves the benchmark
+     */
+    static DatabaseConfig create(int bookCount, int memberCount, int loanCount) throws SQLException, IOException {
+        DatabaseConfig dbConfig = new DatabaseConfig();
+        Connection connection = dbConfig.getInstance();
+        try {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : readSchema().split(";")) {
+                    if (!sql.isBlank()) {
+                        statement.execute(sql);
+                    }
+                }
+            }
+            insertBooks(connection, bookCount);
+            insertMembers(connection, memberCount);
+            insertLoans(connection, loanCount);
+            connection.commit();
+        } finally {
+            connection.close();
+        }
+        return dbConfig;
+    }
+
+    /**
+     * Distinct ISBN-13 with a valid check digit, so every benchmark book is cacheable
+     */
+    static String isbn(int i) {
+        String digits = String.format("9780%06d%02d", i, i % 100);
+        int sum = 0;
+        for (int d = 0; d < 12; d++) {
+            int digit = digits.charAt(d) - '0';
+            sum += (d % 2 == 0) ? digit : digit * 3;
+        }
+        return String.format("978-0-%06d-%02d-%d", i, i % 100, (10 - sum % 10) % 10);
+    }
+
+    static List<Book> books(int count) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            books.add(new Book(isbn(i), "Benchmark Title " + i, "Author " + (i % 500),
+                    CATEGORIES[i % CATEGORIES.length], 5, 5, 10000.0 + i, true));
+        }
+        return books;
+    }
+
+    static List<Member> members(int count) {
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            members.add(new Member(i + 1, "Member " + i, "member" + i + "@mail.com",
+                    String.format("300%07d", i), true, LocalDate.now()));
+        }
+        return members;
+    }
+
+    static List<Loan> loans(int count) {
+        List<Loan> loans = new ArrayList<>(count);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < count; i++) {
+            LocalDate borrowDate = today.minusDays(i % 30);
+            Loan loan = new Loan(i + 1, i % 1000 + 1, isbn(i), borrowDate, borrowDate.plusDays(7), null,
+                    Loan.Status.BORROWED, 0.0, borrowDate);
+            loan.setMemberName("Member " + (i % 1000));
+            loan.setBookTitle("Benchmark Title " + i);
+            loans.add(loan);
+        }
+        return loans;
+    }
+
+    private static void insertBooks(Connection connection, int count) throws SQLException {
+        String sql = "INSERT INTO books (isbn, title, author, category, quantity, available, price, isActive, createdAt) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int i = 0;
+            for (Book book : books(count)) {
+                ps.setString(1, book.getIsbn());
+                ps.setString(2, book.getTitle());
+                ps.setString(3, book.getAuthor());
+                ps.setString(4, book.getCategory().name());
+                ps.setInt(5, book.getQuantity());
+                ps.setInt(6, book.getAvailable());
+                ps.setDouble(7, book.getPrice());
+                ps.setBoolean(8, book.isActive());
+                ps.setDate(9, Date.valueOf(book.getCreatedAt()));
+                ps.addBatch();
+                if (++i % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static void insertMembers(Connection connection, int count) throws SQLException {
+        String sql = "INSERT INTO members (name, email, phone, isActive, createdAt) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (Member member : members(count)) {
+                ps.setString(1, member.getName());
+                ps.setString(2, member.getEmail());
+                ps.setString(3, member.getPhone());
+                ps.setBoolean(4, member.isActive());
+                ps.setDate(5, Date.valueOf(member.getCreatedAt()));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static void insertLoans(Connection connection, int count) throws SQLException {
+        String sql = "INSERT INTO loans (memberId, isbn, borrowDate, dueDate, status, fineAmount, createdAt) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int i = 0;
+            for (Loan loan : loans(count)) {
+                ps.setInt(1, loan.getMemberId());
+                ps.setString(2, loan.getIsbn());
+                ps.setDate(3, Date.valueOf(loan.getBorrowDate()));
+                ps.setDate(4, Date.valueOf(loan.getDueDate()));
+                ps.setString(5, loan.getStatus().name());
+                ps.setDouble(6, loan.getFineAmount());
+                ps.setDate(7, Date.valueOf(loan.getCreatedAt()));
+                ps.addBatch();
+                if (++i % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static String readSchema() throws IOException {
+        try (InputStream input = BenchmarkDatabase.class.getClassLoader().getResourceAsStream("benchmark-schema.sql")) {
+            if (input == null) {
+                throw new IOException("benchmark-schema.sql not found");
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package benchmark;
+
+import config.DatabaseConfig;
+import dao.CatalogDao;
+import dao.impl.CachingCatalogDao;
+import dao.impl.CatalogDaoImpl;
+import domain.Book;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog lookups straight against the database and through the book cache.
+ * ISBN lookups cycle over a hot set of titles, as checkouts of popular books do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogDaoBenchmark {
+    private static final int BOOKS = 10_000;
+    private static final int HOT_TITLES = 200;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private DatabaseConfig dbConfig;
+    private Connection connection;
+    private CatalogDao catalogDao;
+    private String[] isbns;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dbConfig = BenchmarkDatabase.create(BOOKS, 1);
+        connection = dbConfig.getInstance();
+        catalogDao = new CatalogDaoImpl(connection);
+        if (cached) {
+            catalogDao = new CachingCatalogDao(catalogDao, 1_000, 300_000);
+        }
+        isbns = new String[HOT_TITLES];
+        for (int i = 0; i < HOT_TITLES; i++) {
+            isbns[i] = BenchmarkDatabase.isbn(i * (BOOKS / HOT_TITLES));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        connection.close();
+        dbConfig.closeConnection();
+    }
+
+    @Benchmark
+    public Book findByIsbn() throws Exception {
+        return catalogDao.findByIsbn(isbns[next++ % HOT_TITLES]);
+    }
+
+    @Benchmark
+    public List<Book> findByCategory() throws Exception {
+        return catalogDao.findByCategory(Book.Category.SCIENCE);
+    }
+}
@@ -0,0 +1,51 @@
+package benchmark;
+
+import config.DatabaseConfig;
+import dao.impl.CatalogDaoImpl;
+import dao.impl.LoanDaoImpl;
+import dao.impl.WatermarkDaoImpl;
+import domain.User;
+import org.openjdk.jmh.annotations.*;
+import service.ExportService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full catalog CSV export, from the database query to the file on disk
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportServiceBenchmark {
+
+    @Param({"10000"})
+    public int books;
+
+    private DatabaseConfig dbConfig;
+    private ExportService exportService;
+    private Path output;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dbConfig = BenchmarkDatabase.create(books, 1);
+        exportService = new ExportService(new CatalogDaoImpl(dbConfig.getInstance()),
+                new LoanDaoImpl(dbConfig.getInstance()), new WatermarkDaoImpl(dbConfig.getInstance()), dbConfig.getInstance());
+        output = Files.createTempFile("books-export", ".csv");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        dbConfig.closeConnection();
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public String exportBooksToCSV() {
+        return exportService.exportBooksToCSV(output.toString(), User.Role.ADMIN);
+    }
+}
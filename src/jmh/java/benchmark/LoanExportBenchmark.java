@@ -0,0 +1,55 @@
+package benchmark;
+
+import config.DatabaseConfig;
+import dao.impl.CatalogDaoImpl;
+import dao.impl.LoanDaoImpl;
+import dao.impl.WatermarkDaoImpl;
+import domain.ExportReport;
+import domain.User;
+import org.openjdk.jmh.annotations.*;
+import service.ExportService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full loan history CSV export, split into id ranges read in parallel and merged into one file
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoanExportBenchmark {
+
+    @Param({"100000"})
+    public int loans;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private DatabaseConfig dbConfig;
+    private ExportService exportService;
+    private Path output;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dbConfig = BenchmarkDatabase.create(loans, 1000, loans);
+        exportService = new ExportService(new CatalogDaoImpl(dbConfig.getInstance()),
+                new LoanDaoImpl(dbConfig.getInstance()), new WatermarkDaoImpl(dbConfig.getInstance()), dbConfig.getInstance());
+        output = Files.createTempFile("loans-export", ".csv");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        dbConfig.closeConnection();
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public ExportReport exportLoansToCSV() {
+        return exportService.exportLoansToCSV(output.toString(), parallelism, User.Role.ADMIN);
+    }
+}
@@ -0,0 +1,55 @@
+package benchmark;
+
+import config.DatabaseConfig;
+import dao.CatalogDao;
+import dao.LoanDao;
+import dao.MemberDao;
+import dao.impl.CatalogDaoImpl;
+import dao.impl.LoanDaoImpl;
+import dao.impl.MemberDaoImpl;
+import domain.Loan;
+import domain.User;
+import org.openjdk.jmh.annotations.*;
+import service.LoanService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout followed by return of the same copy, so the data set stays the same size
+ * between iterations (apart from the loans table, which grows by one returned loan per call).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoanServiceBenchmark {
+    private static final int BOOKS = 1_000;
+    private static final int MEMBERS = 100;
+
+    private DatabaseConfig dbConfig;
+    private LoanService loanService;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dbConfig = BenchmarkDatabase.create(BOOKS, MEMBERS);
+        LoanDao loanDao = new LoanDaoImpl(dbConfig.getInstance());
+        MemberDao memberDao = new MemberDaoImpl(dbConfig.getInstance());
+        CatalogDao catalogDao = new CatalogDaoImpl(dbConfig.getInstance());
+        loanService = new LoanService(loanDao, memberDao, catalogDao, dbConfig.getInstance());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dbConfig.closeConnection();
+    }
+
+    @Benchmark
+    public Loan registerAndReturn() {
+        int i = next++;
+        Loan loan = loanService.registerLoan(i % MEMBERS + 1, BenchmarkDatabase.isbn(i % BOOKS), User.Role.ASSISTANT);
+        return loanService.markReturn(loan.getId(), User.Role.ASSISTANT);
+    }
+}
@@ -0,0 +1,53 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import util.Logger;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one log call on the calling thread: synchronous file append, asynchronous
+ * ring buffer, and a call whose level is disabled. Writes to app.log in the working directory.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggerBenchmark {
+
+    @Param({"SYNC", "ASYNC", "DISABLED"})
+    public String mode;
+
+    private int loanId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Properties levels = new Properties();
+        levels.setProperty("log.level", mode.equals("DISABLED") ? "WARN" : "INFO");
+        Logger.configureLevels(levels);
+        if (mode.equals("ASYNC")) {
+            Logger.startAsync(8192, Logger.OverflowPolicy.BLOCK, 10, 200);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Logger.shutdown();
+    }
+
+    @Benchmark
+    public void info() {
+        Logger.info("LoggerBenchmark", "Loan registered successfully - ID: %d, Member: %d, ISBN: %s by %s",
+                loanId++, 42, "978-3-16-148410-0", "ASSISTANT");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void infoContended() {
+        Logger.info("LoggerBenchmark", "Loan registered successfully - ID: %d, Member: %d, ISBN: %s by %s",
+                7, 42, "978-3-16-148410-0", "ASSISTANT");
+    }
+}
@@ -0,0 +1,51 @@
+package benchmark;
+
+import domain.Book;
+import domain.Loan;
+import domain.Member;
+import org.openjdk.jmh.annotations.*;
+import util.TableFormatter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Table rendering for the "View All" screens at large row counts
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TableFormatterBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private List<Book> books;
+    private List<Loan> loans;
+    private List<Member> members;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        books = BenchmarkDatabase.books(rows);
+        loans = BenchmarkDatabase.loans(rows);
+        members = BenchmarkDatabase.members(rows);
+    }
+
+    @Benchmark
+    public String formatBooksTable() {
+        return TableFormatter.formatBooksTable(books);
+    }
+
+    @Benchmark
+    public String formatLoansTable() {
+        return TableFormatter.formatLoansTable(loans);
+    }
+
+    @Benchmark
+    public String formatMembersTable() {
+        return TableFormatter.formatMembersTable(members);
+    }
+}
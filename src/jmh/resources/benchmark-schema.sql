@@ -0,0 +1,77 @@
+-- H2 version of DDL.sql used by the JMH benchmarks
+drop all objects;
+
+create table users(
+id int primary key auto_increment,
+name varchar(75) not null,
+username varchar(75) not null unique,
+password varchar(75) not null,
+role enum('ADMIN','ASSISTANT') not null default 'ASSISTANT',
+isActive boolean not null default true,
+createdAt date not null
+);
+
+create table books(
+isbn varchar(155) primary key,
+title varchar(255) not null,
+author varchar(255) not null,
+category enum('UNKNOWN','FICTION','NON_FICTION','SCIENCE','TECHNOLOGY','HISTORY','OTHERS') not null default 'UNKNOWN',
+quantity int not null check(quantity >= 0),
+available int not null check(available >= 0),
+price double not null check(price >= 0),
+isActive boolean not null,
+createdAt date not null,
+updatedAt datetime(6) not null default current_timestamp(6) on update current_timestamp(6)
+);
+
+create table members(
+id int primary key auto_increment,
+name varchar(255) not null,
+email varchar(255) not null unique,
+phone varchar(15) not null unique,
+isActive boolean not null,
+createdAt date not null
+);
+
+create table loans(
+id int primary key auto_increment,
+memberId int not null,
+isbn varchar(155) not null,
+borrowDate date not null,
+dueDate date not null,
+returnDate date,
+status enum('BORROWED','RETURNED','OVERDUE') not null default 'BORROWED',
+fineAmount double default 0,
+createdAt date not null,
+updatedAt datetime(6) not null default current_timestamp(6) on update current_timestamp(6),
+foreign key (memberId) references members(id) on delete cascade,
+foreign key (isbn) references books(isbn) on delete cascade
+);
+
+create table export_watermarks(
+target varchar(100) primary key,
+watermark datetime(6) not null
+);
+
+create table deleted_books(
+isbn varchar(155) not null,
+deletedAt datetime(6) not null default current_timestamp(6)
+);
+
+create table deleted_loans(
+id int not null,
+deletedAt datetime(6) not null default current_timestamp(6)
+);
+
+create index idx_users_created on users(createdAt, id);
+create index idx_books_created on books(createdAt, isbn);
+create index idx_books_category_created on books(category, createdAt, isbn);
+create index idx_books_updated on books(updatedAt, isbn);
+create index idx_members_created on members(createdAt, id);
+create index idx_loans_status_due on loans(status, dueDate);
+create index idx_loans_created on loans(createdAt, id);
+create index idx_loans_status_created on loans(status, createdAt, id);
+create index idx_loans_member_isbn_status on loans(memberId, isbn, status);
+create index idx_loans_updated on loans(updatedAt, id);
+create index idx_deleted_books on deleted_books(deletedAt, isbn);
+create index idx_deleted_loans on deleted_loans(deletedAt, id);
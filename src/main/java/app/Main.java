@@ -1,16 +1,19 @@
 package app;
 
 import config.DatabaseConfig;
+import config.PropertiesLoad;
 import controller.AuthController;
 import controller.CatalogController;
 import controller.ExportController;
 import controller.LoanController;
 import controller.MemberController;
 import controller.UserController;
+import dao.impl.CachingCatalogDao;
 import dao.impl.CatalogDaoImpl;
 import dao.impl.LoanDaoImpl;
 import dao.impl.MemberDaoImpl;
 import dao.impl.UserDaoImpl;
+import dao.impl.WatermarkDaoImpl;
 import service.AuthService;
 import service.CatalogService;
 import service.ExportService;
@@ -27,22 +30,79 @@ import dao.CatalogDao;
 import dao.LoanDao;
 import dao.MemberDao;
 import dao.UserDao;
+import errors.ServiceException;
+import index.CatalogSuggester;
+import index.DueDateIndex;
+import jobs.JobScheduler;
+import jobs.Schedule;
+import index.InvertedIndex;
+import util.Logger;
+
+import java.time.Duration;
 
 public class Main {
     public static void main(String[] args) {
+        if (PropertiesLoad.LOG_ASYNC) {
+            Logger.startAsync(
+                PropertiesLoad.LOG_BUFFER_SIZE,
+                Logger.OverflowPolicy.valueOf(PropertiesLoad.LOG_OVERFLOW_POLICY.trim().toUpperCase()),
+                PropertiesLoad.LOG_SAMPLE_RATE,
+                PropertiesLoad.LOG_FLUSH_INTERVAL_MS
+            );
+        }
+
         DatabaseConfig dbConfig = new DatabaseConfig();
 
         UserDao userDao = new UserDaoImpl(dbConfig.getInstance());
         MemberDao memberDao = new MemberDaoImpl(dbConfig.getInstance());
         CatalogDao catalogDao = new CatalogDaoImpl(dbConfig.getInstance());
+        CachingCatalogDao bookCache = null;
+        if (PropertiesLoad.BOOK_CACHE_MAX_SIZE > 0) {
+            bookCache = new CachingCatalogDao(catalogDao, PropertiesLoad.BOOK_CACHE_MAX_SIZE, PropertiesLoad.BOOK_CACHE_TTL_MS);
+            catalogDao = bookCache;
+        }
         LoanDao loanDao = new LoanDaoImpl(dbConfig.getInstance());
 
-        AuthService authService = new AuthService(userDao);
+        AuthService authService = new AuthService(userDao, dbConfig.getInstance());
         MemberService memberService = new MemberService(memberDao, dbConfig.getInstance());
-        CatalogService catalogService = new CatalogService(catalogDao, dbConfig.getInstance());
+        InvertedIndex searchIndex = new InvertedIndex();
+        CatalogSuggester suggester = new CatalogSuggester(PropertiesLoad.SUGGEST_MEMORY_BUDGET_MB * 1024L * 1024L);
+        CatalogService catalogService = new CatalogService(catalogDao, dbConfig.getInstance(), searchIndex, suggester);
         UserService userService = new UserService(userDao, dbConfig.getInstance());
-        LoanService loanService = new LoanService(loanDao, memberDao, catalogDao, dbConfig.getInstance());
-        ExportService exportService = new ExportService(catalogDao, loanDao, dbConfig.getInstance());
+        DueDateIndex dueDateIndex = new DueDateIndex();
+        LoanService loanService = new LoanService(loanDao, memberDao, catalogDao, dbConfig.getInstance(), suggester, dueDateIndex);
+        ExportService exportService = new ExportService(catalogDao, loanDao, new WatermarkDaoImpl(dbConfig.getInstance()), dbConfig.getInstance());
+
+        try {
+            catalogService.rebuildSearchIndex();
+        } catch (ServiceException e) {
+            Logger.warn("Main", "Starting without a search index: %s", e.getMessage());
+        }
+        try {
+            catalogService.rebuildSuggestions();
+        } catch (ServiceException e) {
+            Logger.warn("Main", "Starting without autocompletion: %s", e.getMessage());
+        }
+
+        // Housekeeping runs in the background, off the interactive thread
+        JobScheduler jobScheduler = new JobScheduler();
+        Duration jitter = Duration.ofMillis(PropertiesLoad.JOBS_JITTER_MS);
+        jobScheduler.schedule("overdue-loans", Schedule.cron(PropertiesLoad.JOBS_OVERDUE_CRON), jitter,
+                Duration.ofMillis(PropertiesLoad.JOBS_RETRY_MS), loanService::markDueLoansOverdue);
+        try {
+            loanService.rebuildDueDateIndex();
+        } catch (ServiceException e) {
+            // The job rebuilds the index itself and keeps retrying until it succeeds
+            Logger.warn("Main", "Starting without a due date index: %s", e.getMessage());
+            jobScheduler.runNow("overdue-loans");
+        }
+        jobScheduler.schedule("suggestions", Schedule.cron(PropertiesLoad.JOBS_SUGGESTIONS_CRON), jitter,
+                catalogService::rebuildSuggestions);
+        if (bookCache != null && PropertiesLoad.BOOK_CACHE_TTL_MS > 0) {
+            CachingCatalogDao cache = bookCache;
+            jobScheduler.schedule("book-cache-purge", Schedule.fixedRate(Duration.ofMillis(PropertiesLoad.BOOK_CACHE_TTL_MS)),
+                    Duration.ZERO, () -> Logger.debug("Main", "Purged %d expired book(s) from the cache", cache.purgeExpired()));
+        }
 
         MemberController memberController = new MemberController(memberService);
         AuthController authController = new AuthController(authService);
@@ -60,6 +120,12 @@ public class Main {
         MainView mainView = new MainView(authController, memberView, catalogView, userView, loanView, exportView);
         mainView.showMenu();
 
+        if (bookCache != null) {
+            Logger.info("Main", "Book cache stats - " + bookCache.getStats());
+        }
+
+        jobScheduler.shutdown(Duration.ofMillis(PropertiesLoad.JOBS_SHUTDOWN_GRACE_MS));
         dbConfig.closeConnection();
+        Logger.shutdown();
     }
 }
@@ -0,0 +1,357 @@
+package config;
+
+import util.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded JDBC connection pool.
+ * Connections handed out by {@link #borrow()} go back to the pool when closed.
+ * A background housekeeper evicts idle connections above the minimum size
+ * and reports connections that have been borrowed for too long.
+ */
+public class ConnectionPool implements AutoCloseable {
+    /** Connections returned less than this long ago are handed out without validation */
+    private static final long VALIDATION_BYPASS_MS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    /**
+     * Opens new physical connections for the pool
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMs;
+    private final long borrowTimeoutMs;
+    private final long leakDetectionThresholdMs;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Map<PooledConnection, Boolean> borrowed = new ConcurrentHashMap<>();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    /**
+     * @param factory Source of physical connections
+     * @param minSize Connections kept open even when idle
+     * @param maxSize Maximum connections borrowed at the same time
+     * @param idleTimeoutMs Idle time after which connections above minSize are closed (0 disables)
+     * @param borrowTimeoutMs Maximum wait for a free connection
+     * @param leakDetectionThresholdMs Borrow time after which a leak warning is logged (0 disables)
+     */
+    public ConnectionPool(ConnectionFactory factory, int minSize, int maxSize, long idleTimeoutMs,
+                          long borrowTimeoutMs, long leakDetectionThresholdMs) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool max size must be > 0");
+        }
+        if (minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Pool min size must be between 0 and max size");
+        }
+        this.factory = factory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+        this.permits = new Semaphore(maxSize, true);
+
+        for (int i = 0; i < minSize; i++) {
+            try {
+                idle.offerLast(open());
+            } catch (SQLException e) {
+                Logger.error("ConnectionPool", "Error opening initial connection: " + e.getMessage());
+                break;
+            }
+        }
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = housekeepingPeriodMs();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+
+        Logger.info("ConnectionPool", "Connection pool started - min: %d, max: %d, open: %d",
+                minSize, maxSize, totalConnections.get());
+    }
+
+    /**
+     * Borrow a connection, waiting up to the borrow timeout for one to become free.
+     * Closing the returned connection gives it back to the pool.
+     * @return Pooled connection
+     * @throws SQLTimeoutException if no connection became available in time
+     * @throws SQLException if a new connection could not be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException(String.format(
+                        "Timed out after %d ms waiting for a connection (in use: %d, max: %d)",
+                        borrowTimeoutMs, borrowed.size(), maxSize));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    return lease(pooled);
+                }
+                destroy(pooled);
+            }
+            return lease(open());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Number of connections currently borrowed
+     */
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    /**
+     * Number of open connections waiting in the pool
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Number of physical connections currently open
+     */
+    public int getTotalCount() {
+        return totalConnections.get();
+    }
+
+    /**
+     * Close every idle connection and stop the housekeeper.
+     * Borrowed connections are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+
+        if (!borrowed.isEmpty()) {
+            Logger.warn("ConnectionPool", "Pool closed with %d connection(s) still borrowed", borrowed.size());
+        }
+        Logger.info("ConnectionPool", "Connection pool closed");
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = factory.create();
+        physical.setAutoCommit(false);
+        totalConnections.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private Connection lease(PooledConnection pooled) {
+        pooled.borrowedAt = System.currentTimeMillis();
+        pooled.borrowTrace = leakDetectionThresholdMs > 0
+                ? new Exception("Connection borrowed by thread " + Thread.currentThread().getName())
+                : null;
+        pooled.leakReported = false;
+        pooled.handle = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Handle(pooled));
+        borrowed.put(pooled, Boolean.TRUE);
+        return pooled.handle;
+    }
+
+    /**
+     * Take a connection back from a borrower. Uncommitted work is rolled back.
+     */
+    private void giveBack(PooledConnection pooled) {
+        if (borrowed.remove(pooled) == null) {
+            return;
+        }
+
+        boolean reusable = !closed && totalConnections.get() <= maxSize;
+        if (reusable) {
+            try {
+                if (!pooled.physical.getAutoCommit()) {
+                    pooled.physical.rollback();
+                }
+                pooled.physical.setAutoCommit(false);
+            } catch (SQLException e) {
+                Logger.warn("ConnectionPool", "Discarding connection that failed to reset: " + e.getMessage());
+                reusable = false;
+            }
+        }
+
+        pooled.handle = null;
+        pooled.borrowTrace = null;
+        pooled.lastReturnedAt = System.currentTimeMillis();
+
+        if (reusable) {
+            idle.offerFirst(pooled);
+        } else {
+            destroy(pooled);
+        }
+        permits.release();
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastReturnedAt < VALIDATION_BYPASS_MS) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            Logger.warn("ConnectionPool", "Error closing connection: " + e.getMessage());
+        }
+    }
+
+    private long housekeepingPeriodMs() {
+        long period = 30_000;
+        if (idleTimeoutMs > 0) {
+            period = Math.min(period, Math.max(idleTimeoutMs / 2, 1_000));
+        }
+        if (leakDetectionThresholdMs > 0) {
+            period = Math.min(period, Math.max(leakDetectionThresholdMs / 2, 1_000));
+        }
+        return period;
+    }
+
+    /**
+     * Evict idle connections, refill up to the minimum size and report leaks
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        if (idleTimeoutMs > 0) {
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && totalConnections.get() > minSize) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.lastReturnedAt > idleTimeoutMs && idle.remove(pooled)) {
+                    destroy(pooled);
+                }
+            }
+        }
+
+        while (!closed && totalConnections.get() < minSize) {
+            try {
+                idle.offerLast(open());
+            } catch (SQLException e) {
+                Logger.error("ConnectionPool", "Error refilling pool: " + e.getMessage());
+                break;
+            }
+        }
+
+        if (leakDetectionThresholdMs > 0) {
+            for (PooledConnection pooled : borrowed.keySet()) {
+                Exception trace = pooled.borrowTrace;
+                if (!pooled.leakReported && trace != null && now - pooled.borrowedAt > leakDetectionThresholdMs) {
+                    pooled.leakReported = true;
+                    Logger.logException("ConnectionPool", String.format(
+                            "Possible connection leak - borrowed %d ms ago and not returned", now - pooled.borrowedAt), trace);
+                }
+            }
+        }
+    }
+
+    /**
+     * Physical connection plus its pool bookkeeping
+     */
+    private static class PooledConnection {
+        private final Connection physical;
+        private volatile Connection handle;
+        private volatile long borrowedAt;
+        private volatile long lastReturnedAt;
+        private volatile Exception borrowTrace;
+        private volatile boolean leakReported;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+    }
+
+    /**
+     * Borrower-facing view of a pooled connection; close() returns it to the pool
+     */
+    private class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private volatile boolean returned;
+
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        giveBack(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(pooled.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
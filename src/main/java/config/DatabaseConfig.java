@@ -1,43 +1,43 @@
 package config;
 
-import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
-import java.sql.SQLException;
-import java.util.Properties;
 import util.Logger;
 
 public class DatabaseConfig {
-    private final Connection connection = getInstance();
+    private final ConnectionPool pool = createPool();
+    private final Connection connection = ThreadBoundConnection.create(pool);
 
+    /**
+     * Connection shared by DAOs and services.
+     * Each thread borrows its own pooled connection on first use and returns it on close().
+     */
     public Connection getInstance(){
-        if(connection != null){
-            return connection;
-        }
-        Connection conn = null;
-        try{
-            conn = DriverManager.getConnection(
+        return connection;
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    private ConnectionPool createPool() {
+        ConnectionPool connectionPool = new ConnectionPool(
+            () -> DriverManager.getConnection(
                 PropertiesLoad.DB_URL,
                 PropertiesLoad.DB_USER,
                 PropertiesLoad.DB_PASSWORD
-            );
-            conn.setAutoCommit(false);
-            Logger.info("DatabaseConfig", "Database connection established successfully");
-
-        } catch (SQLException e) {
-            Logger.error("DatabaseConfig", "Error establishing database connection: " + e.getMessage());
-            throw new RuntimeException(e);
-        }
-        return conn;
+            ),
+            PropertiesLoad.DB_POOL_MIN_SIZE,
+            PropertiesLoad.DB_POOL_MAX_SIZE,
+            PropertiesLoad.DB_POOL_IDLE_TIMEOUT_MS,
+            PropertiesLoad.DB_POOL_BORROW_TIMEOUT_MS,
+            PropertiesLoad.DB_POOL_LEAK_DETECTION_MS
+        );
+        Logger.info("DatabaseConfig", "Database connection pool established successfully");
+        return connectionPool;
     }
 
     public void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
-        }
+        pool.close();
     }
 }
@@ -4,6 +4,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
 
+import util.Logger;
+
 public class PropertiesLoad {
     private final static Properties prop = new Properties();
 
@@ -12,6 +14,30 @@ public class PropertiesLoad {
     public static String DB_PASSWORD;
     public static int DAYS_BORROW_LIMIT;
     public static int FINE_PER_DAY;
+    public static int DB_POOL_MIN_SIZE;
+    public static int DB_POOL_MAX_SIZE;
+    public static long DB_POOL_IDLE_TIMEOUT_MS;
+    public static long DB_POOL_BORROW_TIMEOUT_MS;
+    public static long DB_POOL_LEAK_DETECTION_MS;
+    public static int DB_STREAM_FETCH_SIZE;
+    public static int BOOK_CACHE_MAX_SIZE;
+    public static long BOOK_CACHE_TTL_MS;
+    public static int IMPORT_CHUNK_SIZE;
+    public static int EXPORT_BUFFER_BYTES;
+    public static int EXPORT_PARALLELISM;
+    public static long EXPORT_DELTA_LAG_MS;
+    public static int SUGGEST_MEMORY_BUDGET_MB;
+    public static long FUZZY_SEARCH_BUDGET_MS;
+    public static String JOBS_OVERDUE_CRON;
+    public static String JOBS_SUGGESTIONS_CRON;
+    public static long JOBS_JITTER_MS;
+    public static long JOBS_RETRY_MS;
+    public static long JOBS_SHUTDOWN_GRACE_MS;
+    public static boolean LOG_ASYNC;
+    public static int LOG_BUFFER_SIZE;
+    public static String LOG_OVERFLOW_POLICY;
+    public static int LOG_SAMPLE_RATE;
+    public static long LOG_FLUSH_INTERVAL_MS;
 
     static {
         try (InputStream input = PropertiesLoad.class.getClassLoader().getResourceAsStream("config.properties")) {
@@ -20,12 +46,38 @@ public class PropertiesLoad {
                 throw new IOException("config.properties not found");
             }
             prop.load(input);
+            Logger.configureLevels(prop);
             DB_URL = prop.getProperty("db.url");
             DB_USER = prop.getProperty("db.user");
             DB_PASSWORD = prop.getProperty("db.password");
+            LOG_ASYNC = Boolean.parseBoolean(prop.getProperty("log.async", "true"));
+            LOG_OVERFLOW_POLICY = prop.getProperty("log.overflowPolicy", "BLOCK");
+            JOBS_OVERDUE_CRON = prop.getProperty("jobs.overdueCron", "0 0 * * *");
+            JOBS_SUGGESTIONS_CRON = prop.getProperty("jobs.suggestionsCron", "30 3 * * *");
             try {
                 DAYS_BORROW_LIMIT = Integer.parseInt(prop.getProperty("daysBorrowLimit"));
                 FINE_PER_DAY = Integer.parseInt(prop.getProperty("finePerDay"));
+                DB_POOL_MIN_SIZE = Integer.parseInt(prop.getProperty("db.pool.minSize", "2"));
+                DB_POOL_MAX_SIZE = Integer.parseInt(prop.getProperty("db.pool.maxSize", "10"));
+                DB_POOL_IDLE_TIMEOUT_MS = Long.parseLong(prop.getProperty("db.pool.idleTimeoutMs", "600000"));
+                DB_POOL_BORROW_TIMEOUT_MS = Long.parseLong(prop.getProperty("db.pool.borrowTimeoutMs", "30000"));
+                DB_POOL_LEAK_DETECTION_MS = Long.parseLong(prop.getProperty("db.pool.leakDetectionMs", "60000"));
+                DB_STREAM_FETCH_SIZE = Integer.parseInt(prop.getProperty("db.streamFetchSize", String.valueOf(Integer.MIN_VALUE)));
+                BOOK_CACHE_MAX_SIZE = Integer.parseInt(prop.getProperty("cache.books.maxSize", "1000"));
+                BOOK_CACHE_TTL_MS = Long.parseLong(prop.getProperty("cache.books.ttlMs", "300000"));
+                IMPORT_CHUNK_SIZE = Integer.parseInt(prop.getProperty("import.chunkSize", "1000"));
+                EXPORT_BUFFER_BYTES = Integer.parseInt(prop.getProperty("export.bufferBytes", "1048576"));
+                EXPORT_PARALLELISM = Integer.parseInt(prop.getProperty("export.parallelism",
+                        String.valueOf(Math.min(4, Runtime.getRuntime().availableProcessors()))));
+                EXPORT_DELTA_LAG_MS = Long.parseLong(prop.getProperty("export.deltaLagMs", "60000"));
+                SUGGEST_MEMORY_BUDGET_MB = Integer.parseInt(prop.getProperty("suggest.memoryBudgetMb", "64"));
+                FUZZY_SEARCH_BUDGET_MS = Long.parseLong(prop.getProperty("search.fuzzyBudgetMs", "50"));
+                JOBS_JITTER_MS = Long.parseLong(prop.getProperty("jobs.jitterMs", "30000"));
+                JOBS_RETRY_MS = Long.parseLong(prop.getProperty("jobs.retryMs", "900000"));
+                JOBS_SHUTDOWN_GRACE_MS = Long.parseLong(prop.getProperty("jobs.shutdownGraceMs", "5000"));
+                LOG_BUFFER_SIZE = Integer.parseInt(prop.getProperty("log.bufferSize", "8192"));
+                LOG_SAMPLE_RATE = Integer.parseInt(prop.getProperty("log.sampleRate", "10"));
+                LOG_FLUSH_INTERVAL_MS = Long.parseLong(prop.getProperty("log.flushIntervalMs", "200"));
             } catch (NumberFormatException e) {
                 e.printStackTrace();
                 throw new ExceptionInInitializerError("Invalid number format in config.properties");
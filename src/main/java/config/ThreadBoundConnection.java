@@ -0,0 +1,72 @@
+package config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+
+/**
+ * Connection shared by DAOs and services that routes every call to the
+ * connection the current thread has borrowed from the pool.
+ * The first call in a unit of work borrows a connection; close() gives it back.
+ * commit() and rollback() keep the connection so a unit of work can span several transactions.
+ */
+class ThreadBoundConnection implements InvocationHandler {
+    private final ConnectionPool pool;
+    private final ThreadLocal<Connection> current = new ThreadLocal<>();
+
+    private ThreadBoundConnection(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Create a connection whose calls are served by the pool, one borrowed connection per thread
+     */
+    static Connection create(ConnectionPool pool) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ThreadBoundConnection(pool));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                Connection bound = current.get();
+                if (bound != null) {
+                    current.remove();
+                    try {
+                        bound.close();
+                    } finally {
+                        TransactionHooks.complete();
+                    }
+                }
+                return null;
+            case "isClosed":
+                return false;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "ThreadBoundConnection[" + Thread.currentThread().getName() + "]";
+            default:
+                Connection connection = current.get();
+                if (connection == null) {
+                    connection = pool.borrow();
+                    current.set(connection);
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                } finally {
+                    if (args == null && (method.getName().equals("commit") || method.getName().equals("rollback"))) {
+                        TransactionHooks.complete();
+                    }
+                }
+        }
+    }
+}
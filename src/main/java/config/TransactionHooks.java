@@ -0,0 +1,44 @@
+package config;
+
+import util.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Callbacks that run when the current thread's transaction ends.
+ * The pooled connection triggers them after commit(), rollback() and close(),
+ * so caches can drop entries whose database state just became visible (or was undone).
+ */
+public final class TransactionHooks {
+    private static final ThreadLocal<List<Runnable>> pending = ThreadLocal.withInitial(ArrayList::new);
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * Run the callback once the current thread's transaction commits or rolls back
+     */
+    public static void afterCompletion(Runnable callback) {
+        pending.get().add(callback);
+    }
+
+    /**
+     * Run and clear every callback registered by the current thread
+     */
+    static void complete() {
+        List<Runnable> callbacks = pending.get();
+        if (callbacks.isEmpty()) {
+            return;
+        }
+        List<Runnable> toRun = new ArrayList<>(callbacks);
+        callbacks.clear();
+        for (Runnable callback : toRun) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                Logger.logException("TransactionHooks", "Error running after-completion callback", e);
+            }
+        }
+    }
+}
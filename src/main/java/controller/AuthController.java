@@ -18,7 +18,7 @@ public class AuthController {
 
     public HashMap<String,String> login(String username, String password) {
         HashMap<String,String> response = new HashMap<>();
-        Logger.info("AuthController", String.format("Login attempt - Username: %s", username));
+        Logger.info("AuthController", "Login attempt - Username: %s", username);
         
         try {
             User user = authService.Login(username, password);
@@ -29,16 +29,16 @@ public class AuthController {
             response.put("status", "200");
             response.put("message", "Login successful");
             
-            Logger.info("AuthController", String.format("[200] Login successful - UserId: %d, Role: %s", user.getId(), user.getRole()));
+            Logger.info("AuthController", "[200] Login successful - UserId: %d, Role: %s", user.getId(), user.getRole());
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("AuthController", String.format("[400] Login failed - Bad request: %s", e.getMessage()));
+            Logger.warn("AuthController", "[400] Login failed - Bad request: %s", e.getMessage());
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("AuthController", String.format("[401] Login failed - Unauthorized: %s (Username: %s)", e.getMessage(), username));
+            Logger.warn("AuthController", "[401] Login failed - Unauthorized: %s (Username: %s)", e.getMessage(), username);
         } catch (ServiceException e) {
             response.put("status", "500");
             response.put("message", e.getMessage());
@@ -1,6 +1,9 @@
 package controller;
 
+import dao.Page;
+import dao.PageCursor;
 import domain.Book;
+import domain.ImportReport;
 import domain.User;
 import errors.*;
 import service.CatalogService;
@@ -23,7 +26,7 @@ public class CatalogController {
     public HashMap<String, String> createBook(String isbn, String title, String author, String categoryStr,
                                              String quantityStr, String priceStr, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("CatalogController", String.format("Create book attempt - ISBN: %s, Role: %s", isbn, userRole));
+        Logger.info("CatalogController", "Create book attempt - ISBN: %s, Role: %s", isbn, userRole);
         
         try {
             // Validate input data in controller
@@ -43,22 +46,22 @@ public class CatalogController {
             response.put("isbn", book.getIsbn());
             response.put("title", book.getTitle());
             
-            Logger.info("CatalogController", String.format("[201] Book created successfully - ISBN: %s", book.getIsbn()));
+            Logger.info("CatalogController", "[201] Book created successfully - ISBN: %s", book.getIsbn());
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[400] Create book failed - Bad request: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[400] Create book failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[401] Create book failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[401] Create book failed - Unauthorized: %s", e.getMessage());
             
         } catch (ConflictException e) {
             response.put("status", "409");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[409] Create book failed - Conflict: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[409] Create book failed - Conflict: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -76,7 +79,7 @@ public class CatalogController {
                                              String quantityStr, String availableStr, String priceStr, 
                                              String isActiveStr, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("CatalogController", String.format("Update book attempt - ISBN: %s, Role: %s", isbn, userRole));
+        Logger.info("CatalogController", "Update book attempt - ISBN: %s, Role: %s", isbn, userRole);
         
         try {
             // Validate ISBN
@@ -126,22 +129,22 @@ public class CatalogController {
                 response.put("title", book.getTitle());
             }
             
-            Logger.info("CatalogController", String.format("[200] Book updated successfully - ISBN: %s", isbn));
+            Logger.info("CatalogController", "[200] Book updated successfully - ISBN: %s", isbn);
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[400] Update book failed - Bad request: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[400] Update book failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[401] Update book failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[401] Update book failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[404] Update book failed - Not found: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[404] Update book failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -157,7 +160,7 @@ public class CatalogController {
      */
     public HashMap<String, String> deleteBook(String isbn, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("CatalogController", String.format("Delete book attempt - ISBN: %s, Role: %s", isbn, userRole));
+        Logger.info("CatalogController", "Delete book attempt - ISBN: %s, Role: %s", isbn, userRole);
         
         try {
             if (isbn == null || isbn.trim().isEmpty()) {
@@ -169,27 +172,27 @@ public class CatalogController {
             if (deleted) {
                 response.put("status", "200");
                 response.put("message", "Book deleted successfully");
-                Logger.info("CatalogController", String.format("[200] Book deleted successfully - ISBN: %s", isbn));
+                Logger.info("CatalogController", "[200] Book deleted successfully - ISBN: %s", isbn);
             } else {
                 response.put("status", "500");
                 response.put("message", "Failed to delete book");
-                Logger.warn("CatalogController", String.format("[500] Delete book failed - ISBN: %s", isbn));
+                Logger.warn("CatalogController", "[500] Delete book failed - ISBN: %s", isbn);
             }
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[400] Delete book failed - Bad request: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[400] Delete book failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[401] Delete book failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[401] Delete book failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[404] Delete book failed - Not found: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[404] Delete book failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -205,7 +208,7 @@ public class CatalogController {
      */
     public HashMap<String, String> getAllBooks(User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("CatalogController", String.format("Get all books attempt - Role: %s", userRole));
+        Logger.info("CatalogController", "Get all books attempt - Role: %s", userRole);
         
         try {
             List<Book> books = catalogService.getAllBooks(userRole);
@@ -216,17 +219,17 @@ public class CatalogController {
             response.put("status", "200");
             response.put("message", tableMessage);
             
-            Logger.info("CatalogController", String.format("[200] Books retrieved successfully - Count: %d", books.size()));
+            Logger.info("CatalogController", "[200] Books retrieved successfully - Count: %d", books.size());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[401] Get all books failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[401] Get all books failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[404] Get all books failed - Not found: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[404] Get all books failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -237,12 +240,60 @@ public class CatalogController {
         return response;
     }
 
+    /**
+     * Get one page of books
+     * @param cursor Cursor returned with the previous page (null or empty for the first page)
+     * @param limitStr Page size
+     * @return HashMap with status, the formatted table and nextCursor when more pages exist
+     */
+    public HashMap<String, String> getBooksPage(String cursor, String limitStr, User.Role userRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.info("CatalogController", "Get books page attempt - Cursor: %s, Role: %s", cursor, userRole);
+        
+        try {
+            PageCursor after = parseCursor(cursor);
+            int limit = parsePageSize(limitStr);
+            
+            Page<Book> page = catalogService.getBooksPage(after, limit, userRole);
+            
+            response.put("status", "200");
+            response.put("message", TableFormatter.formatBooksTable(page.getItems()));
+            if (page.hasNext()) {
+                response.put("nextCursor", page.getNextCursor().encode());
+            }
+            
+            Logger.info("CatalogController", "[200] Books page retrieved successfully - Count: %d", page.getItems().size());
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[400] Get books page failed - Bad request: %s", e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[401] Get books page failed - Unauthorized: %s", e.getMessage());
+            
+        } catch (NotFoundException e) {
+            response.put("status", "404");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[404] Get books page failed - Not found: %s", e.getMessage());
+            
+        } catch (ServiceException e) {
+            response.put("status", "500");
+            response.put("message", "Internal server error. Please try again later");
+            Logger.logException("CatalogController", "[500] Get books page error", e);
+        }
+        
+        return response;
+    }
+
     /**
      * Find book by ISBN
      */
     public HashMap<String, String> findBookByIsbn(String isbn, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("CatalogController", String.format("Find book by ISBN attempt - ISBN: %s, Role: %s", isbn, userRole));
+        Logger.info("CatalogController", "Find book by ISBN attempt - ISBN: %s, Role: %s", isbn, userRole);
         
         try {
             if (isbn == null || isbn.trim().isEmpty()) {
@@ -257,22 +308,22 @@ public class CatalogController {
             response.put("status", "200");
             response.put("message", detailsMessage);
             
-            Logger.info("CatalogController", String.format("[200] Book found - ISBN: %s", isbn));
+            Logger.info("CatalogController", "[200] Book found - ISBN: %s", isbn);
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[400] Find book failed - Bad request: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[400] Find book failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[401] Find book failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[401] Find book failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[404] Find book failed - Not found: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[404] Find book failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -288,7 +339,7 @@ public class CatalogController {
      */
     public HashMap<String, String> findBooksByCategory(String categoryStr, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("CatalogController", String.format("Find books by category attempt - Category: %s, Role: %s", categoryStr, userRole));
+        Logger.info("CatalogController", "Find books by category attempt - Category: %s, Role: %s", categoryStr, userRole);
         
         try {
             if (categoryStr == null || categoryStr.trim().isEmpty()) {
@@ -304,22 +355,22 @@ public class CatalogController {
             response.put("status", "200");
             response.put("message", tableMessage);
             
-            Logger.info("CatalogController", String.format("[200] Books found by category - Count: %d", books.size()));
+            Logger.info("CatalogController", "[200] Books found by category - Count: %d", books.size());
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[400] Find books by category failed - Bad request: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[400] Find books by category failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[401] Find books by category failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[401] Find books by category failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[404] Find books by category failed - Not found: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[404] Find books by category failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -330,12 +381,66 @@ public class CatalogController {
         return response;
     }
 
+    /**
+     * Get one page of books in a category
+     * @param categoryStr Category to filter by
+     * @param cursor Cursor returned with the previous page (null or empty for the first page)
+     * @param limitStr Page size
+     * @return HashMap with status, the formatted table and nextCursor when more pages exist
+     */
+    public HashMap<String, String> getBooksPageByCategory(String categoryStr, String cursor, String limitStr, User.Role userRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.info("CatalogController", "Get books page by category attempt - Cursor: %s, Role: %s", cursor, userRole);
+        
+        try {
+            if (categoryStr == null || categoryStr.trim().isEmpty()) {
+                throw new BadRequestException("Category cannot be null or empty");
+            }
+            
+            Book.Category category = parseCategory(categoryStr);
+            PageCursor after = parseCursor(cursor);
+            int limit = parsePageSize(limitStr);
+            
+            Page<Book> page = catalogService.getBooksPageByCategory(category, after, limit, userRole);
+            
+            response.put("status", "200");
+            response.put("message", TableFormatter.formatBooksTable(page.getItems()));
+            if (page.hasNext()) {
+                response.put("nextCursor", page.getNextCursor().encode());
+            }
+            
+            Logger.info("CatalogController", "[200] Books page retrieved successfully - Count: %d", page.getItems().size());
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[400] Get books page by category failed - Bad request: %s", e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[401] Get books page by category failed - Unauthorized: %s", e.getMessage());
+            
+        } catch (NotFoundException e) {
+            response.put("status", "404");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[404] Get books page by category failed - Not found: %s", e.getMessage());
+            
+        } catch (ServiceException e) {
+            response.put("status", "500");
+            response.put("message", "Internal server error. Please try again later");
+            Logger.logException("CatalogController", "[500] Get books page by category error", e);
+        }
+        
+        return response;
+    }
+
     /**
      * Find books by author
      */
     public HashMap<String, String> findBooksByAuthor(String author, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("CatalogController", String.format("Find books by author attempt - Author: %s, Role: %s", author, userRole));
+        Logger.info("CatalogController", "Find books by author attempt - Author: %s, Role: %s", author, userRole);
         
         try {
             if (author == null || author.trim().isEmpty()) {
@@ -350,22 +455,22 @@ public class CatalogController {
             response.put("status", "200");
             response.put("message", tableMessage);
             
-            Logger.info("CatalogController", String.format("[200] Books found by author - Count: %d", books.size()));
+            Logger.info("CatalogController", "[200] Books found by author - Count: %d", books.size());
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[400] Find books by author failed - Bad request: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[400] Find books by author failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[401] Find books by author failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[401] Find books by author failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[404] Find books by author failed - Not found: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[404] Find books by author failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -381,8 +486,8 @@ public class CatalogController {
      */
     public HashMap<String, String> findBooksByCategoryAndAuthor(String categoryStr, String author, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("CatalogController", String.format("Find books by category and author attempt - Category: %s, Author: %s, Role: %s", 
-            categoryStr, author, userRole));
+        Logger.info("CatalogController", "Find books by category and author attempt - Category: %s, Author: %s, Role: %s", 
+            categoryStr, author, userRole);
         
         try {
             if (categoryStr == null || categoryStr.trim().isEmpty()) {
@@ -401,22 +506,22 @@ public class CatalogController {
             response.put("status", "200");
             response.put("message", tableMessage);
             
-            Logger.info("CatalogController", String.format("[200] Books found by category and author - Count: %d", books.size()));
+            Logger.info("CatalogController", "[200] Books found by category and author - Count: %d", books.size());
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[400] Find books by category and author failed - Bad request: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[400] Find books by category and author failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[401] Find books by category and author failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[401] Find books by category and author failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("CatalogController", String.format("[404] Find books by category and author failed - Not found: %s", e.getMessage()));
+            Logger.warn("CatalogController", "[404] Find books by category and author failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -523,5 +628,211 @@ public class CatalogController {
                 java.util.Arrays.toString(Book.Category.values()));
         }
     }
-}
 
+    private CatalogService.SearchMode parseSearchMode(String modeStr) {
+        try {
+            return CatalogService.SearchMode.valueOf(modeStr.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new BadRequestException("Invalid search mode. Valid modes are: " + 
+                java.util.Arrays.toString(CatalogService.SearchMode.values()));
+        }
+    }
+
+    /**
+     * Search books by title and author words
+     * @param query Words to search for; in EXACT mode OR between alternatives, * after a word for a prefix
+     * @param mode EXACT or FUZZY (tolerates typos)
+     * @return HashMap with status and the matching books as a formatted table
+     */
+    public HashMap<String, String> searchBooks(String query, String mode, User.Role userRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.info("CatalogController", "Search books attempt - Query: %s, Mode: %s, Role: %s", query, mode, userRole);
+        
+        try {
+            CatalogService.SearchMode searchMode = parseSearchMode(mode);
+            List<Book> books = catalogService.searchBooks(query, searchMode, userRole);
+            
+            response.put("status", "200");
+            response.put("message", TableFormatter.formatBooksTable(books));
+            
+            Logger.info("CatalogController", "[200] Books search successful - Count: %d", books.size());
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[400] Search books failed - Bad request: %s", e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[401] Search books failed - Unauthorized: %s", e.getMessage());
+            
+        } catch (NotFoundException e) {
+            response.put("status", "404");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[404] Search books failed - Not found: %s", e.getMessage());
+            
+        } catch (ServiceException e) {
+            response.put("status", "500");
+            response.put("message", "Internal server error. Please try again later");
+            Logger.logException("CatalogController", "[500] Search books error", e);
+        }
+        
+        return response;
+    }
+
+    /**
+     * Suggest authors starting with the typed text, most borrowed first
+     * @param prefix Beginning of the author
+     * @return HashMap with status and the suggestions, one per line (404 if there are none)
+     */
+    public HashMap<String, String> suggestAuthors(String prefix, User.Role userRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.debug("CatalogController", "Suggest authors attempt - Prefix: %s, Role: %s", prefix, userRole);
+        
+        try {
+            List<String> suggestions = catalogService.suggestAuthors(prefix, userRole);
+            
+            if (suggestions.isEmpty()) {
+                response.put("status", "404");
+                response.put("message", "No authors start with: " + prefix);
+                Logger.debug("CatalogController", "[404] No author suggestions for: %s", prefix);
+            } else {
+                response.put("status", "200");
+                response.put("message", String.join("\n", suggestions));
+                Logger.debug("CatalogController", "[200] Author suggestions - Count: %d", suggestions.size());
+            }
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[400] Suggest authors failed - Bad request: %s", e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[401] Suggest authors failed - Unauthorized: %s", e.getMessage());
+        }
+        
+        return response;
+    }
+
+    /**
+     * Suggest titles starting with the typed text, most borrowed first
+     * @param prefix Beginning of the title
+     * @return HashMap with status and the suggestions, one per line (404 if there are none)
+     */
+    public HashMap<String, String> suggestTitles(String prefix, User.Role userRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.debug("CatalogController", "Suggest titles attempt - Prefix: %s, Role: %s", prefix, userRole);
+        
+        try {
+            List<String> suggestions = catalogService.suggestTitles(prefix, userRole);
+            
+            if (suggestions.isEmpty()) {
+                response.put("status", "404");
+                response.put("message", "No titles start with: " + prefix);
+                Logger.debug("CatalogController", "[404] No title suggestions for: %s", prefix);
+            } else {
+                response.put("status", "200");
+                response.put("message", String.join("\n", suggestions));
+                Logger.debug("CatalogController", "[200] Title suggestions - Count: %d", suggestions.size());
+            }
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[400] Suggest titles failed - Bad request: %s", e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[401] Suggest titles failed - Unauthorized: %s", e.getMessage());
+        }
+        
+        return response;
+    }
+
+    /**
+     * Import books from a CSV file (ADMIN only)
+     * @param filePath Path of the CSV file
+     * @return HashMap with status, a summary message and the accepted/rejected/duplicates counts
+     */
+    public HashMap<String, String> importBooksFromCSV(String filePath, User.Role userRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.info("CatalogController", "Import books from CSV attempt - File: %s, Role: %s", filePath, userRole);
+        
+        try {
+            if (filePath == null || filePath.trim().isEmpty()) {
+                throw new BadRequestException("File path is required");
+            }
+            
+            ImportReport report = catalogService.importBooksFromCSV(filePath.trim(), userRole);
+            
+            StringBuilder message = new StringBuilder();
+            message.append(String.format("Import finished - Accepted: %d, Rejected: %d, Duplicates: %d",
+                    report.getAccepted(), report.getRejected(), report.getDuplicates()));
+            for (String detail : report.getDetails()) {
+                message.append("\n").append(detail);
+            }
+            int hidden = report.getRejected() + report.getDuplicates() - report.getDetails().size();
+            if (hidden > 0) {
+                message.append(String.format("\n... and %d more", hidden));
+            }
+            
+            response.put("status", "200");
+            response.put("message", message.toString());
+            response.put("accepted", String.valueOf(report.getAccepted()));
+            response.put("rejected", String.valueOf(report.getRejected()));
+            response.put("duplicates", String.valueOf(report.getDuplicates()));
+            
+            Logger.info("CatalogController", "[200] Books imported successfully - %s", report);
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[400] Import books failed - Bad request: %s", e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("CatalogController", "[401] Import books failed - Unauthorized: %s", e.getMessage());
+            
+        } catch (ServiceException e) {
+            response.put("status", "500");
+            response.put("message", "Internal server error. Please try again later");
+            Logger.logException("CatalogController", "[500] Import books error", e);
+        }
+        
+        return response;
+    }
+
+    /**
+     * Parse a page cursor token (null or empty for the first page)
+     */
+    private PageCursor parseCursor(String cursor) {
+        try {
+            return PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Parse and validate a page size
+     */
+    private int parsePageSize(String limitStr) {
+        if (limitStr == null || limitStr.trim().isEmpty()) {
+            throw new BadRequestException("Page size is required");
+        }
+        try {
+            int limit = Integer.parseInt(limitStr.trim());
+            if (limit <= 0 || limit > Page.MAX_SIZE) {
+                throw new BadRequestException("Page size must be between 1 and " + Page.MAX_SIZE);
+            }
+            return limit;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Page size must be a valid number");
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package controller;
 
+import config.PropertiesLoad;
+import domain.DeltaExportReport;
+import domain.ExportReport;
 import domain.User;
 import errors.*;
 import service.ExportService;
+import util.Compression;
 import util.Logger;
 
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 
 public class ExportController {
+    private static final DateTimeFormatter WATERMARK_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
     private final ExportService exportService;
 
     public ExportController(ExportService exportService) {
@@ -15,12 +22,21 @@ public class ExportController {
     }
 
     /**
-     * Export all books to CSV file (ADMIN only)
+     * Export all books to CSV file (ADMIN only), uncompressed
      */
     public HashMap<String, String> exportBooksToCSV(String filePath, User.Role userRole) {
+        return exportBooksToCSV(filePath, Compression.NONE.getName(), Compression.DEFAULT_LEVEL, userRole);
+    }
+
+    /**
+     * Export all books to CSV file (ADMIN only)
+     * @param compression "none", "gzip" or "block"
+     * @param level Deflate level, 0 (fastest) to 9 (smallest)
+     */
+    public HashMap<String, String> exportBooksToCSV(String filePath, String compression, int level, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("ExportController", String.format("Export books to CSV attempt - File: %s, Role: %s",
-                filePath, userRole));
+        Logger.info("ExportController", "Export books to CSV attempt - File: %s, Compression: %s/%d, Role: %s",
+                filePath, compression, level, userRole);
         
         try {
             // Validate file path
@@ -28,33 +44,36 @@ public class ExportController {
                 throw new BadRequestException("File path is required");
             }
             
-            // Ensure .csv extension
+            Compression format = parseCompression(compression, level);
+            
+            // Ensure .csv extension, followed by the compression suffix
             if (!filePath.toLowerCase().endsWith(".csv")) {
                 filePath += ".csv";
             }
+            filePath += format.getExtension();
             
-            String exportedFile = exportService.exportBooksToCSV(filePath, userRole);
+            String exportedFile = exportService.exportBooksToCSV(filePath, format, level, userRole);
             
             response.put("status", "200");
             response.put("message", "Books catalog exported successfully");
             response.put("filePath", exportedFile);
             
-            Logger.info("ExportController", String.format("[200] Books exported successfully to: %s", exportedFile));
+            Logger.info("ExportController", "[200] Books exported successfully to: %s", exportedFile);
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("ExportController", String.format("[400] Export books failed - Bad request: %s", e.getMessage()));
+            Logger.warn("ExportController", "[400] Export books failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("ExportController", String.format("[401] Export books failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("ExportController", "[401] Export books failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("ExportController", String.format("[404] Export books failed - Not found: %s", e.getMessage()));
+            Logger.warn("ExportController", "[404] Export books failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -66,12 +85,21 @@ public class ExportController {
     }
 
     /**
-     * Export overdue loans to CSV file (ADMIN only)
+     * Export overdue loans to CSV file (ADMIN only), uncompressed
      */
     public HashMap<String, String> exportOverdueLoansToCSV(String filePath, User.Role userRole) {
+        return exportOverdueLoansToCSV(filePath, Compression.NONE.getName(), Compression.DEFAULT_LEVEL, userRole);
+    }
+
+    /**
+     * Export overdue loans to CSV file (ADMIN only)
+     * @param compression "none", "gzip" or "block"
+     * @param level Deflate level, 0 (fastest) to 9 (smallest)
+     */
+    public HashMap<String, String> exportOverdueLoansToCSV(String filePath, String compression, int level, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("ExportController", String.format("Export overdue loans to CSV attempt - File: %s, Role: %s",
-                filePath, userRole));
+        Logger.info("ExportController", "Export overdue loans to CSV attempt - File: %s, Compression: %s/%d, Role: %s",
+                filePath, compression, level, userRole);
         
         try {
             // Validate file path
@@ -79,33 +107,36 @@ public class ExportController {
                 throw new BadRequestException("File path is required");
             }
             
-            // Ensure .csv extension
+            Compression format = parseCompression(compression, level);
+            
+            // Ensure .csv extension, followed by the compression suffix
             if (!filePath.toLowerCase().endsWith(".csv")) {
                 filePath += ".csv";
             }
+            filePath += format.getExtension();
             
-            String exportedFile = exportService.exportOverdueLoansToCSV(filePath, userRole);
+            String exportedFile = exportService.exportOverdueLoansToCSV(filePath, format, level, userRole);
             
             response.put("status", "200");
             response.put("message", "Overdue loans exported successfully");
             response.put("filePath", exportedFile);
             
-            Logger.info("ExportController", String.format("[200] Overdue loans exported successfully to: %s", exportedFile));
+            Logger.info("ExportController", "[200] Overdue loans exported successfully to: %s", exportedFile);
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("ExportController", String.format("[400] Export overdue loans failed - Bad request: %s", e.getMessage()));
+            Logger.warn("ExportController", "[400] Export overdue loans failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("ExportController", String.format("[401] Export overdue loans failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("ExportController", "[401] Export overdue loans failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("ExportController", String.format("[404] Export overdue loans failed - Not found: %s", e.getMessage()));
+            Logger.warn("ExportController", "[404] Export overdue loans failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -115,4 +146,168 @@ public class ExportController {
         
         return response;
     }
+
+    /**
+     * Export the full loan history to CSV file (ADMIN only), uncompressed
+     */
+    public HashMap<String, String> exportLoansToCSV(String filePath, User.Role userRole) {
+        return exportLoansToCSV(filePath, Compression.NONE.getName(), Compression.DEFAULT_LEVEL, userRole);
+    }
+
+    /**
+     * Export the full loan history to CSV file (ADMIN only)
+     * @param compression "none", "gzip" or "block"
+     * @param level Deflate level, 0 (fastest) to 9 (smallest)
+     */
+    public HashMap<String, String> exportLoansToCSV(String filePath, String compression, int level, User.Role userRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.info("ExportController", "Export loan history to CSV attempt - File: %s, Compression: %s/%d, Role: %s",
+                filePath, compression, level, userRole);
+        
+        try {
+            // Validate file path
+            if (filePath == null || filePath.trim().isEmpty()) {
+                throw new BadRequestException("File path is required");
+            }
+            
+            Compression format = parseCompression(compression, level);
+            
+            // Ensure .csv extension, followed by the compression suffix
+            if (!filePath.toLowerCase().endsWith(".csv")) {
+                filePath += ".csv";
+            }
+            filePath += format.getExtension();
+            
+            ExportReport report = exportService.exportLoansToCSV(filePath, PropertiesLoad.EXPORT_PARALLELISM, format, level, userRole);
+            
+            response.put("status", "200");
+            response.put("message", String.format("Loan history exported successfully - %d loans in %d ms (%d partitions)",
+                    report.getRows(), report.getTotalMillis(), report.getPartitions().size()));
+            response.put("filePath", report.getFilePath());
+            response.put("rows", String.valueOf(report.getRows()));
+            response.put("partitions", String.valueOf(report.getPartitions().size()));
+            response.put("elapsedMs", String.valueOf(report.getTotalMillis()));
+            
+            Logger.info("ExportController", "[200] Loan history exported successfully - %s", report);
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("ExportController", "[400] Export loan history failed - Bad request: %s", e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("ExportController", "[401] Export loan history failed - Unauthorized: %s", e.getMessage());
+            
+        } catch (NotFoundException e) {
+            response.put("status", "404");
+            response.put("message", e.getMessage());
+            Logger.warn("ExportController", "[404] Export loan history failed - Not found: %s", e.getMessage());
+            
+        } catch (ServiceException e) {
+            response.put("status", "500");
+            response.put("message", "Internal server error. Please try again later");
+            Logger.logException("ExportController", "[500] Export loan history error", e);
+        }
+        
+        return response;
+    }
+
+    /**
+     * Export the books changed since the previous delta export of a target (ADMIN only)
+     * @param target Name of the export destination whose watermark is used and moved (e.g. "nightly")
+     * @param compression "none", "gzip" or "block"
+     * @param level Deflate level, 0 (fastest) to 9 (smallest)
+     */
+    public HashMap<String, String> exportBooksDelta(String target, String filePath, String compression, int level,
+                                                    User.Role userRole) {
+        return exportDelta("books", target, filePath, compression, level, userRole);
+    }
+
+    /**
+     * Export the loans changed since the previous delta export of a target (ADMIN only)
+     * @param target Name of the export destination whose watermark is used and moved (e.g. "nightly")
+     * @param compression "none", "gzip" or "block"
+     * @param level Deflate level, 0 (fastest) to 9 (smallest)
+     */
+    public HashMap<String, String> exportLoansDelta(String target, String filePath, String compression, int level,
+                                                    User.Role userRole) {
+        return exportDelta("loans", target, filePath, compression, level, userRole);
+    }
+
+    private HashMap<String, String> exportDelta(String dataset, String target, String filePath, String compression,
+                                                int level, User.Role userRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.info("ExportController", "Export changed %s attempt - Target: %s, File: %s, Compression: %s/%d, Role: %s",
+                dataset, target, filePath, compression, level, userRole);
+        
+        try {
+            // Validate target and file path
+            if (target == null || target.trim().isEmpty()) {
+                throw new BadRequestException("Export target is required");
+            }
+            if (filePath == null || filePath.trim().isEmpty()) {
+                throw new BadRequestException("File path is required");
+            }
+            
+            Compression format = parseCompression(compression, level);
+            
+            // Ensure .csv extension, followed by the compression suffix
+            if (!filePath.toLowerCase().endsWith(".csv")) {
+                filePath += ".csv";
+            }
+            filePath += format.getExtension();
+            
+            DeltaExportReport report = dataset.equals("books")
+                    ? exportService.exportBooksDelta(target, filePath, format, level, userRole)
+                    : exportService.exportLoansDelta(target, filePath, format, level, userRole);
+            
+            response.put("status", "200");
+            response.put("message", String.format("%d changed and %d deleted %s exported (%s to %s)",
+                    report.getRows(), report.getDeletedRows(), dataset,
+                    report.isFull() ? "beginning" : report.getSince().format(WATERMARK_FORMAT),
+                    report.getUpTo().format(WATERMARK_FORMAT)));
+            response.put("filePath", report.getFilePath());
+            response.put("deletionsFilePath", report.getDeletionsFilePath());
+            response.put("rows", String.valueOf(report.getRows()));
+            response.put("deletedRows", String.valueOf(report.getDeletedRows()));
+            response.put("since", report.isFull() ? "" : report.getSince().format(WATERMARK_FORMAT));
+            response.put("upTo", report.getUpTo().format(WATERMARK_FORMAT));
+            
+            Logger.info("ExportController", "[200] Changed %s exported successfully - %s", dataset, report);
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("ExportController", "[400] Export changed %s failed - Bad request: %s", dataset, e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("ExportController", "[401] Export changed %s failed - Unauthorized: %s", dataset, e.getMessage());
+            
+        } catch (ServiceException e) {
+            response.put("status", "500");
+            response.put("message", "Internal server error. Please try again later");
+            Logger.logException("ExportController", "[500] Export changed " + dataset + " error", e);
+        }
+        
+        return response;
+    }
+
+    /**
+     * Validate the requested compression and level
+     */
+    private Compression parseCompression(String compression, int level) {
+        Compression format = Compression.fromName(compression);
+        if (format == null) {
+            throw new BadRequestException("Compression must be none, gzip or block");
+        }
+        if (format != Compression.NONE && (level < Compression.MIN_LEVEL || level > Compression.MAX_LEVEL)) {
+            throw new BadRequestException(String.format("Compression level must be between %d and %d",
+                    Compression.MIN_LEVEL, Compression.MAX_LEVEL));
+        }
+        return format;
+    }
 }
@@ -1,12 +1,19 @@
 package controller;
 
+import dao.Page;
+import dao.PageCursor;
 import domain.Loan;
+import domain.LoanOutcome;
+import domain.LoanRequest;
+import domain.ReturnOutcome;
+import domain.ReturnRequest;
 import domain.User;
 import errors.*;
 import service.LoanService;
 import util.Logger;
 import util.TableFormatter;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
@@ -23,8 +30,8 @@ public class LoanController {
      */
     public HashMap<String, String> registerLoan(String memberIdStr, String isbn, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("LoanController", String.format("Register loan attempt - Member: %s, ISBN: %s, Role: %s",
-                memberIdStr, isbn, userRole));
+        Logger.info("LoanController", "Register loan attempt - Member: %s, ISBN: %s, Role: %s",
+                memberIdStr, isbn, userRole);
         
         try {
             // Validate input data
@@ -39,27 +46,27 @@ public class LoanController {
             response.put("loanId", String.valueOf(loan.getId()));
             response.put("dueDate", loan.getDueDate().toString());
             
-            Logger.info("LoanController", String.format("[201] Loan registered successfully - ID: %d", loan.getId()));
+            Logger.info("LoanController", "[201] Loan registered successfully - ID: %d", loan.getId());
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[400] Register loan failed - Bad request: %s", e.getMessage()));
+            Logger.warn("LoanController", "[400] Register loan failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[401] Register loan failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("LoanController", "[401] Register loan failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[404] Register loan failed - Not found: %s", e.getMessage()));
+            Logger.warn("LoanController", "[404] Register loan failed - Not found: %s", e.getMessage());
             
         } catch (ConflictException e) {
             response.put("status", "409");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[409] Register loan failed - Conflict: %s", e.getMessage()));
+            Logger.warn("LoanController", "[409] Register loan failed - Conflict: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -70,13 +77,67 @@ public class LoanController {
         return response;
     }
 
+    /**
+     * Register many loans at once, e.g. a class checkout
+     * Both ADMIN and ASSISTANT can register loans
+     * @param entries One "memberId,isbn" pair per line (blank lines are ignored)
+     */
+    public HashMap<String, String> registerLoans(String entries, User.Role userRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.info("LoanController", "Register loans attempt - Role: %s", userRole);
+        
+        try {
+            List<LoanRequest> requests = parseLoanRequests(entries);
+            
+            List<LoanOutcome> outcomes = loanService.registerLoans(requests, userRole);
+            
+            int registered = 0;
+            StringBuilder details = new StringBuilder();
+            for (int i = 0; i < outcomes.size(); i++) {
+                LoanOutcome outcome = outcomes.get(i);
+                LoanRequest request = outcome.getRequest();
+                details.append(String.format("%n%d. Member %d, ISBN %s: ", i + 1, request.getMemberId(), request.getIsbn()));
+                if (outcome.isRegistered()) {
+                    registered++;
+                    details.append(String.format("Loan ID %d, due %s", outcome.getLoan().getId(), outcome.getLoan().getDueDate()));
+                } else {
+                    details.append("Rejected - ").append(outcome.getReason());
+                }
+            }
+            
+            response.put("status", "200");
+            response.put("message", String.format("Loans registered: %d of %d", registered, outcomes.size()) + details);
+            response.put("registered", String.valueOf(registered));
+            response.put("rejected", String.valueOf(outcomes.size() - registered));
+            
+            Logger.info("LoanController", "[200] Loans registered - %d of %d", registered, outcomes.size());
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("LoanController", "[400] Register loans failed - Bad request: %s", e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("LoanController", "[401] Register loans failed - Unauthorized: %s", e.getMessage());
+            
+        } catch (ServiceException e) {
+            response.put("status", "500");
+            response.put("message", "Internal server error. Please try again later");
+            Logger.logException("LoanController", "[500] Register loans error", e);
+        }
+        
+        return response;
+    }
+
     /**
      * Mark loan as returned
      * Both ADMIN and ASSISTANT can mark returns
      */
     public HashMap<String, String> markReturn(String loanIdStr, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("LoanController", String.format("Mark return attempt - ID: %s, Role: %s", loanIdStr, userRole));
+        Logger.info("LoanController", "Mark return attempt - ID: %s, Role: %s", loanIdStr, userRole);
         
         try {
             // Validate loan ID
@@ -98,23 +159,23 @@ public class LoanController {
                 response.put("warning", String.format("Fine amount: %.2f", loan.getFineAmount()));
             }
             
-            Logger.info("LoanController", String.format("[200] Loan marked as returned - ID: %d, Fine: %.2f",
-                    loanId, loan.getFineAmount()));
+            Logger.info("LoanController", "[200] Loan marked as returned - ID: %d, Fine: %.2f",
+                    loanId, loan.getFineAmount());
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[400] Mark return failed - Bad request: %s", e.getMessage()));
+            Logger.warn("LoanController", "[400] Mark return failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[401] Mark return failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("LoanController", "[401] Mark return failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[404] Mark return failed - Not found: %s", e.getMessage()));
+            Logger.warn("LoanController", "[404] Mark return failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -125,12 +186,74 @@ public class LoanController {
         return response;
     }
 
+    /**
+     * Mark many loans as returned at once, e.g. the scans of the book drop
+     * Both ADMIN and ASSISTANT can mark returns
+     * @param entries One return per line: a loan ID, or "memberId,isbn" (blank lines are ignored)
+     */
+    public HashMap<String, String> markReturns(String entries, User.Role userRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.info("LoanController", "Mark returns attempt - Role: %s", userRole);
+        
+        try {
+            List<ReturnRequest> requests = parseReturnRequests(entries);
+            
+            List<ReturnOutcome> outcomes = loanService.markReturns(requests, userRole);
+            
+            int returned = 0;
+            double fines = 0;
+            StringBuilder details = new StringBuilder();
+            for (int i = 0; i < outcomes.size(); i++) {
+                ReturnOutcome outcome = outcomes.get(i);
+                ReturnRequest request = outcome.getRequest();
+                details.append(String.format("%n%d. ", i + 1));
+                details.append(request.hasLoanId()
+                        ? "Loan " + request.getLoanId()
+                        : String.format("Member %d, ISBN %s", request.getMemberId(), request.getIsbn()));
+                if (outcome.isReturned()) {
+                    returned++;
+                    fines += outcome.getLoan().getFineAmount();
+                    details.append(String.format(": Returned (loan ID %d), fine %.2f",
+                            outcome.getLoan().getId(), outcome.getLoan().getFineAmount()));
+                } else {
+                    details.append(": Rejected - ").append(outcome.getReason());
+                }
+            }
+            
+            response.put("status", "200");
+            response.put("message", String.format("Returns processed: %d of %d - Total fines: %.2f",
+                    returned, outcomes.size(), fines) + details);
+            response.put("returned", String.valueOf(returned));
+            response.put("rejected", String.valueOf(outcomes.size() - returned));
+            response.put("totalFines", String.format("%.2f", fines));
+            
+            Logger.info("LoanController", "[200] Returns processed - %d of %d", returned, outcomes.size());
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("LoanController", "[400] Mark returns failed - Bad request: %s", e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("LoanController", "[401] Mark returns failed - Unauthorized: %s", e.getMessage());
+            
+        } catch (ServiceException e) {
+            response.put("status", "500");
+            response.put("message", "Internal server error. Please try again later");
+            Logger.logException("LoanController", "[500] Mark returns error", e);
+        }
+        
+        return response;
+    }
+
     /**
      * Delete a loan (ADMIN only)
      */
     public HashMap<String, String> deleteLoan(String loanIdStr, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("LoanController", String.format("Delete loan attempt - ID: %s, Role: %s", loanIdStr, userRole));
+        Logger.info("LoanController", "Delete loan attempt - ID: %s, Role: %s", loanIdStr, userRole);
         
         try {
             if (loanIdStr == null || loanIdStr.trim().isEmpty()) {
@@ -144,27 +267,27 @@ public class LoanController {
             if (deleted) {
                 response.put("status", "200");
                 response.put("message", "Loan deleted successfully");
-                Logger.info("LoanController", String.format("[200] Loan deleted successfully - ID: %d", loanId));
+                Logger.info("LoanController", "[200] Loan deleted successfully - ID: %d", loanId);
             } else {
                 response.put("status", "404");
                 response.put("message", "Loan not found");
-                Logger.warn("LoanController", String.format("[404] Loan not found - ID: %d", loanId));
+                Logger.warn("LoanController", "[404] Loan not found - ID: %d", loanId);
             }
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[400] Delete loan failed - Bad request: %s", e.getMessage()));
+            Logger.warn("LoanController", "[400] Delete loan failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[401] Delete loan failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("LoanController", "[401] Delete loan failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[404] Delete loan failed - Not found: %s", e.getMessage()));
+            Logger.warn("LoanController", "[404] Delete loan failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -180,7 +303,7 @@ public class LoanController {
      */
     public HashMap<String, String> getAllLoans(User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("LoanController", String.format("Get all loans attempt - Role: %s", userRole));
+        Logger.info("LoanController", "Get all loans attempt - Role: %s", userRole);
         
         try {
             List<Loan> loans = loanService.getAllLoans(userRole);
@@ -190,17 +313,17 @@ public class LoanController {
             response.put("count", String.valueOf(loans.size()));
             response.put("data", formatLoansTable(loans));
             
-            Logger.info("LoanController", String.format("[200] Retrieved %d loans", loans.size()));
+            Logger.info("LoanController", "[200] Retrieved %d loans", loans.size());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[401] Get all loans failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("LoanController", "[401] Get all loans failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[404] Get all loans failed - Not found: %s", e.getMessage()));
+            Logger.warn("LoanController", "[404] Get all loans failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -211,12 +334,62 @@ public class LoanController {
         return response;
     }
 
+    /**
+     * Get one page of loans
+     * @param cursor Cursor returned with the previous page (null or empty for the first page)
+     * @param limitStr Page size
+     * @return HashMap with status, the formatted table and nextCursor when more pages exist
+     */
+    public HashMap<String, String> getLoansPage(String cursor, String limitStr, User.Role userRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.info("LoanController", "Get loans page attempt - Cursor: %s, Role: %s", cursor, userRole);
+        
+        try {
+            PageCursor after = parseCursor(cursor);
+            int limit = parsePageSize(limitStr);
+            
+            Page<Loan> page = loanService.getLoansPage(after, limit, userRole);
+            
+            response.put("status", "200");
+            response.put("message", "Loans retrieved successfully");
+            response.put("count", String.valueOf(page.getItems().size()));
+            response.put("data", formatLoansTable(page.getItems()));
+            if (page.hasNext()) {
+                response.put("nextCursor", page.getNextCursor().encode());
+            }
+            
+            Logger.info("LoanController", "[200] Loans page retrieved successfully - Count: %d", page.getItems().size());
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("LoanController", "[400] Get loans page failed - Bad request: %s", e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("LoanController", "[401] Get loans page failed - Unauthorized: %s", e.getMessage());
+            
+        } catch (NotFoundException e) {
+            response.put("status", "404");
+            response.put("message", e.getMessage());
+            Logger.warn("LoanController", "[404] Get loans page failed - Not found: %s", e.getMessage());
+            
+        } catch (ServiceException e) {
+            response.put("status", "500");
+            response.put("message", "Internal server error. Please try again later");
+            Logger.logException("LoanController", "[500] Get loans page error", e);
+        }
+        
+        return response;
+    }
+
     /**
      * Find loan by ID
      */
     public HashMap<String, String> findLoanById(String loanIdStr, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("LoanController", String.format("Find loan by ID attempt - ID: %s, Role: %s", loanIdStr, userRole));
+        Logger.info("LoanController", "Find loan by ID attempt - ID: %s, Role: %s", loanIdStr, userRole);
         
         try {
             if (loanIdStr == null || loanIdStr.trim().isEmpty()) {
@@ -231,22 +404,22 @@ public class LoanController {
             response.put("message", "Loan found successfully");
             response.put("data", formatLoanDetails(loan));
             
-            Logger.info("LoanController", String.format("[200] Loan found - ID: %d", loanId));
+            Logger.info("LoanController", "[200] Loan found - ID: %d", loanId);
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[400] Find loan failed - Bad request: %s", e.getMessage()));
+            Logger.warn("LoanController", "[400] Find loan failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[401] Find loan failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("LoanController", "[401] Find loan failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[404] Find loan failed - Not found: %s", e.getMessage()));
+            Logger.warn("LoanController", "[404] Find loan failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -262,8 +435,8 @@ public class LoanController {
      */
     public HashMap<String, String> findLoansByMemberId(String memberIdStr, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("LoanController", String.format("Find loans by member ID attempt - Member: %s, Role: %s",
-                memberIdStr, userRole));
+        Logger.info("LoanController", "Find loans by member ID attempt - Member: %s, Role: %s",
+                memberIdStr, userRole);
         
         try {
             if (memberIdStr == null || memberIdStr.trim().isEmpty()) {
@@ -279,23 +452,23 @@ public class LoanController {
             response.put("count", String.valueOf(loans.size()));
             response.put("data", formatLoansTable(loans));
             
-            Logger.info("LoanController", String.format("[200] Found %d loans for member ID: %d",
-                    loans.size(), memberId));
+            Logger.info("LoanController", "[200] Found %d loans for member ID: %d",
+                    loans.size(), memberId);
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[400] Find loans failed - Bad request: %s", e.getMessage()));
+            Logger.warn("LoanController", "[400] Find loans failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[401] Find loans failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("LoanController", "[401] Find loans failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[404] Find loans failed - Not found: %s", e.getMessage()));
+            Logger.warn("LoanController", "[404] Find loans failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -311,8 +484,8 @@ public class LoanController {
      */
     public HashMap<String, String> findLoansByIsbn(String isbn, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("LoanController", String.format("Find loans by ISBN attempt - ISBN: %s, Role: %s",
-                isbn, userRole));
+        Logger.info("LoanController", "Find loans by ISBN attempt - ISBN: %s, Role: %s",
+                isbn, userRole);
         
         try {
             if (isbn == null || isbn.trim().isEmpty()) {
@@ -326,23 +499,23 @@ public class LoanController {
             response.put("count", String.valueOf(loans.size()));
             response.put("data", formatLoansTable(loans));
             
-            Logger.info("LoanController", String.format("[200] Found %d loans for ISBN: %s",
-                    loans.size(), isbn));
+            Logger.info("LoanController", "[200] Found %d loans for ISBN: %s",
+                    loans.size(), isbn);
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[400] Find loans failed - Bad request: %s", e.getMessage()));
+            Logger.warn("LoanController", "[400] Find loans failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[401] Find loans failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("LoanController", "[401] Find loans failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[404] Find loans failed - Not found: %s", e.getMessage()));
+            Logger.warn("LoanController", "[404] Find loans failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -358,8 +531,8 @@ public class LoanController {
      */
     public HashMap<String, String> findLoansByStatus(String statusStr, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("LoanController", String.format("Find loans by status attempt - Status: %s, Role: %s",
-                statusStr, userRole));
+        Logger.info("LoanController", "Find loans by status attempt - Status: %s, Role: %s",
+                statusStr, userRole);
         
         try {
             if (statusStr == null || statusStr.trim().isEmpty()) {
@@ -375,23 +548,23 @@ public class LoanController {
             response.put("count", String.valueOf(loans.size()));
             response.put("data", formatLoansTable(loans));
             
-            Logger.info("LoanController", String.format("[200] Found %d loans with status: %s",
-                    loans.size(), status.name()));
+            Logger.info("LoanController", "[200] Found %d loans with status: %s",
+                    loans.size(), status.name());
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[400] Find loans failed - Bad request: %s", e.getMessage()));
+            Logger.warn("LoanController", "[400] Find loans failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[401] Find loans failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("LoanController", "[401] Find loans failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("LoanController", String.format("[404] Find loans failed - Not found: %s", e.getMessage()));
+            Logger.warn("LoanController", "[404] Find loans failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -402,6 +575,62 @@ public class LoanController {
         return response;
     }
 
+    /**
+     * Get one page of loans with a status
+     * @param statusStr Loan status
+     * @param cursor Cursor returned with the previous page (null or empty for the first page)
+     * @param limitStr Page size
+     * @return HashMap with status, the formatted table and nextCursor when more pages exist
+     */
+    public HashMap<String, String> getLoansPageByStatus(String statusStr, String cursor, String limitStr, User.Role userRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.info("LoanController", "Get loans page by status attempt - Cursor: %s, Role: %s", cursor, userRole);
+        
+        try {
+            if (statusStr == null || statusStr.trim().isEmpty()) {
+                throw new BadRequestException("Status is required");
+            }
+            
+            Loan.Status status = parseStatus(statusStr);
+            PageCursor after = parseCursor(cursor);
+            int limit = parsePageSize(limitStr);
+            
+            Page<Loan> page = loanService.getLoansPageByStatus(status, after, limit, userRole);
+            
+            response.put("status", "200");
+            response.put("message", "Loans found successfully");
+            response.put("count", String.valueOf(page.getItems().size()));
+            response.put("data", formatLoansTable(page.getItems()));
+            if (page.hasNext()) {
+                response.put("nextCursor", page.getNextCursor().encode());
+            }
+            
+            Logger.info("LoanController", "[200] Loans page retrieved successfully - Count: %d", page.getItems().size());
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("LoanController", "[400] Get loans page by status failed - Bad request: %s", e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("LoanController", "[401] Get loans page by status failed - Unauthorized: %s", e.getMessage());
+            
+        } catch (NotFoundException e) {
+            response.put("status", "404");
+            response.put("message", e.getMessage());
+            Logger.warn("LoanController", "[404] Get loans page by status failed - Not found: %s", e.getMessage());
+            
+        } catch (ServiceException e) {
+            response.put("status", "500");
+            response.put("message", "Internal server error. Please try again later");
+            Logger.logException("LoanController", "[500] Get loans page by status error", e);
+        }
+        
+        return response;
+    }
+
     /**
      * Validate loan input data
      */
@@ -427,6 +656,65 @@ public class LoanController {
         }
     }
 
+    /**
+     * Parse "memberId,isbn" lines into loan requests
+     */
+    private List<LoanRequest> parseLoanRequests(String entries) {
+        if (entries == null || entries.trim().isEmpty()) {
+            throw new BadRequestException("At least one loan is required");
+        }
+        
+        List<LoanRequest> requests = new ArrayList<>();
+        String[] lines = entries.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].isBlank()) {
+                continue;
+            }
+            String[] parts = lines[i].split(",", 2);
+            if (parts.length != 2) {
+                throw new BadRequestException(String.format("Line %d: expected memberId,isbn", i + 1));
+            }
+            try {
+                validateLoanInput(parts[0].trim(), parts[1].trim());
+            } catch (BadRequestException e) {
+                throw new BadRequestException(String.format("Line %d: %s", i + 1, e.getMessage()));
+            }
+            requests.add(new LoanRequest(Integer.parseInt(parts[0].trim()), parts[1].trim()));
+        }
+        return requests;
+    }
+
+    /**
+     * Parse return lines: a loan ID, or "memberId,isbn"
+     */
+    private List<ReturnRequest> parseReturnRequests(String entries) {
+        if (entries == null || entries.trim().isEmpty()) {
+            throw new BadRequestException("At least one return is required");
+        }
+        
+        List<ReturnRequest> requests = new ArrayList<>();
+        String[] lines = entries.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].isBlank()) {
+                continue;
+            }
+            String[] parts = lines[i].split(",", 2);
+            try {
+                if (parts.length == 1) {
+                    requests.add(ReturnRequest.ofLoan(Integer.parseInt(parts[0].trim())));
+                } else {
+                    validateLoanInput(parts[0].trim(), parts[1].trim());
+                    requests.add(ReturnRequest.ofMemberAndIsbn(Integer.parseInt(parts[0].trim()), parts[1].trim()));
+                }
+            } catch (NumberFormatException e) {
+                throw new BadRequestException(String.format("Line %d: Loan ID must be a valid number", i + 1));
+            } catch (BadRequestException e) {
+                throw new BadRequestException(String.format("Line %d: %s", i + 1, e.getMessage()));
+            }
+        }
+        return requests;
+    }
+
     /**
      * Parse status string to Status enum
      */
@@ -451,4 +739,33 @@ public class LoanController {
     private String formatLoanDetails(Loan loan) {
         return TableFormatter.formatLoanDetails(loan);
     }
+
+    /**
+     * Parse a page cursor token (null or empty for the first page); the key is an integer ID
+     */
+    private PageCursor parseCursor(String cursor) {
+        try {
+            return PageCursor.decodeNumeric(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Parse and validate a page size
+     */
+    private int parsePageSize(String limitStr) {
+        if (limitStr == null || limitStr.trim().isEmpty()) {
+            throw new BadRequestException("Page size is required");
+        }
+        try {
+            int limit = Integer.parseInt(limitStr.trim());
+            if (limit <= 0 || limit > Page.MAX_SIZE) {
+                throw new BadRequestException("Page size must be between 1 and " + Page.MAX_SIZE);
+            }
+            return limit;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Page size must be a valid number");
+        }
+    }
 }
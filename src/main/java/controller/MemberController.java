@@ -1,5 +1,7 @@
 package controller;
 
+import dao.Page;
+import dao.PageCursor;
 import domain.Member;
 import domain.User;
 import errors.*;
@@ -27,7 +29,7 @@ public class MemberController {
      */
     public HashMap<String, String> createMember(String name, String email, String phone, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("MemberController", String.format("Create member attempt - Email: %s, Role: %s", email, userRole));
+        Logger.info("MemberController", "Create member attempt - Email: %s, Role: %s", email, userRole);
         
         try {
             // Validate input data in controller
@@ -42,22 +44,22 @@ public class MemberController {
             response.put("email", member.getEmail());
             response.put("phone", member.getPhone());
             
-            Logger.info("MemberController", String.format("[201] Member created successfully - ID: %d", member.getId()));
+            Logger.info("MemberController", "[201] Member created successfully - ID: %d", member.getId());
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("MemberController", String.format("[400] Create member failed - Bad request: %s", e.getMessage()));
+            Logger.warn("MemberController", "[400] Create member failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("MemberController", String.format("[401] Create member failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("MemberController", "[401] Create member failed - Unauthorized: %s", e.getMessage());
             
         } catch (ConflictException e) {
             response.put("status", "409");
             response.put("message", e.getMessage());
-            Logger.warn("MemberController", String.format("[409] Create member failed - Conflict: %s", e.getMessage()));
+            Logger.warn("MemberController", "[409] Create member failed - Conflict: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -76,7 +78,7 @@ public class MemberController {
      */
     public HashMap<String, String> deleteMember(int memberId, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("MemberController", String.format("Delete member attempt - ID: %d, Role: %s", memberId, userRole));
+        Logger.info("MemberController", "Delete member attempt - ID: %d, Role: %s", memberId, userRole);
         
         try {
             boolean deleted = memberService.deleteMember(memberId, userRole);
@@ -84,22 +86,22 @@ public class MemberController {
             if (deleted) {
                 response.put("status", "200");
                 response.put("message", "Member deleted successfully");
-                Logger.info("MemberController", String.format("[200] Member deleted successfully - ID: %d", memberId));
+                Logger.info("MemberController", "[200] Member deleted successfully - ID: %d", memberId);
             } else {
                 response.put("status", "500");
                 response.put("message", "Failed to delete member");
-                Logger.warn("MemberController", String.format("[500] Delete member failed - ID: %d", memberId));
+                Logger.warn("MemberController", "[500] Delete member failed - ID: %d", memberId);
             }
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("MemberController", String.format("[401] Delete member failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("MemberController", "[401] Delete member failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("MemberController", String.format("[404] Delete member failed - Not found: %s", e.getMessage()));
+            Logger.warn("MemberController", "[404] Delete member failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -121,7 +123,7 @@ public class MemberController {
      */
     public HashMap<String, String> updateMember(int memberId, String name, String email, String phone, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("MemberController", String.format("Update member attempt - ID: %d, Role: %s", memberId, userRole));
+        Logger.info("MemberController", "Update member attempt - ID: %d, Role: %s", memberId, userRole);
         
         try {
             // Validate member ID
@@ -141,27 +143,27 @@ public class MemberController {
             response.put("email", member.getEmail());
             response.put("phone", member.getPhone());
             
-            Logger.info("MemberController", String.format("[200] Member updated successfully - ID: %d", member.getId()));
+            Logger.info("MemberController", "[200] Member updated successfully - ID: %d", member.getId());
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("MemberController", String.format("[400] Update member failed - Bad request: %s", e.getMessage()));
+            Logger.warn("MemberController", "[400] Update member failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("MemberController", String.format("[401] Update member failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("MemberController", "[401] Update member failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("MemberController", String.format("[404] Update member failed - Not found: %s", e.getMessage()));
+            Logger.warn("MemberController", "[404] Update member failed - Not found: %s", e.getMessage());
             
         } catch (ConflictException e) {
             response.put("status", "409");
             response.put("message", e.getMessage());
-            Logger.warn("MemberController", String.format("[409] Update member failed - Conflict: %s", e.getMessage()));
+            Logger.warn("MemberController", "[409] Update member failed - Conflict: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -179,7 +181,7 @@ public class MemberController {
      */
     public HashMap<String, String> getAllMembers(User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("MemberController", String.format("Get all members attempt - Role: %s", userRole));
+        Logger.info("MemberController", "Get all members attempt - Role: %s", userRole);
         
         try {
             List<Member> members = memberService.getAllMembers(userRole);
@@ -190,17 +192,17 @@ public class MemberController {
             response.put("status", "200");
             response.put("message", tableMessage);
             
-            Logger.info("MemberController", String.format("[200] Members retrieved successfully - Count: %d", members.size()));
+            Logger.info("MemberController", "[200] Members retrieved successfully - Count: %d", members.size());
             
         }catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("MemberController", String.format("[404] Get all members failed - Not found: %s", e.getMessage()));
+            Logger.warn("MemberController", "[404] Get all members failed - Not found: %s", e.getMessage());
 
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("MemberController", String.format("[401] Get all members failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("MemberController", "[401] Get all members failed - Unauthorized: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -211,6 +213,54 @@ public class MemberController {
         return response;
     }
 
+    /**
+     * Get one page of members
+     * @param cursor Cursor returned with the previous page (null or empty for the first page)
+     * @param limitStr Page size
+     * @return HashMap with status, the formatted table and nextCursor when more pages exist
+     */
+    public HashMap<String, String> getMembersPage(String cursor, String limitStr, User.Role userRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.info("MemberController", "Get members page attempt - Cursor: %s, Role: %s", cursor, userRole);
+        
+        try {
+            PageCursor after = parseCursor(cursor);
+            int limit = parsePageSize(limitStr);
+            
+            Page<Member> page = memberService.getMembersPage(after, limit, userRole);
+            
+            response.put("status", "200");
+            response.put("message", TableFormatter.formatMembersTable(page.getItems()));
+            if (page.hasNext()) {
+                response.put("nextCursor", page.getNextCursor().encode());
+            }
+            
+            Logger.info("MemberController", "[200] Members page retrieved successfully - Count: %d", page.getItems().size());
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("MemberController", "[400] Get members page failed - Bad request: %s", e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("MemberController", "[401] Get members page failed - Unauthorized: %s", e.getMessage());
+            
+        } catch (NotFoundException e) {
+            response.put("status", "404");
+            response.put("message", e.getMessage());
+            Logger.warn("MemberController", "[404] Get members page failed - Not found: %s", e.getMessage());
+            
+        } catch (ServiceException e) {
+            response.put("status", "500");
+            response.put("message", "Internal server error. Please try again later");
+            Logger.logException("MemberController", "[500] Get members page error", e);
+        }
+        
+        return response;
+    }
+
     /**
      * Find member by ID
      * @param memberId Member ID to find
@@ -219,7 +269,7 @@ public class MemberController {
      */
     public HashMap<String, String> findMemberById(int memberId, User.Role userRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("MemberController", String.format("Find member by ID attempt - ID: %d, Role: %s", memberId, userRole));
+        Logger.info("MemberController", "Find member by ID attempt - ID: %d, Role: %s", memberId, userRole);
         
         try {
             Member member = memberService.findMemberById(memberId, userRole);
@@ -230,17 +280,17 @@ public class MemberController {
             response.put("status", "200");
             response.put("message", detailsMessage);
             
-            Logger.info("MemberController", String.format("[200] Member found - ID: %d", memberId));
+            Logger.info("MemberController", "[200] Member found - ID: %d", memberId);
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("MemberController", String.format("[401] Find member failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("MemberController", "[401] Find member failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("MemberController", String.format("[404] Find member failed - Not found: %s", e.getMessage()));
+            Logger.warn("MemberController", "[404] Find member failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -297,4 +347,33 @@ public class MemberController {
             throw new BadRequestException("Invalid phone format. Only digits, spaces, +, -, () are allowed");
         }
     }
+
+    /**
+     * Parse a page cursor token (null or empty for the first page); the key is an integer ID
+     */
+    private PageCursor parseCursor(String cursor) {
+        try {
+            return PageCursor.decodeNumeric(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Parse and validate a page size
+     */
+    private int parsePageSize(String limitStr) {
+        if (limitStr == null || limitStr.trim().isEmpty()) {
+            throw new BadRequestException("Page size is required");
+        }
+        try {
+            int limit = Integer.parseInt(limitStr.trim());
+            if (limit <= 0 || limit > Page.MAX_SIZE) {
+                throw new BadRequestException("Page size must be between 1 and " + Page.MAX_SIZE);
+            }
+            return limit;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Page size must be a valid number");
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package controller;
 
+import dao.Page;
+import dao.PageCursor;
 import domain.User;
 import errors.*;
 import service.UserService;
@@ -22,7 +24,7 @@ public class UserController {
      */
     public HashMap<String, String> createUser(String name, String username, String password, User.Role currentUserRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("UserController", String.format("Create user attempt - Username: %s, Role: %s", username, currentUserRole));
+        Logger.info("UserController", "Create user attempt - Username: %s, Role: %s", username, currentUserRole);
         
         try {
             // Validate input data in controller
@@ -35,22 +37,22 @@ public class UserController {
             response.put("id", String.valueOf(user.getId()));
             response.put("username", user.getUserName());
             
-            Logger.info("UserController", String.format("[201] User created successfully - Username: %s", user.getUserName()));
+            Logger.info("UserController", "[201] User created successfully - Username: %s", user.getUserName());
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[400] Create user failed - Bad request: %s", e.getMessage()));
+            Logger.warn("UserController", "[400] Create user failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[401] Create user failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("UserController", "[401] Create user failed - Unauthorized: %s", e.getMessage());
             
         } catch (ConflictException e) {
             response.put("status", "409");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[409] Create user failed - Conflict: %s", e.getMessage()));
+            Logger.warn("UserController", "[409] Create user failed - Conflict: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -67,7 +69,7 @@ public class UserController {
     public HashMap<String, String> updateUser(int id, String name, String username, String password,
                                               String roleStr, String isActiveStr, User.Role currentUserRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("UserController", String.format("Update user attempt - ID: %d, Role: %s", id, currentUserRole));
+        Logger.info("UserController", "Update user attempt - ID: %d, Role: %s", id, currentUserRole);
         
         try {
             // Validate input
@@ -84,27 +86,27 @@ public class UserController {
             response.put("id", String.valueOf(user.getId()));
             response.put("username", user.getUserName());
             
-            Logger.info("UserController", String.format("[200] User updated successfully - ID: %d", id));
+            Logger.info("UserController", "[200] User updated successfully - ID: %d", id);
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[400] Update user failed - Bad request: %s", e.getMessage()));
+            Logger.warn("UserController", "[400] Update user failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[401] Update user failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("UserController", "[401] Update user failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[404] Update user failed - Not found: %s", e.getMessage()));
+            Logger.warn("UserController", "[404] Update user failed - Not found: %s", e.getMessage());
             
         } catch (ConflictException e) {
             response.put("status", "409");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[409] Update user failed - Conflict: %s", e.getMessage()));
+            Logger.warn("UserController", "[409] Update user failed - Conflict: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -120,7 +122,7 @@ public class UserController {
      */
     public HashMap<String, String> deleteUser(int id, User.Role currentUserRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("UserController", String.format("Delete user attempt - ID: %d, Role: %s", id, currentUserRole));
+        Logger.info("UserController", "Delete user attempt - ID: %d, Role: %s", id, currentUserRole);
         
         try {
             boolean deleted = userService.deleteUser(id, currentUserRole);
@@ -128,22 +130,22 @@ public class UserController {
             if (deleted) {
                 response.put("status", "200");
                 response.put("message", "User deleted successfully");
-                Logger.info("UserController", String.format("[200] User deleted successfully - ID: %d", id));
+                Logger.info("UserController", "[200] User deleted successfully - ID: %d", id);
             } else {
                 response.put("status", "500");
                 response.put("message", "Failed to delete user");
-                Logger.warn("UserController", String.format("[500] Delete user failed - ID: %d", id));
+                Logger.warn("UserController", "[500] Delete user failed - ID: %d", id);
             }
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[401] Delete user failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("UserController", "[401] Delete user failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[404] Delete user failed - Not found: %s", e.getMessage()));
+            Logger.warn("UserController", "[404] Delete user failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -159,7 +161,7 @@ public class UserController {
      */
     public HashMap<String, String> getAllUsers(User.Role currentUserRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("UserController", String.format("Get all users attempt - Role: %s", currentUserRole));
+        Logger.info("UserController", "Get all users attempt - Role: %s", currentUserRole);
         
         try {
             List<User> users = userService.getAllUsers(currentUserRole);
@@ -170,17 +172,17 @@ public class UserController {
             response.put("status", "200");
             response.put("message", tableMessage);
             
-            Logger.info("UserController", String.format("[200] Users retrieved successfully - Count: %d", users.size()));
+            Logger.info("UserController", "[200] Users retrieved successfully - Count: %d", users.size());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[401] Get all users failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("UserController", "[401] Get all users failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[404] Get all users failed - Not found: %s", e.getMessage()));
+            Logger.warn("UserController", "[404] Get all users failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -191,12 +193,60 @@ public class UserController {
         return response;
     }
 
+    /**
+     * Get one page of users
+     * @param cursor Cursor returned with the previous page (null or empty for the first page)
+     * @param limitStr Page size
+     * @return HashMap with status, the formatted table and nextCursor when more pages exist
+     */
+    public HashMap<String, String> getUsersPage(String cursor, String limitStr, User.Role currentUserRole) {
+        HashMap<String, String> response = new HashMap<>();
+        Logger.info("UserController", "Get users page attempt - Cursor: %s, Role: %s", cursor, currentUserRole);
+        
+        try {
+            PageCursor after = parseCursor(cursor);
+            int limit = parsePageSize(limitStr);
+            
+            Page<User> page = userService.getUsersPage(after, limit, currentUserRole);
+            
+            response.put("status", "200");
+            response.put("message", TableFormatter.formatUsersTable(page.getItems()));
+            if (page.hasNext()) {
+                response.put("nextCursor", page.getNextCursor().encode());
+            }
+            
+            Logger.info("UserController", "[200] Users page retrieved successfully - Count: %d", page.getItems().size());
+            
+        } catch (BadRequestException e) {
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            Logger.warn("UserController", "[400] Get users page failed - Bad request: %s", e.getMessage());
+            
+        } catch (UnauthorizedException e) {
+            response.put("status", "401");
+            response.put("message", e.getMessage());
+            Logger.warn("UserController", "[401] Get users page failed - Unauthorized: %s", e.getMessage());
+            
+        } catch (NotFoundException e) {
+            response.put("status", "404");
+            response.put("message", e.getMessage());
+            Logger.warn("UserController", "[404] Get users page failed - Not found: %s", e.getMessage());
+            
+        } catch (ServiceException e) {
+            response.put("status", "500");
+            response.put("message", "Internal server error. Please try again later");
+            Logger.logException("UserController", "[500] Get users page error", e);
+        }
+        
+        return response;
+    }
+
     /**
      * Find user by ID (ADMIN only)
      */
     public HashMap<String, String> findUserById(int id, User.Role currentUserRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("UserController", String.format("Find user by ID attempt - ID: %d, Role: %s", id, currentUserRole));
+        Logger.info("UserController", "Find user by ID attempt - ID: %d, Role: %s", id, currentUserRole);
         
         try {
             User user = userService.findUserById(id, currentUserRole);
@@ -207,17 +257,17 @@ public class UserController {
             response.put("status", "200");
             response.put("message", detailsMessage);
             
-            Logger.info("UserController", String.format("[200] User found - ID: %d", id));
+            Logger.info("UserController", "[200] User found - ID: %d", id);
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[401] Find user failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("UserController", "[401] Find user failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[404] Find user failed - Not found: %s", e.getMessage()));
+            Logger.warn("UserController", "[404] Find user failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -233,7 +283,7 @@ public class UserController {
      */
     public HashMap<String, String> findUserByUsername(String username, User.Role currentUserRole) {
         HashMap<String, String> response = new HashMap<>();
-        Logger.info("UserController", String.format("Find user by username attempt - Username: %s, Role: %s", username, currentUserRole));
+        Logger.info("UserController", "Find user by username attempt - Username: %s, Role: %s", username, currentUserRole);
         
         try {
             if (username == null || username.trim().isEmpty()) {
@@ -248,22 +298,22 @@ public class UserController {
             response.put("status", "200");
             response.put("message", detailsMessage);
             
-            Logger.info("UserController", String.format("[200] User found - Username: %s", username));
+            Logger.info("UserController", "[200] User found - Username: %s", username);
             
         } catch (BadRequestException e) {
             response.put("status", "400");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[400] Find user failed - Bad request: %s", e.getMessage()));
+            Logger.warn("UserController", "[400] Find user failed - Bad request: %s", e.getMessage());
             
         } catch (UnauthorizedException e) {
             response.put("status", "401");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[401] Find user failed - Unauthorized: %s", e.getMessage()));
+            Logger.warn("UserController", "[401] Find user failed - Unauthorized: %s", e.getMessage());
             
         } catch (NotFoundException e) {
             response.put("status", "404");
             response.put("message", e.getMessage());
-            Logger.warn("UserController", String.format("[404] Find user failed - Not found: %s", e.getMessage()));
+            Logger.warn("UserController", "[404] Find user failed - Not found: %s", e.getMessage());
             
         } catch (ServiceException e) {
             response.put("status", "500");
@@ -319,4 +369,33 @@ public class UserController {
             throw new BadRequestException("Invalid role. Valid roles are: ADMIN, ASSISTANT");
         }
     }
+
+    /**
+     * Parse a page cursor token (null or empty for the first page); the key is an integer ID
+     */
+    private PageCursor parseCursor(String cursor) {
+        try {
+            return PageCursor.decodeNumeric(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Parse and validate a page size
+     */
+    private int parsePageSize(String limitStr) {
+        if (limitStr == null || limitStr.trim().isEmpty()) {
+            throw new BadRequestException("Page size is required");
+        }
+        try {
+            int limit = Integer.parseInt(limitStr.trim());
+            if (limit <= 0 || limit > Page.MAX_SIZE) {
+                throw new BadRequestException("Page size must be between 1 and " + Page.MAX_SIZE);
+            }
+            return limit;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Page size must be a valid number");
+        }
+    }
 }
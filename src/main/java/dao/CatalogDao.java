@@ -3,7 +3,12 @@ package dao;
 import domain.Book;
 import errors.DataAccessException;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface CatalogDao {
     /**
@@ -22,6 +27,14 @@ public interface CatalogDao {
      */
     Book findByIsbn(String isbn) throws DataAccessException;
 
+    /**
+     * Find several books by ISBN with a few chunked IN queries
+     * @param isbns ISBNs to look up
+     * @return Books by ISBN; ISBNs without a book are absent
+     * @throws DataAccessException if database error occurs
+     */
+    Map<String, Book> findByIsbns(Collection<String> isbns) throws DataAccessException;
+
     /**
      * Get all books
      * @return List of all books
@@ -69,4 +82,117 @@ public interface CatalogDao {
      * @throws DataAccessException if database error occurs
      */
     List<Book> findByCategoryAndAuthor(Book.Category category, String author) throws DataAccessException;
+
+    /**
+     * Get one page of books ordered by creation date (newest first)
+     * @param after Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of books in the page
+     * @return Page of books with the cursor for the next page
+     * @throws DataAccessException if database error occurs
+     */
+    Page<Book> findPage(PageCursor after, int limit) throws DataAccessException;
+
+    /**
+     * Get one page of books in a category ordered by creation date (newest first)
+     * @param category Category to filter by
+     * @param after Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of books in the page
+     * @return Page of books with the cursor for the next page
+     * @throws DataAccessException if database error occurs
+     */
+    Page<Book> findPageByCategory(Book.Category category, PageCursor after, int limit) throws DataAccessException;
+
+    /**
+     * Stream all books without loading them into memory.
+     * Rows are fetched from a forward-only, read-only cursor as the stream is consumed.
+     * The stream must be closed (try-with-resources) to release the cursor, and no other
+     * statement should run on the same connection until it is.
+     * @param fetchSize JDBC fetch size hint (Integer.MIN_VALUE streams row by row on MySQL)
+     * @return Lazily-populated stream of books, newest first
+     * @throws DataAccessException if the query could not be executed
+     */
+    Stream<Book> streamAll(int fetchSize) throws DataAccessException;
+
+    /**
+     * Take one available copy of a book in a single conditional update.
+     * Succeeds only if the book is active and has at least one copy available.
+     * @param isbn Book ISBN
+     * @return true if a copy was reserved, false if none was available (or the book does not exist)
+     * @throws DataAccessException if database error occurs
+     */
+    boolean tryReserveCopy(String isbn) throws DataAccessException;
+
+    /**
+     * Take several copies of several books, one conditional update per book sent as a single batch.
+     * A book's copies are reserved all together or not at all: only if the book is active and has
+     * enough copies available.
+     * @param copies Number of copies to take by ISBN
+     * @return ISBNs whose copies could not be reserved (empty if every reservation succeeded)
+     * @throws DataAccessException if database error occurs
+     */
+    Set<String> reserveCopies(Map<String, Integer> copies) throws DataAccessException;
+
+    /**
+     * Give one copy of a book back in a single conditional update.
+     * Availability never grows beyond the book's quantity.
+     * @param isbn Book ISBN
+     * @return true if the copy was released, false if the book does not exist or has every copy available
+     * @throws DataAccessException if database error occurs
+     */
+    boolean releaseCopy(String isbn) throws DataAccessException;
+
+    /**
+     * Give several copies of several books back, one update per book sent as a single batch.
+     * Availability is capped at the book's quantity.
+     * @param copies Number of copies to give back by ISBN
+     * @return ISBNs of books that do not exist (empty if every book was updated)
+     * @throws DataAccessException if database error occurs
+     */
+    Set<String> releaseCopies(Map<String, Integer> copies) throws DataAccessException;
+
+    /**
+     * Find which of the given ISBNs already exist, in a single query
+     * @param isbns ISBNs to look up
+     * @return The subset of isbns that are already in the catalog
+     * @throws DataAccessException if database error occurs
+     */
+    Set<String> findExistingIsbns(Collection<String> isbns) throws DataAccessException;
+
+    /**
+     * Insert several books with one JDBC batch. The caller commits.
+     * @param books Books to insert
+     * @return Number of books inserted
+     * @throws DataAccessException if database error occurs
+     */
+    int saveAll(List<Book> books) throws DataAccessException;
+
+    /**
+     * Count the loans ever registered for each book, in a single grouped query
+     * @return Loan count by ISBN; books that were never borrowed are absent
+     * @throws DataAccessException if database error occurs
+     */
+    Map<String, Integer> countLoansByIsbn() throws DataAccessException;
+
+    /**
+     * Stream the books added or changed within a window of their updatedAt column, oldest change first.
+     * Same cursor rules as {@link #streamAll(int)}.
+     * @param after Exclusive lower bound, or null for no lower bound
+     * @param upTo Inclusive upper bound
+     * @param fetchSize JDBC fetch size hint (Integer.MIN_VALUE streams row by row on MySQL)
+     * @return Lazily-populated stream of books
+     * @throws DataAccessException if the query could not be executed
+     */
+    Stream<Book> streamChangedBetween(LocalDateTime after, LocalDateTime upTo, int fetchSize) throws DataAccessException;
+
+    /**
+     * Stream the ISBNs of the books deleted within a window, oldest deletion first.
+     * ISBNs that belong to a book again (deleted and created anew) are left out, since
+     * {@link #streamChangedBetween} reports the new book. Same cursor rules as {@link #streamAll(int)}.
+     * @param after Exclusive lower bound, or null for no lower bound
+     * @param upTo Inclusive upper bound
+     * @param fetchSize JDBC fetch size hint (Integer.MIN_VALUE streams row by row on MySQL)
+     * @return Lazily-populated stream of ISBNs, each reported once
+     * @throws DataAccessException if the query could not be executed
+     */
+    Stream<String> streamDeletedBetween(LocalDateTime after, LocalDateTime upTo, int fetchSize) throws DataAccessException;
 }
@@ -1,9 +1,16 @@
 package dao;
 
+import domain.CheckoutStatus;
 import domain.Loan;
 import errors.DataAccessException;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface LoanDao {
     /**
@@ -22,6 +29,30 @@ public interface LoanDao {
      */
     Loan findById(int id) throws DataAccessException;
 
+    /**
+     * Find several loans by ID with a few chunked IN queries
+     * @param ids Loan IDs to look up
+     * @return Loans by ID; IDs without a loan are absent
+     * @throws DataAccessException if database error occurs
+     */
+    Map<Integer, Loan> findByIds(Collection<Integer> ids) throws DataAccessException;
+
+    /**
+     * Find loan by ID without the display fields (member name, book title), so no joins are needed
+     * @param id Loan ID
+     * @return Loan if found, null otherwise
+     * @throws DataAccessException if database error occurs
+     */
+    Loan findCoreById(int id) throws DataAccessException;
+
+    /**
+     * Find several loans by ID without the display fields, with a few chunked IN queries
+     * @param ids Loan IDs to look up
+     * @return Loans by ID; IDs without a loan are absent
+     * @throws DataAccessException if database error occurs
+     */
+    Map<Integer, Loan> findCoreByIds(Collection<Integer> ids) throws DataAccessException;
+
     /**
      * Get all loans
      * @return List of all loans
@@ -78,11 +109,167 @@ public interface LoanDao {
     List<Loan> findActiveLoansByMemberId(int memberId) throws DataAccessException;
 
     /**
-     * Find active loan by member ID and ISBN
+     * Find active loan by member ID and ISBN, without the display fields
      * @param memberId Member ID
      * @param isbn Book ISBN
      * @return Active loan if found, null otherwise
      * @throws DataAccessException if database error occurs
      */
     Loan findActiveLoanByMemberAndIsbn(int memberId, String isbn) throws DataAccessException;
+
+    /**
+     * Insert a loan only if its member exists, is active and has no active loan of the same book.
+     * The conditions are checked by the INSERT itself, in one statement. The caller commits.
+     * @param loan Loan to save
+     * @return The saved loan with generated ID, or null if the member is not eligible
+     * @throws DataAccessException if database error occurs
+     */
+    Loan saveIfEligible(Loan loan) throws DataAccessException;
+
+    /**
+     * Insert several loans with the checks of {@link #saveIfEligible(Loan)}, sent as a single batch.
+     * The caller commits.
+     * @param loans Loans to save
+     * @return One entry per loan, in order: the saved loan with generated ID, or null if its member is not eligible
+     * @throws DataAccessException if database error occurs
+     */
+    List<Loan> saveAllIfEligible(List<Loan> loans) throws DataAccessException;
+
+    /**
+     * Find the books each member currently holds (BORROWED or OVERDUE loans), with a few chunked IN queries
+     * @param memberIds Member IDs to look up
+     * @return ISBNs on active loan by member ID; members without active loans are absent
+     * @throws DataAccessException if database error occurs
+     */
+    Map<Integer, Set<String>> findActiveIsbnsByMemberIds(Collection<Integer> memberIds) throws DataAccessException;
+
+    /**
+     * Find the active loans (BORROWED or OVERDUE) of several members without the display fields,
+     * with a few chunked IN queries
+     * @param memberIds Member IDs to look up
+     * @return Active loans of those members
+     * @throws DataAccessException if database error occurs
+     */
+    List<Loan> findActiveCoreByMemberIds(Collection<Integer> memberIds) throws DataAccessException;
+
+    /**
+     * Write the return date, RETURNED status and fine of several loans, sent as a single batch.
+     * A loan already marked as returned is left unchanged. The caller commits.
+     * @param loans Loans with their return date and fine set
+     * @return IDs of the loans that were not updated (missing or already returned)
+     * @throws DataAccessException if database error occurs
+     */
+    Set<Integer> markAllReturned(List<Loan> loans) throws DataAccessException;
+
+    /**
+     * Read member status, book status and availability and the member's active loan of the book in one query
+     * @param memberId Member ID
+     * @param isbn Book ISBN
+     * @return Checkout status (member and book may be missing)
+     * @throws DataAccessException if database error occurs
+     */
+    CheckoutStatus findCheckoutStatus(int memberId, String isbn) throws DataAccessException;
+
+    /**
+     * Mark every borrowed loan that was due before the given date as overdue
+     * @param asOf Reference date (usually today)
+     * @return Number of loans marked as overdue
+     * @throws DataAccessException if database error occurs
+     */
+    int markOverdue(LocalDate asOf) throws DataAccessException;
+
+    /**
+     * Mark the given loans as overdue if they are still borrowed, with a few chunked IN updates
+     * @param ids Loan IDs
+     * @return Number of loans marked as overdue
+     * @throws DataAccessException if database error occurs
+     */
+    int markOverdueByIds(Collection<Integer> ids) throws DataAccessException;
+
+    /**
+     * Due date of every borrowed loan, read from the loans table alone
+     * @return Due date by loan ID
+     * @throws DataAccessException if database error occurs
+     */
+    Map<Integer, LocalDate> findBorrowedDueDates() throws DataAccessException;
+
+    /**
+     * Get one page of loans ordered by creation date (newest first)
+     * @param after Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of loans in the page
+     * @return Page of loans with the cursor for the next page
+     * @throws DataAccessException if database error occurs
+     */
+    Page<Loan> findPage(PageCursor after, int limit) throws DataAccessException;
+
+    /**
+     * Get one page of loans with a status ordered by creation date (newest first)
+     * @param status Loan status
+     * @param after Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of loans in the page
+     * @return Page of loans with the cursor for the next page
+     * @throws DataAccessException if database error occurs
+     */
+    Page<Loan> findPageByStatus(Loan.Status status, PageCursor after, int limit) throws DataAccessException;
+
+    /**
+     * Stream all loans without loading them into memory.
+     * Rows are fetched from a forward-only, read-only cursor as the stream is consumed.
+     * The stream must be closed (try-with-resources) to release the cursor, and no other
+     * statement should run on the same connection until it is.
+     * @param fetchSize JDBC fetch size hint (Integer.MIN_VALUE streams row by row on MySQL)
+     * @return Lazily-populated stream of loans, newest first
+     * @throws DataAccessException if the query could not be executed
+     */
+    Stream<Loan> streamAll(int fetchSize) throws DataAccessException;
+
+    /**
+     * Stream the loans with a status without loading them into memory.
+     * Same cursor rules as {@link #streamAll(int)}.
+     * @param status Loan status
+     * @param fetchSize JDBC fetch size hint (Integer.MIN_VALUE streams row by row on MySQL)
+     * @return Lazily-populated stream of loans, newest first
+     * @throws DataAccessException if the query could not be executed
+     */
+    Stream<Loan> streamByStatus(Loan.Status status, int fetchSize) throws DataAccessException;
+
+    /**
+     * Lowest and highest loan id, used to split a full export into id ranges
+     * @return {min, max}, or null if there are no loans
+     * @throws DataAccessException if database error occurs
+     */
+    int[] findIdBounds() throws DataAccessException;
+
+    /**
+     * Stream the loans whose id is within a range, without loading them into memory.
+     * Same cursor rules as {@link #streamAll(int)}.
+     * @param fromId First id (inclusive)
+     * @param toId Last id (inclusive)
+     * @param fetchSize JDBC fetch size hint (Integer.MIN_VALUE streams row by row on MySQL)
+     * @return Lazily-populated stream of loans ordered by id
+     * @throws DataAccessException if the query could not be executed
+     */
+    Stream<Loan> streamByIdRange(int fromId, int toId, int fetchSize) throws DataAccessException;
+
+    /**
+     * Stream the loans added or changed within a window of their updatedAt column, oldest change first.
+     * Same cursor rules as {@link #streamAll(int)}.
+     * @param after Exclusive lower bound, or null for no lower bound
+     * @param upTo Inclusive upper bound
+     * @param fetchSize JDBC fetch size hint (Integer.MIN_VALUE streams row by row on MySQL)
+     * @return Lazily-populated stream of loans
+     * @throws DataAccessException if the query could not be executed
+     */
+    Stream<Loan> streamChangedBetween(LocalDateTime after, LocalDateTime upTo, int fetchSize) throws DataAccessException;
+
+    /**
+     * Stream the ids of the loans deleted within a window, oldest deletion first, including the loans
+     * removed with their book or member. Same cursor rules as {@link #streamAll(int)}.
+     * @param after Exclusive lower bound, or null for no lower bound
+     * @param upTo Inclusive upper bound
+     * @param fetchSize JDBC fetch size hint (Integer.MIN_VALUE streams row by row on MySQL)
+     * @return Lazily-populated stream of loan ids
+     * @throws DataAccessException if the query could not be executed
+     */
+    Stream<Integer> streamDeletedBetween(LocalDateTime after, LocalDateTime upTo, int fetchSize) throws DataAccessException;
 }
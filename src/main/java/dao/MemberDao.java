@@ -3,7 +3,9 @@ package dao;
 import domain.Member;
 import errors.DataAccessException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface MemberDao {
     /**
@@ -38,6 +40,14 @@ public interface MemberDao {
      */
     Member findById(int id) throws DataAccessException;
 
+    /**
+     * Find several members by ID with a few chunked IN queries
+     * @param ids Member IDs to look up
+     * @return Members by ID; IDs without a member are absent
+     * @throws DataAccessException if database error occurs
+     */
+    Map<Integer, Member> findByIds(Collection<Integer> ids) throws DataAccessException;
+
     /**
      * Get all members
      * @return List of all members
@@ -60,4 +70,13 @@ public interface MemberDao {
      * @throws DataAccessException if database error occurs
      */
     boolean delete(int id) throws DataAccessException;
+
+    /**
+     * Get one page of members ordered by creation date (newest first)
+     * @param after Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of members in the page
+     * @return Page of members with the cursor for the next page
+     * @throws DataAccessException if database error occurs
+     */
+    Page<Member> findPage(PageCursor after, int limit) throws DataAccessException;
 }
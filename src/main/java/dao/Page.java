@@ -0,0 +1,53 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing
+ * @param <T> Row type
+ */
+public class Page<T> {
+    /** Largest page size callers may request */
+    public static final int MAX_SIZE = 500;
+
+    private final List<T> items;
+    private final PageCursor nextCursor;
+
+    public Page(List<T> items, PageCursor nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Cursor for the following page, or null if this is the last page
+     */
+    public PageCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Build a page from a query that fetched up to limit + 1 rows.
+     * The extra row is dropped; it only signals that another page exists.
+     * @param rows Rows fetched with LIMIT limit + 1
+     * @param limit Requested page size
+     * @param cursorOf Builds the cursor that points at a row
+     * @return Page with at most limit rows
+     */
+    public static <T> Page<T> fromRows(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new Page<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,92 @@
+package dao;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position in a keyset-paginated listing ordered by createdAt DESC, key DESC.
+ * Holds the createdAt and key of the last row already returned.
+ */
+public class PageCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDate createdAt;
+    private final String lastKey;
+
+    public PageCursor(LocalDate createdAt, String lastKey) {
+        if (createdAt == null || lastKey == null) {
+            throw new IllegalArgumentException("Cursor createdAt and key are required");
+        }
+        this.createdAt = createdAt;
+        this.lastKey = lastKey;
+    }
+
+    public LocalDate getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getLastKey() {
+        return lastKey;
+    }
+
+    /**
+     * Last key as an integer, for tables keyed by an auto-increment ID
+     */
+    public int getLastKeyAsInt() {
+        return Integer.parseInt(lastKey);
+    }
+
+    /**
+     * Encode the cursor as an opaque token that can travel through the controller layer
+     */
+    public String encode() {
+        return createdAt + SEPARATOR + lastKey;
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     * @param token Encoded cursor, or null/blank for the first page
+     * @return Cursor, or null for the first page
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        int separator = token.indexOf(SEPARATOR);
+        if (separator <= 0 || separator == token.length() - 1) {
+            throw new IllegalArgumentException("Invalid page cursor: " + token);
+        }
+        try {
+            return new PageCursor(LocalDate.parse(token.substring(0, separator)), token.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + token);
+        }
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()} for a listing keyed by an integer ID
+     * @param token Encoded cursor, or null/blank for the first page
+     * @return Cursor, or null for the first page
+     * @throws IllegalArgumentException if the token is malformed or its key is not an integer
+     */
+    public static PageCursor decodeNumeric(String token) {
+        PageCursor cursor = decode(token);
+        if (cursor != null) {
+            try {
+                cursor.getLastKeyAsInt();
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid page cursor: " + token);
+            }
+        }
+        return cursor;
+    }
+
+    @Override
+    public String toString() {
+        return "PageCursor{" +
+                "createdAt=" + createdAt +
+                ", lastKey='" + lastKey + '\'' +
+                '}';
+    }
+}
@@ -52,4 +52,13 @@ public interface UserDao {
      * @throws DataAccessException if database error occurs
      */
     boolean delete(int id) throws DataAccessException;
+
+    /**
+     * Get one page of users ordered by creation date (newest first)
+     * @param after Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of users in the page
+     * @return Page of users with the cursor for the next page
+     * @throws DataAccessException if database error occurs
+     */
+    Page<User> findPage(PageCursor after, int limit) throws DataAccessException;
 }
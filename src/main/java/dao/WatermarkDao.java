@@ -0,0 +1,33 @@
+package dao;
+
+import errors.DataAccessException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change watermarks of delta exports: for each export target, the updatedAt value up to which
+ * rows have already been exported
+ */
+public interface WatermarkDao {
+    /**
+     * Find the watermark of an export target
+     * @param target Export target key
+     * @return Watermark, or null if the target has never been exported
+     * @throws DataAccessException if database error occurs
+     */
+    LocalDateTime findWatermark(String target) throws DataAccessException;
+
+    /**
+     * Create or move the watermark of an export target
+     * @param target Export target key
+     * @param watermark Last updatedAt value included in the export
+     * @throws DataAccessException if database error occurs
+     */
+    void saveWatermark(String target, LocalDateTime watermark) throws DataAccessException;
+
+    /**
+     * Current time of the database clock, the clock that fills the updatedAt columns
+     * @throws DataAccessException if database error occurs
+     */
+    LocalDateTime currentTime() throws DataAccessException;
+}
@@ -0,0 +1,503 @@
+package dao.impl;
+
+import config.TransactionHooks;
+import dao.CatalogDao;
+import dao.Page;
+import dao.PageCursor;
+import domain.Book;
+import errors.DataAccessException;
+import index.LongIntHashMap;
+import util.Isbn;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of {@link CatalogDao#findByIsbn(String)}.
+ * Entries are bounded in number (least recently used are evicted first) and expire after a TTL.
+ * Every write (save, update, delete, reserve/release of a copy) drops the entry immediately and again when the writing transaction
+ * ends, and a book is not cached while a transaction that wrote it is still open, so readers
+ * never see uncommitted or rolled-back rows. Callers always receive their own copy of a book.
+ * Every other method goes straight to the wrapped DAO.
+ * <p>
+ * Books are keyed by their ISBN encoded as a long ({@link Isbn}) in a primitive hash map that points
+ * into slot arrays; the LRU order is a doubly linked list of slot numbers. A hit still requires the
+ * exact ISBN text the book was stored with, as the database does. Keys that are not valid ISBNs
+ * are never cached.
+ */
+public class CachingCatalogDao implements CatalogDao {
+    private static final int NONE = -1;
+    private static final int INITIAL_SLOTS = 1024;
+
+    private final CatalogDao delegate;
+    private final int maxSize;
+    private final long ttlMs;
+
+    // All state below is guarded by this
+    private final LongIntHashMap slotByKey;
+    private final LongIntHashMap pendingWrites = new LongIntHashMap(16, 0);
+    private long[] slotKeys;
+    private Book[] slotBooks;
+    private long[] slotExpiresAt;
+    private int[] prev;
+    private int[] next;
+    private int mostRecent = NONE;
+    private int leastRecent = NONE;
+    private int freeSlots = NONE;
+    private int usedSlots;
+    private int size;
+    private long writeEpoch;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param delegate DAO that reads from the database
+     * @param maxSize Maximum number of cached books
+     * @param ttlMs Time a cached book stays valid (0 disables expiry)
+     */
+    public CachingCatalogDao(CatalogDao delegate, int maxSize, long ttlMs) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache max size must be > 0");
+        }
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        int initialSlots = Math.min(maxSize, INITIAL_SLOTS);
+        this.slotByKey = new LongIntHashMap(initialSlots, NONE);
+        this.slotKeys = new long[initialSlots];
+        this.slotBooks = new Book[initialSlots];
+        this.slotExpiresAt = new long[initialSlots];
+        this.prev = new int[initialSlots];
+        this.next = new int[initialSlots];
+    }
+
+    @Override
+    public Book findByIsbn(String isbn) throws DataAccessException {
+        long key = Isbn.encode(isbn);
+        if (key == Isbn.INVALID) {
+            synchronized (this) {
+                misses++;
+            }
+            return delegate.findByIsbn(isbn);
+        }
+
+        long epoch;
+        synchronized (this) {
+            Book cached = lookup(isbn, key, System.currentTimeMillis());
+            if (cached != null) {
+                return cached;
+            }
+            epoch = writeEpoch;
+        }
+
+        Book book = delegate.findByIsbn(isbn);
+
+        if (book != null) {
+            synchronized (this) {
+                // Skip caching if any write happened while we were reading
+                if (epoch == writeEpoch && !pendingWrites.containsKey(key)) {
+                    store(key, copy(book), expiresAt());
+                }
+            }
+        }
+        return book;
+    }
+
+    /**
+     * Serve cached books from memory and fetch only the others, with one call to the wrapped DAO
+     */
+    @Override
+    public Map<String, Book> findByIsbns(Collection<String> isbns) throws DataAccessException {
+        Map<String, Book> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        long epoch;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            for (String isbn : isbns) {
+                long key = Isbn.encode(isbn);
+                Book cached = key == Isbn.INVALID ? null : lookup(isbn, key, now);
+                if (cached != null) {
+                    found.put(isbn, cached);
+                } else {
+                    if (key == Isbn.INVALID) {
+                        misses++;
+                    }
+                    missing.add(isbn);
+                }
+            }
+            epoch = writeEpoch;
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, Book> loaded = delegate.findByIsbns(missing);
+            synchronized (this) {
+                if (epoch == writeEpoch) {
+                    for (Book book : loaded.values()) {
+                        long key = Isbn.encode(book.getIsbn());
+                        if (key != Isbn.INVALID && !pendingWrites.containsKey(key)) {
+                            store(key, copy(book), expiresAt());
+                        }
+                    }
+                }
+            }
+            found.putAll(loaded);
+        }
+        return found;
+    }
+
+    @Override
+    public Book save(Book book) throws DataAccessException {
+        invalidate(book.getIsbn());
+        return delegate.save(book);
+    }
+
+    @Override
+    public int saveAll(List<Book> books) throws DataAccessException {
+        for (Book book : books) {
+            invalidate(book.getIsbn());
+        }
+        return delegate.saveAll(books);
+    }
+
+    @Override
+    public boolean update(Book book) throws DataAccessException {
+        invalidate(book.getIsbn());
+        return delegate.update(book);
+    }
+
+    @Override
+    public boolean delete(String isbn) throws DataAccessException {
+        invalidate(isbn);
+        return delegate.delete(isbn);
+    }
+
+    @Override
+    public boolean tryReserveCopy(String isbn) throws DataAccessException {
+        invalidate(isbn);
+        return delegate.tryReserveCopy(isbn);
+    }
+
+    @Override
+    public Set<String> reserveCopies(Map<String, Integer> copies) throws DataAccessException {
+        for (String isbn : copies.keySet()) {
+            invalidate(isbn);
+        }
+        return delegate.reserveCopies(copies);
+    }
+
+    @Override
+    public boolean releaseCopy(String isbn) throws DataAccessException {
+        invalidate(isbn);
+        return delegate.releaseCopy(isbn);
+    }
+
+    @Override
+    public Set<String> releaseCopies(Map<String, Integer> copies) throws DataAccessException {
+        for (String isbn : copies.keySet()) {
+            invalidate(isbn);
+        }
+        return delegate.releaseCopies(copies);
+    }
+
+    @Override
+    public List<Book> findAll() throws DataAccessException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Book> findByCategory(Book.Category category) throws DataAccessException {
+        return delegate.findByCategory(category);
+    }
+
+    @Override
+    public List<Book> findByAuthor(String author) throws DataAccessException {
+        return delegate.findByAuthor(author);
+    }
+
+    @Override
+    public List<Book> findByCategoryAndAuthor(Book.Category category, String author) throws DataAccessException {
+        return delegate.findByCategoryAndAuthor(category, author);
+    }
+
+    @Override
+    public Page<Book> findPage(PageCursor after, int limit) throws DataAccessException {
+        return delegate.findPage(after, limit);
+    }
+
+    @Override
+    public Page<Book> findPageByCategory(Book.Category category, PageCursor after, int limit) throws DataAccessException {
+        return delegate.findPageByCategory(category, after, limit);
+    }
+
+    @Override
+    public Set<String> findExistingIsbns(Collection<String> isbns) throws DataAccessException {
+        return delegate.findExistingIsbns(isbns);
+    }
+
+    @Override
+    public Map<String, Integer> countLoansByIsbn() throws DataAccessException {
+        return delegate.countLoansByIsbn();
+    }
+
+    @Override
+    public Stream<Book> streamAll(int fetchSize) throws DataAccessException {
+        return delegate.streamAll(fetchSize);
+    }
+
+    @Override
+    public Stream<Book> streamChangedBetween(LocalDateTime after, LocalDateTime upTo, int fetchSize) throws DataAccessException {
+        return delegate.streamChangedBetween(after, upTo, fetchSize);
+    }
+
+    @Override
+    public Stream<String> streamDeletedBetween(LocalDateTime after, LocalDateTime upTo, int fetchSize) throws DataAccessException {
+        return delegate.streamDeletedBetween(after, upTo, fetchSize);
+    }
+
+    /**
+     * Drop every cached book
+     */
+    public synchronized void clear() {
+        slotByKey.clear();
+        Arrays.fill(slotBooks, null);
+        mostRecent = NONE;
+        leastRecent = NONE;
+        freeSlots = NONE;
+        usedSlots = 0;
+        size = 0;
+        writeEpoch++;
+    }
+
+    /**
+     * Drop the expired books, so they stop taking slots until they are evicted
+     * @return Number of books dropped
+     */
+    public synchronized int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int purged = 0;
+        int slot = leastRecent;
+        while (slot != NONE) {
+            int newer = prev[slot];
+            if (now >= slotExpiresAt[slot]) {
+                removeSlot(slot);
+                evictions++;
+                purged++;
+            }
+            slot = newer;
+        }
+        return purged;
+    }
+
+    /**
+     * Snapshot of the cache counters
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, evictions, size, maxSize);
+    }
+
+    /**
+     * Drop the entry now and once more when the writing transaction ends.
+     * Until then the book is read from the database without being cached.
+     */
+    private void invalidate(String isbn) {
+        long key = Isbn.encode(isbn);
+        if (key == Isbn.INVALID) {
+            return; // Never cached
+        }
+        synchronized (this) {
+            removeKey(key);
+            pendingWrites.put(key, pendingWrites.get(key) + 1);
+            writeEpoch++;
+        }
+        TransactionHooks.afterCompletion(() -> {
+            synchronized (this) {
+                int count = pendingWrites.get(key);
+                if (count > 1) {
+                    pendingWrites.put(key, count - 1);
+                } else {
+                    pendingWrites.remove(key);
+                }
+                removeKey(key);
+                writeEpoch++;
+            }
+        });
+    }
+
+    /**
+     * Copy of a live cached book, counting the hit or miss. Caller holds the lock.
+     * @return null if the book is not cached, has expired or was cached under another spelling of its ISBN
+     */
+    private Book lookup(String isbn, long key, long now) {
+        int slot = slotByKey.get(key);
+        if (slot != NONE) {
+            if (now >= slotExpiresAt[slot]) {
+                removeSlot(slot);
+                evictions++;
+            } else if (slotBooks[slot].getIsbn().equals(isbn)) {
+                hits++;
+                unlink(slot);
+                linkFirst(slot);
+                return copy(slotBooks[slot]);
+            }
+        }
+        misses++;
+        return null;
+    }
+
+    private long expiresAt() {
+        return ttlMs > 0 ? System.currentTimeMillis() + ttlMs : Long.MAX_VALUE;
+    }
+
+    /**
+     * Cache a book as the most recently used, evicting the least recently used if full
+     */
+    private void store(long key, Book book, long expiresAt) {
+        int slot = slotByKey.get(key);
+        if (slot != NONE) {
+            unlink(slot);
+        } else {
+            if (size == maxSize) {
+                removeSlot(leastRecent);
+                evictions++;
+            }
+            slot = allocateSlot();
+            slotKeys[slot] = key;
+            slotByKey.put(key, slot);
+            size++;
+        }
+        slotBooks[slot] = book;
+        slotExpiresAt[slot] = expiresAt;
+        linkFirst(slot);
+    }
+
+    private void removeKey(long key) {
+        int slot = slotByKey.get(key);
+        if (slot != NONE) {
+            removeSlot(slot);
+        }
+    }
+
+    private void removeSlot(int slot) {
+        unlink(slot);
+        slotByKey.remove(slotKeys[slot]);
+        slotBooks[slot] = null;
+        next[slot] = freeSlots;
+        freeSlots = slot;
+        size--;
+    }
+
+    private int allocateSlot() {
+        if (freeSlots != NONE) {
+            int slot = freeSlots;
+            freeSlots = next[slot];
+            return slot;
+        }
+        if (usedSlots == slotKeys.length) {
+            int grown = (int) Math.min(maxSize, 2L * slotKeys.length);
+            slotKeys = Arrays.copyOf(slotKeys, grown);
+            slotBooks = Arrays.copyOf(slotBooks, grown);
+            slotExpiresAt = Arrays.copyOf(slotExpiresAt, grown);
+            prev = Arrays.copyOf(prev, grown);
+            next = Arrays.copyOf(next, grown);
+        }
+        return usedSlots++;
+    }
+
+    private void linkFirst(int slot) {
+        prev[slot] = NONE;
+        next[slot] = mostRecent;
+        if (mostRecent != NONE) {
+            prev[mostRecent] = slot;
+        } else {
+            leastRecent = slot;
+        }
+        mostRecent = slot;
+    }
+
+    private void unlink(int slot) {
+        int before = prev[slot];
+        int after = next[slot];
+        if (before != NONE) {
+            next[before] = after;
+        } else {
+            mostRecent = after;
+        }
+        if (after != NONE) {
+            prev[after] = before;
+        } else {
+            leastRecent = before;
+        }
+    }
+
+    private static Book copy(Book book) {
+        Book copy = new Book();
+        copy.setIsbn(book.getIsbn());
+        copy.setTitle(book.getTitle());
+        copy.setAuthor(book.getAuthor());
+        copy.setCategory(book.getCategory());
+        copy.setQuantity(book.getQuantity());
+        copy.setAvailable(book.getAvailable());
+        copy.setPrice(book.getPrice());
+        copy.setActive(book.isActive());
+        copy.setCreatedAt(book.getCreatedAt());
+        return copy;
+    }
+
+    /**
+     * Cache counters at a point in time
+     */
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+        private final int maxSize;
+
+        public Stats(long hits, long misses, long evictions, int size, int maxSize) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+            this.maxSize = maxSize;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, size=%d/%d",
+                    hits, misses, getHitRate() * 100, evictions, size, maxSize);
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package dao.impl;
 
 import dao.CatalogDao;
+import dao.Page;
+import dao.PageCursor;
 import domain.Book;
 import errors.DataAccessException;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class CatalogDaoImpl implements CatalogDao {
     private final Connection connection;
@@ -42,6 +51,38 @@ public class CatalogDaoImpl implements CatalogDao {
         }
     }
 
+    @Override
+    public int saveAll(List<Book> books) throws DataAccessException {
+        if (books.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT INTO books (isbn, title, author, category, quantity, available, price, isActive, createdAt) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (Book book : books) {
+                ps.setString(1, book.getIsbn());
+                ps.setString(2, book.getTitle());
+                ps.setString(3, book.getAuthor());
+                ps.setString(4, book.getCategory() != null ? book.getCategory().name() : "UNKNOWN");
+                ps.setInt(5, book.getQuantity());
+                ps.setInt(6, book.getAvailable());
+                ps.setDouble(7, book.getPrice());
+                ps.setBoolean(8, book.isActive());
+                ps.setDate(9, Date.valueOf(book.getCreatedAt()));
+                ps.addBatch();
+            }
+            
+            int inserted = 0;
+            for (int count : ps.executeBatch()) {
+                // SUCCESS_NO_INFO is reported by drivers that rewrite the batch into multi-row inserts
+                inserted += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+            return inserted;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error saving books in batch", e);
+        }
+    }
+
     @Override
     public Book findByIsbn(String isbn) throws DataAccessException {
         String sql = "SELECT * FROM books WHERE isbn = ?";
@@ -61,6 +102,17 @@ public class CatalogDaoImpl implements CatalogDao {
         }
     }
 
+    @Override
+    public Map<String, Book> findByIsbns(Collection<String> isbns) throws DataAccessException {
+        String sql = "SELECT * FROM books WHERE isbn IN (%s)";
+        
+        try {
+            return InQuery.findAll(connection, sql, isbns, this::mapResultSetToBook, Book::getIsbn);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding books by ISBN", e);
+        }
+    }
+
     @Override
     public List<Book> findAll() throws DataAccessException {
         String sql = "SELECT * FROM books ORDER BY createdAt DESC";
@@ -79,6 +131,112 @@ public class CatalogDaoImpl implements CatalogDao {
         }
     }
 
+    @Override
+    public Stream<Book> streamChangedBetween(LocalDateTime after, LocalDateTime upTo, int fetchSize) throws DataAccessException {
+        String sql = "SELECT * FROM books WHERE " +
+                     (after != null ? "updatedAt > ? AND " : "") +
+                     "updatedAt <= ? ORDER BY updatedAt, isbn";
+        
+        try {
+            PreparedStatement ps = ResultSetStream.prepare(connection, sql, fetchSize);
+            try {
+                int index = 1;
+                if (after != null) {
+                    ps.setObject(index++, after);
+                }
+                ps.setObject(index, upTo);
+            } catch (SQLException e) {
+                ps.close();
+                throw e;
+            }
+            return ResultSetStream.of(ps, this::mapResultSetToBook, "Error streaming changed books");
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming changed books", e);
+        }
+    }
+
+    @Override
+    public Stream<String> streamDeletedBetween(LocalDateTime after, LocalDateTime upTo, int fetchSize) throws DataAccessException {
+        String sql = "SELECT d.isbn FROM deleted_books d WHERE " +
+                     (after != null ? "d.deletedAt > ? AND " : "") +
+                     "d.deletedAt <= ? AND NOT EXISTS (SELECT 1 FROM books b WHERE b.isbn = d.isbn) " +
+                     "GROUP BY d.isbn ORDER BY MAX(d.deletedAt), d.isbn";
+        
+        try {
+            PreparedStatement ps = ResultSetStream.prepare(connection, sql, fetchSize);
+            try {
+                int index = 1;
+                if (after != null) {
+                    ps.setObject(index++, after);
+                }
+                ps.setObject(index, upTo);
+            } catch (SQLException e) {
+                ps.close();
+                throw e;
+            }
+            return ResultSetStream.of(ps, rs -> rs.getString(1), "Error streaming deleted books");
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming deleted books", e);
+        }
+    }
+
+    @Override
+    public Stream<Book> streamAll(int fetchSize) throws DataAccessException {
+        String sql = "SELECT * FROM books ORDER BY createdAt DESC";
+        
+        try {
+            PreparedStatement ps = ResultSetStream.prepare(connection, sql, fetchSize);
+            return ResultSetStream.of(ps, this::mapResultSetToBook, "Error streaming books");
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming all books", e);
+        }
+    }
+
+    @Override
+    public Set<String> findExistingIsbns(Collection<String> isbns) throws DataAccessException {
+        Set<String> existing = new HashSet<>();
+        
+        try {
+            for (List<String> chunk : InQuery.chunks(isbns)) {
+                String sql = "SELECT isbn FROM books WHERE isbn IN (" + InQuery.placeholders(chunk.size()) + ")";
+                
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    int index = 1;
+                    for (String isbn : chunk) {
+                        ps.setString(index++, isbn);
+                    }
+                    
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            existing.add(rs.getString("isbn"));
+                        }
+                    }
+                }
+            }
+            
+            return existing;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding existing ISBNs", e);
+        }
+    }
+
+    @Override
+    public Map<String, Integer> countLoansByIsbn() throws DataAccessException {
+        String sql = "SELECT isbn, COUNT(*) AS loanCount FROM loans GROUP BY isbn";
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            
+            Map<String, Integer> counts = new HashMap<>();
+            while (rs.next()) {
+                counts.put(rs.getString("isbn"), rs.getInt("loanCount"));
+            }
+            return counts;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error counting loans by ISBN", e);
+        }
+    }
+
     @Override
     public boolean update(Book book) throws DataAccessException {
         String sql = "UPDATE books SET title = ?, author = ?, category = ?, quantity = ?, available = ?, price = ?, isActive = ? WHERE isbn = ?";
@@ -102,18 +260,169 @@ public class CatalogDaoImpl implements CatalogDao {
 
     @Override
     public boolean delete(String isbn) throws DataAccessException {
+        // Loans go with the book (on delete cascade), so they are recorded first for delta exports
+        String loansSql = "INSERT INTO deleted_loans (id) SELECT id FROM loans WHERE isbn = ?";
         String sql = "DELETE FROM books WHERE isbn = ?";
+        String bookSql = "INSERT INTO deleted_books (isbn) VALUES (?)";
         
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, isbn);
+        try (PreparedStatement loansPs = connection.prepareStatement(loansSql);
+             PreparedStatement ps = connection.prepareStatement(sql);
+             PreparedStatement bookPs = connection.prepareStatement(bookSql)) {
+            loansPs.setString(1, isbn);
+            loansPs.executeUpdate();
             
+            ps.setString(1, isbn);
             int affectedRows = ps.executeUpdate();
+            if (affectedRows > 0) {
+                bookPs.setString(1, isbn);
+                bookPs.executeUpdate();
+            }
             return affectedRows > 0;
         } catch (SQLException e) {
             throw new DataAccessException("Error deleting book", e);
         }
     }
 
+    @Override
+    public boolean tryReserveCopy(String isbn) throws DataAccessException {
+        String sql = "UPDATE books SET available = available - 1 WHERE isbn = ? AND isActive = TRUE AND available > 0";
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, isbn);
+            return ps.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reserving copy of book", e);
+        }
+    }
+
+    @Override
+    public Set<String> reserveCopies(Map<String, Integer> copies) throws DataAccessException {
+        Set<String> failed = new HashSet<>();
+        if (copies.isEmpty()) {
+            return failed;
+        }
+        String sql = "UPDATE books SET available = available - ? WHERE isbn = ? AND isActive = TRUE AND available >= ?";
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            List<String> isbns = new ArrayList<>(copies.keySet());
+            for (String isbn : isbns) {
+                int count = copies.get(isbn);
+                ps.setInt(1, count);
+                ps.setString(2, isbn);
+                ps.setInt(3, count);
+                ps.addBatch();
+            }
+            
+            int[] counts = ps.executeBatch();
+            for (int i = 0; i < counts.length; i++) {
+                // SUCCESS_NO_INFO means the driver ran the update without reporting a row count
+                if (counts[i] == 0) {
+                    failed.add(isbns.get(i));
+                }
+            }
+            return failed;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reserving copies of books", e);
+        }
+    }
+
+    @Override
+    public boolean releaseCopy(String isbn) throws DataAccessException {
+        String sql = "UPDATE books SET available = available + 1 WHERE isbn = ? AND available < quantity";
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, isbn);
+            return ps.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error releasing copy of book", e);
+        }
+    }
+
+    @Override
+    public Set<String> releaseCopies(Map<String, Integer> copies) throws DataAccessException {
+        Set<String> missing = new HashSet<>();
+        if (copies.isEmpty()) {
+            return missing;
+        }
+        String sql = "UPDATE books SET available = LEAST(available + ?, quantity) WHERE isbn = ?";
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            List<String> isbns = new ArrayList<>(copies.keySet());
+            for (String isbn : isbns) {
+                ps.setInt(1, copies.get(isbn));
+                ps.setString(2, isbn);
+                ps.addBatch();
+            }
+            
+            int[] counts = ps.executeBatch();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    missing.add(isbns.get(i));
+                }
+            }
+            return missing;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error releasing copies of books", e);
+        }
+    }
+
+    @Override
+    public Page<Book> findPage(PageCursor after, int limit) throws DataAccessException {
+        String sql = "SELECT * FROM books " +
+                     (after != null ? "WHERE (createdAt < ? OR (createdAt = ? AND isbn < ?)) " : "") +
+                     "ORDER BY createdAt DESC, isbn DESC LIMIT ?";
+        List<Book> books = new ArrayList<>();
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (after != null) {
+                ps.setDate(index++, Date.valueOf(after.getCreatedAt()));
+                ps.setDate(index++, Date.valueOf(after.getCreatedAt()));
+                ps.setString(index++, after.getLastKey());
+            }
+            ps.setInt(index, limit + 1);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    books.add(mapResultSetToBook(rs));
+                }
+            }
+            
+            return Page.fromRows(books, limit, book -> new PageCursor(book.getCreatedAt(), book.getIsbn()));
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding page of books", e);
+        }
+    }
+
+    @Override
+    public Page<Book> findPageByCategory(Book.Category category, PageCursor after, int limit) throws DataAccessException {
+        String sql = "SELECT * FROM books WHERE category = ? " +
+                     (after != null ? "AND (createdAt < ? OR (createdAt = ? AND isbn < ?)) " : "") +
+                     "ORDER BY createdAt DESC, isbn DESC LIMIT ?";
+        List<Book> books = new ArrayList<>();
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            ps.setString(index++, category.name());
+            if (after != null) {
+                ps.setDate(index++, Date.valueOf(after.getCreatedAt()));
+                ps.setDate(index++, Date.valueOf(after.getCreatedAt()));
+                ps.setString(index++, after.getLastKey());
+            }
+            ps.setInt(index, limit + 1);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    books.add(mapResultSetToBook(rs));
+                }
+            }
+            
+            return Page.fromRows(books, limit, book -> new PageCursor(book.getCreatedAt(), book.getIsbn()));
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding page of books by category", e);
+        }
+    }
+
     /**
      * Helper method to map ResultSet to Book object
      */
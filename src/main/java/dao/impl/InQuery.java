@@ -0,0 +1,81 @@
+package dao.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Runs a multi-key lookup as a few "... IN (?, ?, ...)" queries.
+ * Keys are de-duplicated and sent in chunks, so the statement text stays within driver limits
+ * and a handful of distinct statement shapes can be cached by the server.
+ */
+final class InQuery {
+    static final int MAX_KEYS_PER_QUERY = 500;
+
+    private InQuery() {
+    }
+
+    /**
+     * @param sql Query with a single {@code IN (%s)} placeholder for the key list
+     * @param keys Keys to look up (duplicates and nulls are ignored)
+     * @param mapper Maps a row to a value
+     * @param keyOf Key of a mapped value
+     * @return Values by key; keys without a row are absent
+     */
+    static <K, V> Map<K, V> findAll(Connection connection, String sql, Iterable<K> keys,
+                                    ResultSetStream.RowMapper<V> mapper, Function<V, K> keyOf) throws SQLException {
+        Map<K, V> found = new HashMap<>();
+        for (List<K> chunk : chunks(keys)) {
+            try (PreparedStatement ps = connection.prepareStatement(sql.formatted(placeholders(chunk.size())))) {
+                int index = 1;
+                for (K key : chunk) {
+                    ps.setObject(index++, key);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        V value = mapper.map(rs);
+                        found.put(keyOf.apply(value), value);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Distinct non-null keys split into chunks of at most {@link #MAX_KEYS_PER_QUERY}
+     */
+    static <K> List<List<K>> chunks(Iterable<K> keys) {
+        LinkedHashSet<K> distinct = new LinkedHashSet<>();
+        for (K key : keys) {
+            if (key != null) {
+                distinct.add(key);
+            }
+        }
+        List<List<K>> chunks = new ArrayList<>();
+        List<K> chunk = new ArrayList<>(Math.min(distinct.size(), MAX_KEYS_PER_QUERY));
+        for (K key : distinct) {
+            chunk.add(key);
+            if (chunk.size() == MAX_KEYS_PER_QUERY) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(MAX_KEYS_PER_QUERY);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
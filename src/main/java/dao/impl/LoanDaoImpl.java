@@ -1,14 +1,45 @@
 package dao.impl;
 
 import dao.LoanDao;
+import dao.Page;
+import dao.PageCursor;
+import domain.CheckoutStatus;
 import domain.Loan;
 import errors.DataAccessException;
 
 import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class LoanDaoImpl implements LoanDao {
+    /**
+     * Loan columns in the order read by {@link #mapLoan}
+     */
+    private static final String LOAN_COLUMNS =
+            "l.id, l.memberId, l.isbn, l.borrowDate, l.dueDate, l.returnDate, l.status, l.fineAmount, l.createdAt";
+    private static final String SELECT_CORE = "SELECT " + LOAN_COLUMNS + " FROM loans l ";
+    private static final String SELECT_WITH_NAMES = "SELECT " + LOAN_COLUMNS + ", m.name, b.title " +
+                                                    "FROM loans l " +
+                                                    "LEFT JOIN members m ON l.memberId = m.id " +
+                                                    "LEFT JOIN books b ON l.isbn = b.isbn ";
+
+    /**
+     * Inserts the loan only if the member is active and has no active loan of the same book
+     */
+    private static final String SAVE_IF_ELIGIBLE =
+            "INSERT INTO loans (memberId, isbn, borrowDate, dueDate, returnDate, status, fineAmount, createdAt) " +
+            "SELECT m.id, ?, ?, ?, ?, ?, ?, ? FROM members m " +
+            "WHERE m.id = ? AND m.isActive = TRUE AND NOT EXISTS (" +
+            "SELECT 1 FROM loans l WHERE l.memberId = ? AND l.isbn = ? AND l.status IN ('BORROWED', 'OVERDUE'))";
+
     private final Connection connection;
 
     public LoanDaoImpl(Connection connection) {
@@ -52,10 +83,7 @@ public class LoanDaoImpl implements LoanDao {
 
     @Override
     public Loan findById(int id) throws DataAccessException {
-        String sql = "SELECT l.*, m.name as memberName, b.title as bookTitle " +
-                     "FROM loans l " +
-                     "LEFT JOIN members m ON l.memberId = m.id " +
-                     "LEFT JOIN books b ON l.isbn = b.isbn " +
+        String sql = SELECT_WITH_NAMES +
                      "WHERE l.id = ?";
         
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
@@ -63,7 +91,7 @@ public class LoanDaoImpl implements LoanDao {
             
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToLoan(rs);
+                    return mapLoanWithNames(rs);
                 } else {
                     return null;
                 }
@@ -73,12 +101,47 @@ public class LoanDaoImpl implements LoanDao {
         }
     }
 
+    @Override
+    public Map<Integer, Loan> findByIds(Collection<Integer> ids) throws DataAccessException {
+        String sql = SELECT_WITH_NAMES +
+                     "WHERE l.id IN (%s)";
+        
+        try {
+            return InQuery.findAll(connection, sql, ids, this::mapLoanWithNames, Loan::getId);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding loans by ID", e);
+        }
+    }
+
+    @Override
+    public Loan findCoreById(int id) throws DataAccessException {
+        String sql = SELECT_CORE + "WHERE l.id = ?";
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? mapLoan(rs) : null;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding loan by ID", e);
+        }
+    }
+
+    @Override
+    public Map<Integer, Loan> findCoreByIds(Collection<Integer> ids) throws DataAccessException {
+        String sql = SELECT_CORE + "WHERE l.id IN (%s)";
+        
+        try {
+            return InQuery.findAll(connection, sql, ids, this::mapLoan, Loan::getId);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding loans by ID", e);
+        }
+    }
+
     @Override
     public List<Loan> findAll() throws DataAccessException {
-        String sql = "SELECT l.*, m.name as memberName, b.title as bookTitle " +
-                     "FROM loans l " +
-                     "LEFT JOIN members m ON l.memberId = m.id " +
-                     "LEFT JOIN books b ON l.isbn = b.isbn " +
+        String sql = SELECT_WITH_NAMES +
                      "ORDER BY l.createdAt DESC";
         List<Loan> loans = new ArrayList<>();
         
@@ -86,7 +149,7 @@ public class LoanDaoImpl implements LoanDao {
              ResultSet rs = ps.executeQuery()) {
             
             while (rs.next()) {
-                loans.add(mapResultSetToLoan(rs));
+                loans.add(mapLoanWithNames(rs));
             }
             
             return loans;
@@ -95,6 +158,127 @@ public class LoanDaoImpl implements LoanDao {
         }
     }
 
+    @Override
+    public Stream<Loan> streamAll(int fetchSize) throws DataAccessException {
+        String sql = SELECT_WITH_NAMES +
+                     "ORDER BY l.createdAt DESC";
+        
+        try {
+            PreparedStatement ps = ResultSetStream.prepare(connection, sql, fetchSize);
+            return ResultSetStream.of(ps, this::mapLoanWithNames, "Error streaming loans");
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming all loans", e);
+        }
+    }
+
+    @Override
+    public Stream<Loan> streamByStatus(Loan.Status status, int fetchSize) throws DataAccessException {
+        String sql = SELECT_WITH_NAMES +
+                     "WHERE l.status = ? " +
+                     "ORDER BY l.createdAt DESC";
+        
+        try {
+            PreparedStatement ps = ResultSetStream.prepare(connection, sql, fetchSize);
+            try {
+                ps.setString(1, status.name());
+            } catch (SQLException e) {
+                ps.close();
+                throw e;
+            }
+            return ResultSetStream.of(ps, this::mapLoanWithNames, "Error streaming loans by status");
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming loans by status", e);
+        }
+    }
+
+    @Override
+    public int[] findIdBounds() throws DataAccessException {
+        String sql = "SELECT MIN(id), MAX(id) FROM loans";
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            if (!rs.next()) {
+                return null;
+            }
+            int min = rs.getInt(1);
+            if (rs.wasNull()) {
+                return null;
+            }
+            return new int[]{min, rs.getInt(2)};
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding loan id bounds", e);
+        }
+    }
+
+    @Override
+    public Stream<Loan> streamByIdRange(int fromId, int toId, int fetchSize) throws DataAccessException {
+        String sql = SELECT_WITH_NAMES +
+                     "WHERE l.id BETWEEN ? AND ? " +
+                     "ORDER BY l.id";
+        
+        try {
+            PreparedStatement ps = ResultSetStream.prepare(connection, sql, fetchSize);
+            try {
+                ps.setInt(1, fromId);
+                ps.setInt(2, toId);
+            } catch (SQLException e) {
+                ps.close();
+                throw e;
+            }
+            return ResultSetStream.of(ps, this::mapLoanWithNames, "Error streaming loans by id range");
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming loans by id range", e);
+        }
+    }
+
+    @Override
+    public Stream<Loan> streamChangedBetween(LocalDateTime after, LocalDateTime upTo, int fetchSize) throws DataAccessException {
+        String sql = SELECT_WITH_NAMES + "WHERE " +
+                     (after != null ? "l.updatedAt > ? AND " : "") +
+                     "l.updatedAt <= ? ORDER BY l.updatedAt, l.id";
+        
+        try {
+            PreparedStatement ps = ResultSetStream.prepare(connection, sql, fetchSize);
+            try {
+                int index = 1;
+                if (after != null) {
+                    ps.setObject(index++, after);
+                }
+                ps.setObject(index, upTo);
+            } catch (SQLException e) {
+                ps.close();
+                throw e;
+            }
+            return ResultSetStream.of(ps, this::mapLoanWithNames, "Error streaming changed loans");
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming changed loans", e);
+        }
+    }
+
+    @Override
+    public Stream<Integer> streamDeletedBetween(LocalDateTime after, LocalDateTime upTo, int fetchSize) throws DataAccessException {
+        String sql = "SELECT id FROM deleted_loans WHERE " +
+                     (after != null ? "deletedAt > ? AND " : "") +
+                     "deletedAt <= ? ORDER BY deletedAt, id";
+        
+        try {
+            PreparedStatement ps = ResultSetStream.prepare(connection, sql, fetchSize);
+            try {
+                int index = 1;
+                if (after != null) {
+                    ps.setObject(index++, after);
+                }
+                ps.setObject(index, upTo);
+            } catch (SQLException e) {
+                ps.close();
+                throw e;
+            }
+            return ResultSetStream.of(ps, rs -> rs.getInt(1), "Error streaming deleted loans");
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming deleted loans", e);
+        }
+    }
+
     @Override
     public boolean update(Loan loan) throws DataAccessException {
         String sql = "UPDATE loans SET memberId = ?, isbn = ?, borrowDate = ?, dueDate = ?, " +
@@ -120,11 +304,18 @@ public class LoanDaoImpl implements LoanDao {
     @Override
     public boolean delete(int id) throws DataAccessException {
         String sql = "DELETE FROM loans WHERE id = ?";
+        String tombstoneSql = "INSERT INTO deleted_loans (id) VALUES (?)";
         
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             PreparedStatement tombstonePs = connection.prepareStatement(tombstoneSql)) {
             ps.setInt(1, id);
             
             int affectedRows = ps.executeUpdate();
+            if (affectedRows > 0) {
+                // Recorded for delta exports
+                tombstonePs.setInt(1, id);
+                tombstonePs.executeUpdate();
+            }
             return affectedRows > 0;
         } catch (SQLException e) {
             throw new DataAccessException("Error deleting loan", e);
@@ -133,10 +324,7 @@ public class LoanDaoImpl implements LoanDao {
 
     @Override
     public List<Loan> findByMemberId(int memberId) throws DataAccessException {
-        String sql = "SELECT l.*, m.name as memberName, b.title as bookTitle " +
-                     "FROM loans l " +
-                     "LEFT JOIN members m ON l.memberId = m.id " +
-                     "LEFT JOIN books b ON l.isbn = b.isbn " +
+        String sql = SELECT_WITH_NAMES +
                      "WHERE l.memberId = ? " +
                      "ORDER BY l.createdAt DESC";
         List<Loan> loans = new ArrayList<>();
@@ -146,7 +334,7 @@ public class LoanDaoImpl implements LoanDao {
             
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    loans.add(mapResultSetToLoan(rs));
+                    loans.add(mapLoanWithNames(rs));
                 }
             }
             
@@ -158,10 +346,7 @@ public class LoanDaoImpl implements LoanDao {
 
     @Override
     public List<Loan> findByIsbn(String isbn) throws DataAccessException {
-        String sql = "SELECT l.*, m.name as memberName, b.title as bookTitle " +
-                     "FROM loans l " +
-                     "LEFT JOIN members m ON l.memberId = m.id " +
-                     "LEFT JOIN books b ON l.isbn = b.isbn " +
+        String sql = SELECT_WITH_NAMES +
                      "WHERE l.isbn = ? " +
                      "ORDER BY l.createdAt DESC";
         List<Loan> loans = new ArrayList<>();
@@ -171,7 +356,7 @@ public class LoanDaoImpl implements LoanDao {
             
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    loans.add(mapResultSetToLoan(rs));
+                    loans.add(mapLoanWithNames(rs));
                 }
             }
             
@@ -183,10 +368,7 @@ public class LoanDaoImpl implements LoanDao {
 
     @Override
     public List<Loan> findByStatus(Loan.Status status) throws DataAccessException {
-        String sql = "SELECT l.*, m.name as memberName, b.title as bookTitle " +
-                     "FROM loans l " +
-                     "LEFT JOIN members m ON l.memberId = m.id " +
-                     "LEFT JOIN books b ON l.isbn = b.isbn " +
+        String sql = SELECT_WITH_NAMES +
                      "WHERE l.status = ? " +
                      "ORDER BY l.createdAt DESC";
         List<Loan> loans = new ArrayList<>();
@@ -196,7 +378,7 @@ public class LoanDaoImpl implements LoanDao {
             
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    loans.add(mapResultSetToLoan(rs));
+                    loans.add(mapLoanWithNames(rs));
                 }
             }
             
@@ -208,10 +390,7 @@ public class LoanDaoImpl implements LoanDao {
 
     @Override
     public List<Loan> findActiveLoansByMemberId(int memberId) throws DataAccessException {
-        String sql = "SELECT l.*, m.name as memberName, b.title as bookTitle " +
-                     "FROM loans l " +
-                     "LEFT JOIN members m ON l.memberId = m.id " +
-                     "LEFT JOIN books b ON l.isbn = b.isbn " +
+        String sql = SELECT_WITH_NAMES +
                      "WHERE l.memberId = ? AND l.status IN ('BORROWED', 'OVERDUE') " +
                      "ORDER BY l.createdAt DESC";
         List<Loan> loans = new ArrayList<>();
@@ -221,7 +400,7 @@ public class LoanDaoImpl implements LoanDao {
             
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    loans.add(mapResultSetToLoan(rs));
+                    loans.add(mapLoanWithNames(rs));
                 }
             }
             
@@ -231,12 +410,177 @@ public class LoanDaoImpl implements LoanDao {
         }
     }
 
+    @Override
+    public Loan saveIfEligible(Loan loan) throws DataAccessException {
+        try (PreparedStatement ps = connection.prepareStatement(SAVE_IF_ELIGIBLE, Statement.RETURN_GENERATED_KEYS)) {
+            bindSaveIfEligible(ps, loan);
+            
+            if (ps.executeUpdate() == 0) {
+                return null;
+            }
+            
+            try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    loan.setId(generatedKeys.getInt(1));
+                } else {
+                    throw new DataAccessException("Creating loan failed, no ID obtained", new SQLException("No ID obtained"));
+                }
+            }
+            
+            return loan;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error saving loan", e);
+        }
+    }
+
+    @Override
+    public List<Loan> saveAllIfEligible(List<Loan> loans) throws DataAccessException {
+        List<Loan> saved = new ArrayList<>(loans.size());
+        if (loans.isEmpty()) {
+            return saved;
+        }
+        
+        try (PreparedStatement ps = connection.prepareStatement(SAVE_IF_ELIGIBLE, Statement.RETURN_GENERATED_KEYS)) {
+            for (Loan loan : loans) {
+                bindSaveIfEligible(ps, loan);
+                ps.addBatch();
+            }
+            
+            int[] counts = ps.executeBatch();
+            // Keys come back for the inserted rows only, in batch order
+            try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        saved.add(null);
+                    } else if (generatedKeys.next()) {
+                        Loan loan = loans.get(i);
+                        loan.setId(generatedKeys.getInt(1));
+                        saved.add(loan);
+                    } else {
+                        throw new DataAccessException("Creating loans failed, no ID obtained", new SQLException("No ID obtained"));
+                    }
+                }
+            }
+            
+            return saved;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error saving loans in batch", e);
+        }
+    }
+
+    @Override
+    public Map<Integer, Set<String>> findActiveIsbnsByMemberIds(Collection<Integer> memberIds) throws DataAccessException {
+        String sql = "SELECT memberId, isbn FROM loans WHERE status IN ('BORROWED', 'OVERDUE') AND memberId IN (%s)";
+        Map<Integer, Set<String>> active = new HashMap<>();
+        
+        try {
+            for (List<Integer> chunk : InQuery.chunks(memberIds)) {
+                try (PreparedStatement ps = connection.prepareStatement(sql.formatted(InQuery.placeholders(chunk.size())))) {
+                    int index = 1;
+                    for (int memberId : chunk) {
+                        ps.setInt(index++, memberId);
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            active.computeIfAbsent(rs.getInt(1), id -> new HashSet<>()).add(rs.getString(2));
+                        }
+                    }
+                }
+            }
+            return active;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding active loans by member IDs", e);
+        }
+    }
+
+    @Override
+    public List<Loan> findActiveCoreByMemberIds(Collection<Integer> memberIds) throws DataAccessException {
+        String sql = SELECT_CORE + "WHERE l.status IN ('BORROWED', 'OVERDUE') AND l.memberId IN (%s)";
+        List<Loan> loans = new ArrayList<>();
+        
+        try {
+            for (List<Integer> chunk : InQuery.chunks(memberIds)) {
+                try (PreparedStatement ps = connection.prepareStatement(sql.formatted(InQuery.placeholders(chunk.size())))) {
+                    int index = 1;
+                    for (int memberId : chunk) {
+                        ps.setInt(index++, memberId);
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            loans.add(mapLoan(rs));
+                        }
+                    }
+                }
+            }
+            return loans;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding active loans by member IDs", e);
+        }
+    }
+
+    @Override
+    public Set<Integer> markAllReturned(List<Loan> loans) throws DataAccessException {
+        Set<Integer> notUpdated = new HashSet<>();
+        if (loans.isEmpty()) {
+            return notUpdated;
+        }
+        String sql = "UPDATE loans SET returnDate = ?, status = 'RETURNED', fineAmount = ? WHERE id = ? AND status <> 'RETURNED'";
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (Loan loan : loans) {
+                ps.setDate(1, Date.valueOf(loan.getReturnDate()));
+                ps.setDouble(2, loan.getFineAmount());
+                ps.setInt(3, loan.getId());
+                ps.addBatch();
+            }
+            
+            int[] counts = ps.executeBatch();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    notUpdated.add(loans.get(i).getId());
+                }
+            }
+            return notUpdated;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error marking loans as returned", e);
+        }
+    }
+
+    @Override
+    public CheckoutStatus findCheckoutStatus(int memberId, String isbn) throws DataAccessException {
+        String sql = "SELECT m.isActive AS memberActive, b.isActive AS bookActive, b.available, " +
+                     "EXISTS (SELECT 1 FROM loans l WHERE l.memberId = ? AND l.isbn = ? " +
+                     "AND l.status IN ('BORROWED', 'OVERDUE')) AS activeLoan " +
+                     "FROM (SELECT 1 AS one) k " +
+                     "LEFT JOIN members m ON m.id = ? " +
+                     "LEFT JOIN books b ON b.isbn = ?";
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, memberId);
+            ps.setString(2, isbn);
+            ps.setInt(3, memberId);
+            ps.setString(4, isbn);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                boolean memberActive = rs.getBoolean("memberActive");
+                boolean memberFound = !rs.wasNull();
+                boolean bookActive = rs.getBoolean("bookActive");
+                boolean bookFound = !rs.wasNull();
+                return new CheckoutStatus(
+                        memberFound ? memberActive : null,
+                        bookFound ? bookActive : null,
+                        rs.getInt("available"),
+                        rs.getBoolean("activeLoan"));
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reading checkout status", e);
+        }
+    }
+
     @Override
     public Loan findActiveLoanByMemberAndIsbn(int memberId, String isbn) throws DataAccessException {
-        String sql = "SELECT l.*, m.name as memberName, b.title as bookTitle " +
-                     "FROM loans l " +
-                     "LEFT JOIN members m ON l.memberId = m.id " +
-                     "LEFT JOIN books b ON l.isbn = b.isbn " +
+        String sql = SELECT_CORE +
                      "WHERE l.memberId = ? AND l.isbn = ? AND l.status IN ('BORROWED', 'OVERDUE')";
         
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
@@ -245,7 +589,7 @@ public class LoanDaoImpl implements LoanDao {
             
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToLoan(rs);
+                    return mapLoan(rs);
                 } else {
                     return null;
                 }
@@ -255,53 +599,154 @@ public class LoanDaoImpl implements LoanDao {
         }
     }
 
-    /**
-     * Helper method to map ResultSet to Loan object
-     */
-    private Loan mapResultSetToLoan(ResultSet rs) throws SQLException {
-        Loan loan = new Loan();
-        loan.setId(rs.getInt("id"));
-        loan.setMemberId(rs.getInt("memberId"));
-        loan.setIsbn(rs.getString("isbn"));
-        loan.setBorrowDate(rs.getDate("borrowDate").toLocalDate());
-        loan.setDueDate(rs.getDate("dueDate").toLocalDate());
+    @Override
+    public int markOverdue(LocalDate asOf) throws DataAccessException {
+        String sql = "UPDATE loans SET status = 'OVERDUE' WHERE status = 'BORROWED' AND dueDate < ?";
         
-        Date returnDate = rs.getDate("returnDate");
-        if (returnDate != null) {
-            loan.setReturnDate(returnDate.toLocalDate());
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setDate(1, Date.valueOf(asOf));
+            
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new DataAccessException("Error marking overdue loans", e);
         }
+    }
+
+    @Override
+    public int markOverdueByIds(Collection<Integer> ids) throws DataAccessException {
+        String sql = "UPDATE loans SET status = 'OVERDUE' WHERE status = 'BORROWED' AND id IN (%s)";
+        int marked = 0;
         
-        String statusStr = rs.getString("status");
-        if (statusStr != null) {
-            loan.setStatus(Loan.Status.valueOf(statusStr));
+        try {
+            for (List<Integer> chunk : InQuery.chunks(ids)) {
+                try (PreparedStatement ps = connection.prepareStatement(sql.formatted(InQuery.placeholders(chunk.size())))) {
+                    int index = 1;
+                    for (int id : chunk) {
+                        ps.setInt(index++, id);
+                    }
+                    marked += ps.executeUpdate();
+                }
+            }
+            return marked;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error marking loans as overdue", e);
         }
+    }
+
+    @Override
+    public Map<Integer, LocalDate> findBorrowedDueDates() throws DataAccessException {
+        String sql = "SELECT id, dueDate FROM loans WHERE status = 'BORROWED'";
+        Map<Integer, LocalDate> dueDates = new HashMap<>();
         
-        loan.setFineAmount(rs.getDouble("fineAmount"));
-        
-        Date createdAt = rs.getDate("createdAt");
-        if (createdAt != null) {
-            loan.setCreatedAt(createdAt.toLocalDate());
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            
+            while (rs.next()) {
+                dueDates.put(rs.getInt(1), rs.getDate(2).toLocalDate());
+            }
+            
+            return dueDates;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding due dates of borrowed loans", e);
         }
+    }
+
+    @Override
+    public Page<Loan> findPage(PageCursor after, int limit) throws DataAccessException {
+        String sql = SELECT_WITH_NAMES +
+                     (after != null ? "WHERE (l.createdAt < ? OR (l.createdAt = ? AND l.id < ?)) " : "") +
+                     "ORDER BY l.createdAt DESC, l.id DESC LIMIT ?";
+        List<Loan> loans = new ArrayList<>();
         
-        // Set additional display fields if available
-        try {
-            String memberName = rs.getString("memberName");
-            if (memberName != null) {
-                loan.setMemberName(memberName);
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (after != null) {
+                ps.setDate(index++, Date.valueOf(after.getCreatedAt()));
+                ps.setDate(index++, Date.valueOf(after.getCreatedAt()));
+                ps.setInt(index++, after.getLastKeyAsInt());
+            }
+            ps.setInt(index, limit + 1);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    loans.add(mapLoanWithNames(rs));
+                }
             }
+            
+            return Page.fromRows(loans, limit, loan -> new PageCursor(loan.getCreatedAt(), String.valueOf(loan.getId())));
         } catch (SQLException e) {
-            // Column might not exist in some queries
+            throw new DataAccessException("Error finding page of loans", e);
         }
+    }
+
+    @Override
+    public Page<Loan> findPageByStatus(Loan.Status status, PageCursor after, int limit) throws DataAccessException {
+        String sql = SELECT_WITH_NAMES +
+                     "WHERE l.status = ? " +
+                     (after != null ? "AND (l.createdAt < ? OR (l.createdAt = ? AND l.id < ?)) " : "") +
+                     "ORDER BY l.createdAt DESC, l.id DESC LIMIT ?";
+        List<Loan> loans = new ArrayList<>();
         
-        try {
-            String bookTitle = rs.getString("bookTitle");
-            if (bookTitle != null) {
-                loan.setBookTitle(bookTitle);
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            ps.setString(index++, status.name());
+            if (after != null) {
+                ps.setDate(index++, Date.valueOf(after.getCreatedAt()));
+                ps.setDate(index++, Date.valueOf(after.getCreatedAt()));
+                ps.setInt(index++, after.getLastKeyAsInt());
+            }
+            ps.setInt(index, limit + 1);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    loans.add(mapLoanWithNames(rs));
+                }
             }
+            
+            return Page.fromRows(loans, limit, loan -> new PageCursor(loan.getCreatedAt(), String.valueOf(loan.getId())));
         } catch (SQLException e) {
-            // Column might not exist in some queries
+            throw new DataAccessException("Error finding page of loans by status", e);
         }
-        
+    }
+
+    private void bindSaveIfEligible(PreparedStatement ps, Loan loan) throws SQLException {
+        ps.setString(1, loan.getIsbn());
+        ps.setDate(2, Date.valueOf(loan.getBorrowDate()));
+        ps.setDate(3, Date.valueOf(loan.getDueDate()));
+        ps.setDate(4, loan.getReturnDate() != null ? Date.valueOf(loan.getReturnDate()) : null);
+        ps.setString(5, loan.getStatus().name());
+        ps.setDouble(6, loan.getFineAmount());
+        ps.setDate(7, Date.valueOf(loan.getCreatedAt()));
+        ps.setInt(8, loan.getMemberId());
+        ps.setInt(9, loan.getMemberId());
+        ps.setString(10, loan.getIsbn());
+    }
+
+    /**
+     * Map the {@link #LOAN_COLUMNS} of the current row, by position
+     */
+    private Loan mapLoan(ResultSet rs) throws SQLException {
+        Date returnDate = rs.getDate(6);
+        Date createdAt = rs.getDate(9);
+        return new Loan(
+                rs.getInt(1),
+                rs.getInt(2),
+                rs.getString(3),
+                rs.getDate(4).toLocalDate(),
+                rs.getDate(5).toLocalDate(),
+                returnDate != null ? returnDate.toLocalDate() : null,
+                Loan.Status.valueOf(rs.getString(7)),
+                rs.getDouble(8),
+                createdAt != null ? createdAt.toLocalDate() : null);
+    }
+
+    /**
+     * Map a row of {@link #SELECT_WITH_NAMES}: the loan plus its member name and book title
+     */
+    private Loan mapLoanWithNames(ResultSet rs) throws SQLException {
+        Loan loan = mapLoan(rs);
+        loan.setMemberName(rs.getString(10));
+        loan.setBookTitle(rs.getString(11));
         return loan;
     }
 }
@@ -1,13 +1,17 @@
 package dao.impl;
 
 import dao.MemberDao;
+import dao.Page;
+import dao.PageCursor;
 import domain.Member;
 import errors.DataAccessException;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public class MemberDaoImpl implements MemberDao {
     private final Connection connection;
@@ -103,6 +107,17 @@ public class MemberDaoImpl implements MemberDao {
         }
     }
 
+    @Override
+    public Map<Integer, Member> findByIds(Collection<Integer> ids) throws DataAccessException {
+        String sql = "SELECT * FROM members WHERE id IN (%s)";
+        
+        try {
+            return InQuery.findAll(connection, sql, ids, this::mapResultSetToMember, Member::getId);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding members by id", e);
+        }
+    }
+
     @Override
     public List<Member> findAll() throws DataAccessException {
         String sql = "SELECT * FROM members ORDER BY createdAt DESC";
@@ -141,9 +156,15 @@ public class MemberDaoImpl implements MemberDao {
 
     @Override
     public boolean delete(int id) throws DataAccessException {
+        // Loans go with the member (on delete cascade), so they are recorded first for delta exports
+        String loansSql = "INSERT INTO deleted_loans (id) SELECT id FROM loans WHERE memberId = ?";
         String sql = "DELETE FROM members WHERE id = ?";
         
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (PreparedStatement loansPs = connection.prepareStatement(loansSql);
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            loansPs.setInt(1, id);
+            loansPs.executeUpdate();
+            
             ps.setInt(1, id);
             
             int affectedRows = ps.executeUpdate();
@@ -153,6 +174,34 @@ public class MemberDaoImpl implements MemberDao {
         }
     }
 
+    @Override
+    public Page<Member> findPage(PageCursor after, int limit) throws DataAccessException {
+        String sql = "SELECT * FROM members " +
+                     (after != null ? "WHERE (createdAt < ? OR (createdAt = ? AND id < ?)) " : "") +
+                     "ORDER BY createdAt DESC, id DESC LIMIT ?";
+        List<Member> members = new ArrayList<>();
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (after != null) {
+                ps.setDate(index++, Date.valueOf(after.getCreatedAt()));
+                ps.setDate(index++, Date.valueOf(after.getCreatedAt()));
+                ps.setInt(index++, after.getLastKeyAsInt());
+            }
+            ps.setInt(index, limit + 1);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    members.add(mapResultSetToMember(rs));
+                }
+            }
+            
+            return Page.fromRows(members, limit, member -> new PageCursor(member.getCreatedAt(), String.valueOf(member.getId())));
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding page of members", e);
+        }
+    }
+
     /**
      * Helper method to map ResultSet to Member object
      */
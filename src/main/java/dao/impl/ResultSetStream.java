@@ -0,0 +1,106 @@
+package dao.impl;
+
+import errors.UncheckedDataAccessException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily maps the rows of an open cursor into a sequential Stream.
+ * Rows are read only as the stream is consumed; closing the stream
+ * closes the result set and the statement.
+ */
+final class ResultSetStream {
+
+    /**
+     * Maps the current row of a result set
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private ResultSetStream() {
+    }
+
+    /**
+     * Execute the statement and stream its rows.
+     * The statement is closed if the query fails, otherwise when the stream is closed.
+     * @param ps Prepared statement with its parameters already bound
+     * @param mapper Row mapper
+     * @param errorMessage Message used when reading a row fails
+     * @return Stream that must be closed by the caller (try-with-resources)
+     * @throws SQLException if the query could not be executed
+     */
+    static <T> Stream<T> of(PreparedStatement ps, RowMapper<T> mapper, String errorMessage) throws SQLException {
+        ResultSet rs;
+        try {
+            rs = ps.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(ps, e);
+            throw e;
+        }
+
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(rs));
+                    return true;
+                } catch (SQLException e) {
+                    throw new UncheckedDataAccessException(errorMessage, e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            // Result set first, then the statement even if that failed
+            try {
+                rs.close();
+            } catch (SQLException e) {
+                closeQuietly(ps, e);
+                throw new UncheckedDataAccessException("Error closing streamed result set", e);
+            }
+            try {
+                ps.close();
+            } catch (SQLException e) {
+                throw new UncheckedDataAccessException("Error closing streamed result set", e);
+            }
+        });
+    }
+
+    /**
+     * Prepare a forward-only, read-only statement for streaming.
+     * With MySQL Connector/J a fetch size of Integer.MIN_VALUE streams rows one at a time;
+     * while such a stream is open no other statement may run on the same connection.
+     */
+    static PreparedStatement prepare(Connection connection, String sql, int fetchSize) throws SQLException {
+        PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            ps.setFetchSize(fetchSize);
+        } catch (SQLException e) {
+            closeQuietly(ps, e);
+            throw e;
+        }
+        return ps;
+    }
+
+    private static void closeQuietly(PreparedStatement ps, SQLException failure) {
+        try {
+            ps.close();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+}
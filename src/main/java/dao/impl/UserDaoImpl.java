@@ -1,5 +1,7 @@
 package dao.impl;
 
+import dao.Page;
+import dao.PageCursor;
 import dao.UserDao;
 import domain.User;
 import errors.DataAccessException;
@@ -136,6 +138,34 @@ public class UserDaoImpl implements UserDao {
         }
     }
 
+    @Override
+    public Page<User> findPage(PageCursor after, int limit) throws DataAccessException {
+        String sql = "SELECT * FROM users " +
+                     (after != null ? "WHERE (createdAt < ? OR (createdAt = ? AND id < ?)) " : "") +
+                     "ORDER BY createdAt DESC, id DESC LIMIT ?";
+        List<User> users = new ArrayList<>();
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (after != null) {
+                ps.setDate(index++, Date.valueOf(after.getCreatedAt()));
+                ps.setDate(index++, Date.valueOf(after.getCreatedAt()));
+                ps.setInt(index++, after.getLastKeyAsInt());
+            }
+            ps.setInt(index, limit + 1);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    users.add(mapResultSetToUser(rs));
+                }
+            }
+            
+            return Page.fromRows(users, limit, user -> new PageCursor(user.getCreatedAt(), String.valueOf(user.getId())));
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding page of users", e);
+        }
+    }
+
     /**
      * Helper method to map ResultSet to User object
      */
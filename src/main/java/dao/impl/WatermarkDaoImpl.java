@@ -0,0 +1,60 @@
+package dao.impl;
+
+import dao.WatermarkDao;
+import errors.DataAccessException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+public class WatermarkDaoImpl implements WatermarkDao {
+    private final Connection connection;
+
+    public WatermarkDaoImpl(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public LocalDateTime findWatermark(String target) throws DataAccessException {
+        String sql = "SELECT watermark FROM export_watermarks WHERE target = ?";
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, target);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getObject(1, LocalDateTime.class) : null;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding export watermark", e);
+        }
+    }
+
+    @Override
+    public void saveWatermark(String target, LocalDateTime watermark) throws DataAccessException {
+        String sql = "INSERT INTO export_watermarks (target, watermark) VALUES (?, ?) " +
+                     "ON DUPLICATE KEY UPDATE watermark = VALUES(watermark)";
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, target);
+            ps.setObject(2, watermark);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new DataAccessException("Error saving export watermark", e);
+        }
+    }
+
+    @Override
+    public LocalDateTime currentTime() throws DataAccessException {
+        String sql = "SELECT CURRENT_TIMESTAMP(6)";
+        
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return rs.getObject(1, LocalDateTime.class);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reading the database time", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package domain;
+
+/**
+ * Everything that decides whether a member can borrow a book, as read in one query:
+ * member status, book status and availability, and whether the member already holds the book
+ */
+public class CheckoutStatus {
+    private final Boolean memberActive;
+    private final Boolean bookActive;
+    private final int available;
+    private final boolean activeLoan;
+
+    /**
+     * @param memberActive Member's active flag, null if the member does not exist
+     * @param bookActive Book's active flag, null if the book does not exist
+     * @param available Copies available (0 if the book does not exist)
+     * @param activeLoan Whether the member has a BORROWED or OVERDUE loan of the book
+     */
+    public CheckoutStatus(Boolean memberActive, Boolean bookActive, int available, boolean activeLoan) {
+        this.memberActive = memberActive;
+        this.bookActive = bookActive;
+        this.available = available;
+        this.activeLoan = activeLoan;
+    }
+
+    public boolean isMemberFound() {
+        return memberActive != null;
+    }
+
+    public boolean isMemberActive() {
+        return Boolean.TRUE.equals(memberActive);
+    }
+
+    public boolean isBookFound() {
+        return bookActive != null;
+    }
+
+    public boolean isBookActive() {
+        return Boolean.TRUE.equals(bookActive);
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public boolean hasActiveLoan() {
+        return activeLoan;
+    }
+}
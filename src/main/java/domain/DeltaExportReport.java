@@ -0,0 +1,79 @@
+package domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a delta export: the rows changed and the keys deleted within (since, upTo] of the
+ * updatedAt and deletedAt columns. upTo becomes the watermark the next export of the same target starts from.
+ */
+public class DeltaExportReport {
+    private final String filePath;
+    private final String deletionsFilePath;
+    private final String target;
+    private final LocalDateTime since;
+    private final LocalDateTime upTo;
+    private final long rows;
+    private final long deletedRows;
+
+    public DeltaExportReport(String filePath, String deletionsFilePath, String target, LocalDateTime since,
+                             LocalDateTime upTo, long rows, long deletedRows) {
+        this.filePath = filePath;
+        this.deletionsFilePath = deletionsFilePath;
+        this.target = target;
+        this.since = since;
+        this.upTo = upTo;
+        this.rows = rows;
+        this.deletedRows = deletedRows;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public String getDeletionsFilePath() {
+        return deletionsFilePath;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * Previous watermark, or null for the first export of the target (every row)
+     */
+    public LocalDateTime getSince() {
+        return since;
+    }
+
+    public LocalDateTime getUpTo() {
+        return upTo;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Keys written to the deletions file
+     */
+    public long getDeletedRows() {
+        return deletedRows;
+    }
+
+    public boolean isFull() {
+        return since == null;
+    }
+
+    @Override
+    public String toString() {
+        return "DeltaExportReport{" +
+                "filePath='" + filePath + '\'' +
+                ", deletionsFilePath='" + deletionsFilePath + '\'' +
+                ", target='" + target + '\'' +
+                ", since=" + since +
+                ", upTo=" + upTo +
+                ", rows=" + rows +
+                ", deletedRows=" + deletedRows +
+                '}';
+    }
+}
@@ -0,0 +1,123 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a partitioned export: the file written and how long each partition took
+ */
+public class ExportReport {
+    private final String filePath;
+    private final List<Partition> partitions = new ArrayList<>();
+    private long mergeMillis;
+    private long totalMillis;
+
+    public ExportReport(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Partitions in file order
+     */
+    public List<Partition> getPartitions() {
+        return Collections.unmodifiableList(partitions);
+    }
+
+    public long getRows() {
+        long rows = 0;
+        for (Partition partition : partitions) {
+            rows += partition.getRows();
+        }
+        return rows;
+    }
+
+    /**
+     * Time spent concatenating the partition segments into the file
+     */
+    public long getMergeMillis() {
+        return mergeMillis;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void addPartition(Partition partition) {
+        partitions.add(partition);
+    }
+
+    public void setMergeMillis(long mergeMillis) {
+        this.mergeMillis = mergeMillis;
+    }
+
+    public void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportReport{" +
+                "filePath='" + filePath + '\'' +
+                ", rows=" + getRows() +
+                ", partitions=" + partitions.size() +
+                ", mergeMillis=" + mergeMillis +
+                ", totalMillis=" + totalMillis +
+                '}';
+    }
+
+    /**
+     * One id range read and encoded by its own worker
+     */
+    public static class Partition {
+        private final int index;
+        private final int fromId;
+        private final int toId;
+        private final long rows;
+        private final long bytes;
+        private final long millis;
+
+        public Partition(int index, int fromId, int toId, long rows, long bytes, long millis) {
+            this.index = index;
+            this.fromId = fromId;
+            this.toId = toId;
+            this.rows = rows;
+            this.bytes = bytes;
+            this.millis = millis;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getFromId() {
+            return fromId;
+        }
+
+        public int getToId() {
+            return toId;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Partition %d [%d-%d]: %d rows, %d bytes in %d ms",
+                    index, fromId, toId, rows, bytes, millis);
+        }
+    }
+}
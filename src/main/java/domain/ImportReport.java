@@ -0,0 +1,71 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a catalog import: how many rows were inserted, rejected as invalid
+ * or skipped because the ISBN already existed
+ */
+public class ImportReport {
+    /** Rejection details kept for the report; further rejections are only counted */
+    public static final int MAX_DETAILS = 100;
+
+    private int accepted;
+    private int rejected;
+    private int duplicates;
+    private final List<String> details = new ArrayList<>();
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public int getTotal() {
+        return accepted + rejected + duplicates;
+    }
+
+    /**
+     * First {@link #MAX_DETAILS} rejection and duplicate messages, with their line numbers
+     */
+    public List<String> getDetails() {
+        return Collections.unmodifiableList(details);
+    }
+
+    public void addAccepted(int count) {
+        accepted += count;
+    }
+
+    public void addRejected(long line, String reason) {
+        rejected++;
+        addDetail(String.format("Line %d: %s", line, reason));
+    }
+
+    public void addDuplicate(long line, String isbn) {
+        duplicates++;
+        addDetail(String.format("Line %d: ISBN %s already exists", line, isbn));
+    }
+
+    private void addDetail(String detail) {
+        if (details.size() < MAX_DETAILS) {
+            details.add(detail);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReport{" +
+                "accepted=" + accepted +
+                ", rejected=" + rejected +
+                ", duplicates=" + duplicates +
+                '}';
+    }
+}
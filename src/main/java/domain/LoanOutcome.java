@@ -0,0 +1,46 @@
+package domain;
+
+/**
+ * Result of one checkout of a bulk registration: the registered loan, or why it was rejected
+ */
+public class LoanOutcome {
+    private final LoanRequest request;
+    private final Loan loan;
+    private final String reason;
+
+    private LoanOutcome(LoanRequest request, Loan loan, String reason) {
+        this.request = request;
+        this.loan = loan;
+        this.reason = reason;
+    }
+
+    public static LoanOutcome registered(LoanRequest request, Loan loan) {
+        return new LoanOutcome(request, loan, null);
+    }
+
+    public static LoanOutcome rejected(LoanRequest request, String reason) {
+        return new LoanOutcome(request, null, reason);
+    }
+
+    public LoanRequest getRequest() {
+        return request;
+    }
+
+    public boolean isRegistered() {
+        return loan != null;
+    }
+
+    /**
+     * The registered loan, or null if the checkout was rejected
+     */
+    public Loan getLoan() {
+        return loan;
+    }
+
+    /**
+     * Why the checkout was rejected, or null if it was registered
+     */
+    public String getReason() {
+        return reason;
+    }
+}
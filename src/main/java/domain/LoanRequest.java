@@ -0,0 +1,30 @@
+package domain;
+
+/**
+ * One checkout of a bulk registration: a member and the book they take
+ */
+public class LoanRequest {
+    private final int memberId;
+    private final String isbn;
+
+    public LoanRequest(int memberId, String isbn) {
+        this.memberId = memberId;
+        this.isbn = isbn;
+    }
+
+    public int getMemberId() {
+        return memberId;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    @Override
+    public String toString() {
+        return "LoanRequest{" +
+                "memberId=" + memberId +
+                ", isbn='" + isbn + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package domain;
+
+/**
+ * Result of one return of a batch: the returned loan with its fine, or why it was rejected
+ */
+public class ReturnOutcome {
+    private final ReturnRequest request;
+    private final Loan loan;
+    private final String reason;
+
+    private ReturnOutcome(ReturnRequest request, Loan loan, String reason) {
+        this.request = request;
+        this.loan = loan;
+        this.reason = reason;
+    }
+
+    public static ReturnOutcome returned(ReturnRequest request, Loan loan) {
+        return new ReturnOutcome(request, loan, null);
+    }
+
+    public static ReturnOutcome rejected(ReturnRequest request, String reason) {
+        return new ReturnOutcome(request, null, reason);
+    }
+
+    public ReturnRequest getRequest() {
+        return request;
+    }
+
+    public boolean isReturned() {
+        return loan != null;
+    }
+
+    /**
+     * The returned loan (return date, status and fine set), or null if the return was rejected
+     */
+    public Loan getLoan() {
+        return loan;
+    }
+
+    /**
+     * Why the return was rejected, or null if it was processed
+     */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,50 @@
+package domain;
+
+/**
+ * One return of a batch: a loan ID, or the member and ISBN of an active loan (as scanned from the book drop)
+ */
+public class ReturnRequest {
+    private final Integer loanId;
+    private final int memberId;
+    private final String isbn;
+
+    private ReturnRequest(Integer loanId, int memberId, String isbn) {
+        this.loanId = loanId;
+        this.memberId = memberId;
+        this.isbn = isbn;
+    }
+
+    public static ReturnRequest ofLoan(int loanId) {
+        return new ReturnRequest(loanId, 0, null);
+    }
+
+    public static ReturnRequest ofMemberAndIsbn(int memberId, String isbn) {
+        return new ReturnRequest(null, memberId, isbn);
+    }
+
+    /**
+     * Whether the request names the loan by ID (otherwise by member and ISBN)
+     */
+    public boolean hasLoanId() {
+        return loanId != null;
+    }
+
+    public int getLoanId() {
+        return loanId;
+    }
+
+    public int getMemberId() {
+        return memberId;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    @Override
+    public String toString() {
+        return hasLoanId()
+                ? "ReturnRequest{loanId=" + loanId + '}'
+                : "ReturnRequest{memberId=" + memberId + ", isbn='" + isbn + "'}";
+    }
+}
@@ -0,0 +1,11 @@
+package errors;
+
+/**
+ * Database error raised while consuming a lazily-populated stream,
+ * where the checked {@link DataAccessException} cannot be thrown
+ */
+public class UncheckedDataAccessException extends RuntimeException {
+    public UncheckedDataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
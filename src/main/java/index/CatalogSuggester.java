@@ -0,0 +1,167 @@
+package index;
+
+import domain.Book;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Title and author autocompletion for the catalog, ranked by how often books were borrowed.
+ * A title weighs as much as its book's loans; an author weighs the loans of all their books.
+ * <p>
+ * The suggester remembers which title and author keys each book added, and its loan count, so that
+ * updates and removals can take exactly what the book added back out. It keeps handles to the trie
+ * keys rather than its own copies of the texts. This bookkeeping is charged against the memory
+ * budget too: a quarter of the budget goes to it and the rest is split evenly between the title
+ * and author tries. Books are refused once the bookkeeping share is spent.
+ */
+public class CatalogSuggester {
+    /** Map entry, table slot and Tracked object of one book, on top of its ISBN text */
+    private static final long BOOK_BYTES = 104;
+    private static final long STRING_BYTES = 56;
+
+    private final PrefixTrie titles;
+    private final PrefixTrie authors;
+    private final Map<String, Tracked> books = new HashMap<>();
+    private final long maxBookBytes;
+    private long bookBytes;
+
+    /**
+     * @param maxBytes Memory budget of both tries and the per-book bookkeeping together
+     */
+    public CatalogSuggester(long maxBytes) {
+        this.maxBookBytes = maxBytes / 4;
+        this.titles = new PrefixTrie((maxBytes - maxBookBytes) / 2);
+        this.authors = new PrefixTrie((maxBytes - maxBookBytes) / 2);
+    }
+
+    /**
+     * Replace the whole content
+     * @param catalog Every book in the catalog
+     * @param loanCounts Loans registered for each ISBN
+     * @return Number of books added
+     */
+    public synchronized int rebuild(Iterable<Book> catalog, Map<String, Integer> loanCounts) {
+        titles.clear();
+        authors.clear();
+        books.clear();
+        bookBytes = 0;
+        for (Book book : catalog) {
+            track(book, loanCounts.getOrDefault(book.getIsbn(), 0));
+        }
+        return books.size();
+    }
+
+    /**
+     * Add a book, replacing any previous version with the same ISBN and keeping its loan count
+     */
+    public synchronized void add(Book book) {
+        Tracked previous = books.remove(book.getIsbn());
+        int loans = 0;
+        if (previous != null) {
+            untrack(book.getIsbn(), previous);
+            loans = previous.loans;
+        }
+        track(book, loans);
+    }
+
+    /**
+     * Drop a book
+     * @return true if the book was present
+     */
+    public synchronized boolean remove(String isbn) {
+        Tracked previous = books.remove(isbn);
+        if (previous == null) {
+            return false;
+        }
+        untrack(isbn, previous);
+        return true;
+    }
+
+    /**
+     * Count one more loan of a book
+     */
+    public synchronized void recordLoan(String isbn) {
+        Tracked tracked = books.get(isbn);
+        if (tracked == null) {
+            return;
+        }
+        tracked.loans++;
+        if (tracked.title != null) {
+            titles.addWeight(tracked.title, 1);
+        }
+        if (tracked.author != null) {
+            authors.addWeight(tracked.author, 1);
+        }
+    }
+
+    /**
+     * Most borrowed titles starting with a prefix
+     */
+    public synchronized List<String> suggestTitles(String prefix, int limit) {
+        return titles.complete(prefix, limit);
+    }
+
+    /**
+     * Most borrowed authors starting with a prefix
+     */
+    public synchronized List<String> suggestAuthors(String prefix, int limit) {
+        return authors.complete(prefix, limit);
+    }
+
+    /**
+     * Number of books known to the suggester
+     */
+    public synchronized int size() {
+        return books.size();
+    }
+
+    /**
+     * Estimated bytes held by both tries and the per-book bookkeeping
+     */
+    public synchronized long usedBytes() {
+        return titles.usedBytes() + authors.usedBytes() + bookBytes;
+    }
+
+    private void track(Book book, int loans) {
+        long cost = bookCost(book.getIsbn());
+        if (bookBytes + cost > maxBookBytes) {
+            return;
+        }
+        bookBytes += cost;
+        // A key refused by the budget is remembered as such (null), so it is never removed from the other books' entry
+        PrefixTrie.Node title = titles.addEntry(book.getTitle(), loans);
+        PrefixTrie.Node author = authors.addEntry(book.getAuthor(), loans);
+        books.put(book.getIsbn(), new Tracked(title, author, loans));
+    }
+
+    private void untrack(String isbn, Tracked tracked) {
+        bookBytes -= bookCost(isbn);
+        if (tracked.title != null) {
+            titles.removeEntry(tracked.title, tracked.loans);
+        }
+        if (tracked.author != null) {
+            authors.removeEntry(tracked.author, tracked.loans);
+        }
+    }
+
+    private static long bookCost(String isbn) {
+        return BOOK_BYTES + STRING_BYTES + 2L * isbn.length();
+    }
+
+    /**
+     * What a book contributed to the tries: its title and author keys (null if refused by the budget)
+     */
+    private static final class Tracked {
+        final PrefixTrie.Node title;
+        final PrefixTrie.Node author;
+        int loans;
+
+        Tracked(PrefixTrie.Node title, PrefixTrie.Node author, int loans) {
+            this.title = title;
+            this.author = author;
+            this.loans = loans;
+        }
+    }
+}
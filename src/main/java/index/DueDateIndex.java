@@ -0,0 +1,126 @@
+package index;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Borrowed loans bucketed by due date (epoch day), so the loans that became overdue on a given day
+ * are found without scanning the loans table.
+ * <p>
+ * Each bucket holds the ids of the loans due that day. A loan leaves the index when it is returned,
+ * deleted or marked as overdue. Thread-safe: the overdue job and the services share one index.
+ */
+public class DueDateIndex {
+    private final NavigableMap<Long, LoanIds> buckets = new TreeMap<>();
+    private int size;
+
+    /**
+     * Replace the contents of the index
+     * @param dueDates Due date by loan id of every borrowed loan
+     */
+    public synchronized void rebuild(Map<Integer, LocalDate> dueDates) {
+        buckets.clear();
+        size = 0;
+        dueDates.forEach(this::add);
+    }
+
+    /**
+     * Add a borrowed loan
+     */
+    public synchronized void add(int loanId, LocalDate dueDate) {
+        buckets.computeIfAbsent(dueDate.toEpochDay(), day -> new LoanIds()).add(loanId);
+        size++;
+    }
+
+    /**
+     * Remove a loan (returned or deleted)
+     * @return false if the loan was not in the index
+     */
+    public synchronized boolean remove(int loanId, LocalDate dueDate) {
+        long day = dueDate.toEpochDay();
+        LoanIds ids = buckets.get(day);
+        if (ids == null || !ids.remove(loanId)) {
+            return false;
+        }
+        if (ids.size == 0) {
+            buckets.remove(day);
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Ids of the loans due before a date, that is overdue on that date
+     */
+    public synchronized int[] dueBefore(LocalDate date) {
+        NavigableMap<Long, LoanIds> due = buckets.headMap(date.toEpochDay(), false);
+        int count = 0;
+        for (LoanIds ids : due.values()) {
+            count += ids.size;
+        }
+        int[] result = new int[count];
+        int offset = 0;
+        for (LoanIds ids : due.values()) {
+            System.arraycopy(ids.ids, 0, result, offset, ids.size);
+            offset += ids.size;
+        }
+        return result;
+    }
+
+    /**
+     * Drop the buckets of the loans due before a date, once they have been marked as overdue
+     * @return Number of loans removed
+     */
+    public synchronized int removeDueBefore(LocalDate date) {
+        NavigableMap<Long, LoanIds> due = buckets.headMap(date.toEpochDay(), false);
+        int removed = 0;
+        for (LoanIds ids : due.values()) {
+            removed += ids.size;
+        }
+        due.clear();
+        size -= removed;
+        return removed;
+    }
+
+    /**
+     * Earliest due date in the index, or null if it is empty
+     */
+    public synchronized LocalDate nextDueDate() {
+        return buckets.isEmpty() ? null : LocalDate.ofEpochDay(buckets.firstKey());
+    }
+
+    /**
+     * Number of loans in the index
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Unordered, growable list of the loan ids due on one day
+     */
+    private static final class LoanIds {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int loanId) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = loanId;
+        }
+
+        boolean remove(int loanId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == loanId) {
+                    ids[i] = ids[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
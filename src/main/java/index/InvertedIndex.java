@@ -0,0 +1,392 @@
+package index;
+
+import domain.Book;
+import util.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over book titles and authors.
+ * Tokens are folded with {@link TextNormalizer}, so searches ignore case and accents.
+ * <p>
+ * Query syntax: terms are ANDed ("garcia soledad"), the keyword OR separates alternatives
+ * ("tolkien OR lewis"), and a trailing * makes a term a prefix ("hist*").
+ * Results are ranked by the sum of idf-weighted matches, title matches counting double.
+ * <p>
+ * {@link #fuzzySearch} tolerates typos instead: each query word also matches the indexed words
+ * within one or two edits of it, found through a {@link TrigramIndex} over the vocabulary.
+ * <p>
+ * Removed books leave dead postings behind; the index compacts itself once they outnumber
+ * the live ones. Reads and writes are guarded by a read/write lock.
+ */
+public class InvertedIndex {
+    private static final int TITLE_WEIGHT = 2;
+    private static final int AUTHOR_WEIGHT = 1;
+    private static final int MAX_PREFIX_EXPANSIONS = 2_000;
+    private static final int MIN_DEAD_DOCS_BEFORE_COMPACT = 1_024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TreeMap<String, Postings> terms = new TreeMap<>();
+    private TrigramIndex vocabulary = new TrigramIndex();
+    private List<Document> documents = new ArrayList<>();
+    private Map<String, Integer> docIdByIsbn = new HashMap<>();
+    private int deadDocuments;
+
+    /**
+     * Replace the whole index content
+     * @param books Every book in the catalog
+     * @return Number of indexed books
+     */
+    public int rebuild(Iterable<Book> books) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Book book : books) {
+                addLocked(book);
+            }
+            return docIdByIsbn.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Index a book, replacing any previous version with the same ISBN
+     */
+    public void add(Book book) {
+        lock.writeLock().lock();
+        try {
+            addLocked(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a book from the index
+     * @return true if the book was indexed
+     */
+    public boolean remove(String isbn) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeLocked(isbn);
+            if (removed && deadDocuments >= MIN_DEAD_DOCS_BEFORE_COMPACT && deadDocuments > docIdByIsbn.size()) {
+                compact();
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed books
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdByIsbn.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search titles and authors
+     * @param query Query text (see class comment for the syntax)
+     * @param limit Maximum number of hits
+     * @return Hits ordered by descending score, then ISBN
+     */
+    public List<SearchHit> search(String query, int limit) {
+        List<List<QueryTerm>> clauses = parse(query);
+        if (clauses.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = new HashMap<>();
+            for (List<QueryTerm> clause : clauses) {
+                Map<Integer, Double> matches = matchAll(clause);
+                matches.forEach((docId, score) -> scores.merge(docId, score, Double::sum));
+            }
+            return topHits(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search titles and authors tolerating typos.
+     * Every query word must match, exactly or within a few edits (one for words of 4 to 7 letters,
+     * two from 8 letters on); closer matches score higher. No OR or * syntax.
+     * @param query Words to search for
+     * @param limit Maximum number of hits
+     * @param budgetMs Time after which no more candidate words are checked; the hits found so far are returned
+     * @return Hits ordered by descending score, then ISBN
+     */
+    public List<SearchHit> fuzzySearch(String query, int limit, long budgetMs) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        long deadline = System.nanoTime() + budgetMs * 1_000_000L;
+
+        lock.readLock().lock();
+        try {
+            List<Map<Integer, Double>> perWord = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                Map<Integer, Double> matches = new HashMap<>();
+                for (TrigramIndex.Match match : vocabulary.lookup(token, maxEdits(token), deadline)) {
+                    collect(terms.get(match.word), 1.0 / (1 + match.distance), matches);
+                }
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+                perWord.add(matches);
+            }
+            return topHits(intersect(perWord), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Typos tolerated in a query word of the given length
+     */
+    static int maxEdits(String word) {
+        if (word.length() < 4) {
+            return 0;
+        }
+        return word.length() < 8 ? 1 : 2;
+    }
+
+    private void clear() {
+        terms = new TreeMap<>();
+        vocabulary = new TrigramIndex();
+        documents = new ArrayList<>();
+        docIdByIsbn = new HashMap<>();
+        deadDocuments = 0;
+    }
+
+    private void addLocked(Book book) {
+        removeLocked(book.getIsbn());
+
+        Map<String, Integer> weights = new HashMap<>();
+        for (String token : TextNormalizer.tokenize(book.getTitle())) {
+            weights.merge(token, TITLE_WEIGHT, Math::max);
+        }
+        for (String token : TextNormalizer.tokenize(book.getAuthor())) {
+            weights.merge(token, AUTHOR_WEIGHT, (current, author) -> current == TITLE_WEIGHT ? TITLE_WEIGHT + AUTHOR_WEIGHT : current);
+        }
+
+        int docId = documents.size();
+        documents.add(new Document(book.getIsbn(), weights));
+        docIdByIsbn.put(book.getIsbn(), docId);
+        // Doc ids only grow, so appending keeps every posting list sorted
+        weights.forEach((token, weight) -> postingsFor(token).append(docId, weight));
+    }
+
+    private boolean removeLocked(String isbn) {
+        Integer docId = docIdByIsbn.remove(isbn);
+        if (docId == null) {
+            return false;
+        }
+        documents.set(docId, null);
+        deadDocuments++;
+        return true;
+    }
+
+    private Postings postingsFor(String token) {
+        return terms.computeIfAbsent(token, t -> {
+            vocabulary.add(t);
+            return new Postings();
+        });
+    }
+
+    /**
+     * Rebuild postings from the live documents, dropping dead entries and renumbering doc ids
+     */
+    private void compact() {
+        List<Document> live = new ArrayList<>(docIdByIsbn.size());
+        for (Document document : documents) {
+            if (document != null) {
+                live.add(document);
+            }
+        }
+        clear();
+        for (Document document : live) {
+            int docId = documents.size();
+            documents.add(document);
+            docIdByIsbn.put(document.isbn, docId);
+            document.weights.forEach((token, weight) -> postingsFor(token).append(docId, weight));
+        }
+    }
+
+    /**
+     * Documents matching every term of a clause, with their summed scores
+     */
+    private Map<Integer, Double> matchAll(List<QueryTerm> clause) {
+        List<Map<Integer, Double>> perTerm = new ArrayList<>(clause.size());
+        for (QueryTerm term : clause) {
+            Map<Integer, Double> matches = match(term);
+            if (matches.isEmpty()) {
+                return Map.of();
+            }
+            perTerm.add(matches);
+        }
+        return intersect(perTerm);
+    }
+
+    /**
+     * Documents present in every map, with their scores summed
+     */
+    private Map<Integer, Double> intersect(List<Map<Integer, Double>> perTerm) {
+        perTerm.sort(Comparator.comparingInt(Map::size));
+
+        Map<Integer, Double> result = new HashMap<>(perTerm.get(0));
+        for (int i = 1; i < perTerm.size() && !result.isEmpty(); i++) {
+            Map<Integer, Double> other = perTerm.get(i);
+            result.entrySet().removeIf(entry -> {
+                Double score = other.get(entry.getKey());
+                if (score == null) {
+                    return true;
+                }
+                entry.setValue(entry.getValue() + score);
+                return false;
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Live documents containing a term (or any term starting with a prefix)
+     */
+    private Map<Integer, Double> match(QueryTerm term) {
+        Map<Integer, Double> matches = new HashMap<>();
+        if (term.prefix) {
+            SortedMap<String, Postings> expansions = terms.subMap(term.text, term.text + Character.MAX_VALUE);
+            int expanded = 0;
+            for (Postings postings : expansions.values()) {
+                if (++expanded > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                collect(postings, 1.0, matches);
+            }
+        } else {
+            Postings postings = terms.get(term.text);
+            if (postings != null) {
+                collect(postings, 1.0, matches);
+            }
+        }
+        return matches;
+    }
+
+    private void collect(Postings postings, double factor, Map<Integer, Double> matches) {
+        double idf = factor * Math.log(1.0 + (double) docIdByIsbn.size() / Math.max(1, postings.size));
+        for (int i = 0; i < postings.size; i++) {
+            int docId = postings.docIds[i];
+            if (documents.get(docId) != null) {
+                matches.merge(docId, postings.weights[i] * idf, Math::max);
+            }
+        }
+    }
+
+    private List<SearchHit> topHits(Map<Integer, Double> scores, int limit) {
+        Comparator<SearchHit> ranking = Comparator.comparingDouble(SearchHit::getScore).reversed()
+                .thenComparing(SearchHit::getIsbn);
+        PriorityQueue<SearchHit> best = new PriorityQueue<>(ranking.reversed());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            best.add(new SearchHit(documents.get(entry.getKey()).isbn, entry.getValue()));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(best);
+        hits.sort(ranking);
+        return hits;
+    }
+
+    /**
+     * Split a query into OR-separated clauses of ANDed terms
+     */
+    static List<List<QueryTerm>> parse(String query) {
+        List<List<QueryTerm>> clauses = new ArrayList<>();
+        if (query == null || query.isBlank()) {
+            return clauses;
+        }
+        List<QueryTerm> clause = new ArrayList<>();
+        for (String word : query.trim().split("\\s+")) {
+            if (word.equals("OR")) {
+                if (!clause.isEmpty()) {
+                    clauses.add(clause);
+                    clause = new ArrayList<>();
+                }
+                continue;
+            }
+            if (word.equals("AND")) {
+                continue;
+            }
+            boolean prefix = word.endsWith("*");
+            List<String> tokens = TextNormalizer.tokenize(word);
+            for (int i = 0; i < tokens.size(); i++) {
+                clause.add(new QueryTerm(tokens.get(i), prefix && i == tokens.size() - 1));
+            }
+        }
+        if (!clause.isEmpty()) {
+            clauses.add(clause);
+        }
+        return clauses;
+    }
+
+    static final class QueryTerm {
+        final String text;
+        final boolean prefix;
+
+        QueryTerm(String text, boolean prefix) {
+            this.text = text;
+            this.prefix = prefix;
+        }
+    }
+
+    /**
+     * Indexed book: ISBN plus the weight of each of its tokens
+     */
+    private static final class Document {
+        final String isbn;
+        final Map<String, Integer> weights;
+
+        Document(String isbn, Map<String, Integer> weights) {
+            this.isbn = isbn;
+            this.weights = weights;
+        }
+    }
+
+    /**
+     * Growable posting list: doc ids in ascending order with the token weight in each
+     */
+    private static final class Postings {
+        int[] docIds = new int[4];
+        int[] weights = new int[4];
+        int size;
+
+        void append(int docId, int weight) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docIds[size] = docId;
+            weights[size] = weight;
+            size++;
+        }
+    }
+}
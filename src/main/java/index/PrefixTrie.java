@@ -0,0 +1,463 @@
+package index;
+
+import util.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed prefix trie (radix tree) for autocompletion.
+ * Keys are folded with {@link TextNormalizer}; each key keeps the text it was first added with,
+ * a weight and a reference count, so several books can share one author entry.
+ * <p>
+ * Every node remembers the best weight found below it, which lets {@link #complete} return the
+ * top-K completions of a prefix with a best-first walk instead of visiting the whole subtree.
+ * <p>
+ * Memory is bounded: each entry is charged a conservative estimate of what it costs (a radix tree
+ * never has more than two nodes per key, and the labels never hold more characters than the keys),
+ * and new keys are refused once the budget is spent. Reads and writes are guarded by a read/write lock.
+ */
+public class PrefixTrie {
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long NODE_BYTES = 96;
+    private static final long STRING_BYTES = 56;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long maxBytes;
+    private Node root = new Node(new char[0]);
+    private int entries;
+    private long usedBytes;
+
+    /**
+     * @param maxBytes Memory budget; keys that would exceed it are not added
+     */
+    public PrefixTrie(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Add a key, or add weight and a reference to it if it is already present
+     * @param text Text to complete to (folded to build the key)
+     * @param weight Ranking weight
+     * @return false if the text is blank or the key is new and does not fit in the budget
+     */
+    public boolean add(String text, long weight) {
+        return addEntry(text, weight) != null;
+    }
+
+    /**
+     * Same as {@link #add}, returning the key's node so the caller can hold on to the key without
+     * keeping its own copy of the text. The node stays the same for as long as the key is present.
+     * @return The key's node, or null if the key was not added
+     */
+    Node addEntry(String text, long weight) {
+        String key = TextNormalizer.normalize(text);
+        if (key.isEmpty()) {
+            return null;
+        }
+        lock.writeLock().lock();
+        try {
+            Node existing = find(key);
+            if (existing == null || existing.display == null) {
+                long cost = cost(key, text);
+                if (usedBytes + cost > maxBytes) {
+                    return null;
+                }
+                usedBytes += cost;
+                entries++;
+            }
+            insert(root, key.toCharArray(), 0, text, weight);
+            return find(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@link #remove} for a node returned by {@link #addEntry}; the key is rebuilt from the node's display text
+     */
+    void removeEntry(Node entry, long weight) {
+        remove(entry.display, weight);
+    }
+
+    /**
+     * {@link #addWeight} for a node returned by {@link #addEntry}
+     */
+    void addWeight(Node entry, long delta) {
+        addWeight(entry.display, delta);
+    }
+
+    /**
+     * Drop one reference to a key along with the weight it brought; the key goes away with its last reference
+     * @param text Text previously passed to {@link #add}
+     * @param weight Weight added with that reference
+     * @return true if the key was present
+     */
+    public boolean remove(String text, long weight) {
+        String key = TextNormalizer.normalize(text);
+        if (key.isEmpty()) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null || node.display == null) {
+                return false;
+            }
+            if (node.count == 1) {
+                usedBytes -= cost(key, node.display);
+                entries--;
+            }
+            delete(root, key.toCharArray(), 0, weight);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Change the weight of a key without touching its references
+     * @return true if the key was present
+     */
+    public boolean addWeight(String text, long delta) {
+        String key = TextNormalizer.normalize(text);
+        if (key.isEmpty()) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null || node.display == null) {
+                return false;
+            }
+            reweigh(root, key.toCharArray(), 0, delta);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best completions of a prefix
+     * @param prefix Typed text (folded like the keys)
+     * @param limit Maximum number of completions
+     * @return Texts ordered by descending weight
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = TextNormalizer.normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node start = descend(key);
+            if (start == null) {
+                return List.of();
+            }
+
+            // Nodes are queued by the best weight below them; a queued entry is final once it reaches the head
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(Candidate.ORDER);
+            queue.add(new Candidate(start, null, start.best));
+            List<String> completions = new ArrayList<>(limit);
+            while (!queue.isEmpty() && completions.size() < limit) {
+                Candidate candidate = queue.poll();
+                if (candidate.node == null) {
+                    completions.add(candidate.display);
+                    continue;
+                }
+                Node node = candidate.node;
+                if (node.display != null) {
+                    queue.add(new Candidate(null, node.display, node.weight));
+                }
+                for (Node child : node.children) {
+                    queue.add(new Candidate(child, null, child.best));
+                }
+            }
+            return completions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of keys
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimated bytes held by the keys
+     */
+    public long usedBytes() {
+        lock.readLock().lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove every key
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = new Node(new char[0]);
+            entries = 0;
+            usedBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Upper bound of what one key costs: two nodes, its characters as labels and the display text
+     */
+    private static long cost(String key, String display) {
+        return 2 * NODE_BYTES + 2L * key.length() + STRING_BYTES + 2L * display.length();
+    }
+
+    /**
+     * Node whose path spells exactly the key, or null
+     */
+    private Node find(String key) {
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.child(key.charAt(offset));
+            if (child == null || !child.labelMatches(key, offset)) {
+                return null;
+            }
+            offset += child.label.length;
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * Topmost node whose subtree holds every key starting with the prefix, or null.
+     * The prefix may end in the middle of that node's label.
+     */
+    private Node descend(String prefix) {
+        char[] chars = prefix.toCharArray();
+        Node node = root;
+        int offset = 0;
+        while (offset < chars.length) {
+            Node child = node.child(chars[offset]);
+            if (child == null) {
+                return null;
+            }
+            int common = child.commonPrefix(chars, offset);
+            if (offset + common == chars.length) {
+                return child;
+            }
+            if (common < child.label.length) {
+                return null;
+            }
+            offset += common;
+            node = child;
+        }
+        return node;
+    }
+
+    private void insert(Node node, char[] key, int offset, String display, long weight) {
+        if (offset == key.length) {
+            if (node.display == null) {
+                node.display = display;
+            }
+            node.count++;
+            node.weight += weight;
+            node.updateBest();
+            return;
+        }
+
+        int index = node.indexOf(key[offset]);
+        if (index < 0) {
+            Node leaf = new Node(Arrays.copyOfRange(key, offset, key.length));
+            leaf.display = display;
+            leaf.count = 1;
+            leaf.weight = weight;
+            leaf.best = weight;
+            node.insertChild(-index - 1, leaf);
+            node.updateBest();
+            return;
+        }
+
+        Node child = node.children[index];
+        int common = child.commonPrefix(key, offset);
+        if (common < child.label.length) {
+            // Split the edge: a new node takes the shared part and the old child keeps the rest
+            Node middle = new Node(Arrays.copyOf(child.label, common));
+            child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+            middle.children = new Node[] {child};
+            node.children[index] = middle;
+            child = middle;
+        }
+        insert(child, key, offset + common, display, weight);
+        node.updateBest();
+    }
+
+    private void delete(Node node, char[] key, int offset, long weight) {
+        if (offset == key.length) {
+            node.weight -= weight;
+            if (--node.count == 0) {
+                node.display = null;
+                node.weight = 0;
+            }
+            node.updateBest();
+            return;
+        }
+
+        int index = node.indexOf(key[offset]);
+        Node child = node.children[index];
+        delete(child, key, offset + child.label.length, weight);
+
+        if (child.display == null) {
+            if (child.children.length == 0) {
+                node.removeChild(index);
+            } else if (child.children.length == 1) {
+                // Merge a pass-through node into its only child to keep the tree compressed
+                Node grandchild = child.children[0];
+                char[] merged = Arrays.copyOf(child.label, child.label.length + grandchild.label.length);
+                System.arraycopy(grandchild.label, 0, merged, child.label.length, grandchild.label.length);
+                grandchild.label = merged;
+                node.children[index] = grandchild;
+            }
+        }
+        node.updateBest();
+    }
+
+    private void reweigh(Node node, char[] key, int offset, long delta) {
+        if (offset == key.length) {
+            node.weight += delta;
+        } else {
+            Node child = node.children[node.indexOf(key[offset])];
+            reweigh(child, key, offset + child.label.length, delta);
+        }
+        node.updateBest();
+    }
+
+    /**
+     * Trie node: edge label, children sorted by the first character of their label
+     * and, for nodes that end a key, the key's display text, references and weight.
+     * Only handed out of the trie as an opaque handle to a key (see {@link #addEntry}).
+     */
+    static final class Node {
+        char[] label;
+        Node[] children = NO_CHILDREN;
+        String display;
+        int count;
+        long weight;
+        long best = Long.MIN_VALUE;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        /**
+         * Position of the child starting with c, or (-(insertion point) - 1)
+         */
+        int indexOf(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char first = children[mid].label[0];
+                if (first < c) {
+                    low = mid + 1;
+                } else if (first > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        Node child(char c) {
+            int index = indexOf(c);
+            return index < 0 ? null : children[index];
+        }
+
+        void insertChild(int position, Node child) {
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, position);
+            grown[position] = child;
+            System.arraycopy(children, position, grown, position + 1, children.length - position);
+            children = grown;
+        }
+
+        void removeChild(int position) {
+            if (children.length == 1) {
+                children = NO_CHILDREN;
+                return;
+            }
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, position);
+            System.arraycopy(children, position + 1, shrunk, position, children.length - position - 1);
+            children = shrunk;
+        }
+
+        /**
+         * Length of the common prefix of this label and key[offset..]
+         */
+        int commonPrefix(char[] key, int offset) {
+            int max = Math.min(label.length, key.length - offset);
+            int i = 0;
+            while (i < max && label[i] == key[offset + i]) {
+                i++;
+            }
+            return i;
+        }
+
+        boolean labelMatches(String key, int offset) {
+            if (offset + label.length > key.length()) {
+                return false;
+            }
+            for (int i = 0; i < label.length; i++) {
+                if (label[i] != key.charAt(offset + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void updateBest() {
+            long max = display != null ? weight : Long.MIN_VALUE;
+            for (Node child : children) {
+                max = Math.max(max, child.best);
+            }
+            best = max;
+        }
+    }
+
+    /**
+     * Queue entry of the top-K walk: either a subtree (node set) or a finished completion (display set)
+     */
+    private static final class Candidate {
+        static final Comparator<Candidate> ORDER = Comparator.comparingLong((Candidate c) -> c.weight).reversed()
+                .thenComparing(c -> c.node == null ? 0 : 1)
+                .thenComparing(c -> c.display != null ? c.display : "");
+
+        final Node node;
+        final String display;
+        final long weight;
+
+        Candidate(Node node, String display, long weight) {
+            this.node = node;
+            this.display = display;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package index;
+
+/**
+ * A book matched by a catalog search, with its relevance score (higher is better)
+ */
+public class SearchHit {
+    private final String isbn;
+    private final double score;
+
+    public SearchHit(String isbn, double score) {
+        this.isbn = isbn;
+        this.score = score;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHit{" +
+                "isbn='" + isbn + '\'' +
+                ", score=" + score +
+                '}';
+    }
+}
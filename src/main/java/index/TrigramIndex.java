@@ -0,0 +1,226 @@
+package index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Trigram index over a vocabulary of normalized words, used to find the words within a few
+ * typos of a query word.
+ * <p>
+ * Words are padded ("$$garcia$") and split into overlapping trigrams, each with a posting list of word ids.
+ * Candidates are the words sharing enough trigrams with the query to be within the allowed edits
+ * (one edit changes at most four trigrams); the best candidates are then checked with an optimal
+ * string alignment distance, so a swapped pair of letters counts as one typo.
+ * <p>
+ * The vocabulary only grows; the owner rebuilds the index when it compacts.
+ * Not thread-safe: {@link InvertedIndex} calls it under its own lock.
+ */
+final class TrigramIndex {
+    private static final char PAD = '$';
+    private static final int MAX_VERIFIED_CANDIDATES = 256;
+    /** Posting ids scanned between two looks at the deadline */
+    private static final int DEADLINE_CHECK_INTERVAL = 4096;
+
+    private final List<String> words = new ArrayList<>();
+    private final Map<Long, WordIds> postings = new HashMap<>();
+
+    /**
+     * Add a word to the vocabulary; the caller makes sure each word is added once
+     */
+    void add(String word) {
+        int wordId = words.size();
+        words.add(word);
+        for (long trigram : trigrams(word)) {
+            postings.computeIfAbsent(trigram, t -> new WordIds()).append(wordId);
+        }
+    }
+
+    /**
+     * Number of words in the vocabulary
+     */
+    int size() {
+        return words.size();
+    }
+
+    /**
+     * Vocabulary words within maxEdits typos of a word
+     * @param word Normalized query word
+     * @param maxEdits Maximum distance (insertions, deletions, substitutions, adjacent swaps)
+     * @param deadlineNanos System.nanoTime() after which posting lists stop being scanned and candidates checked
+     * @return Matches, closest first (only those found before the deadline)
+     */
+    List<Match> lookup(String word, int maxEdits, long deadlineNanos) {
+        long[] queryTrigrams = distinct(trigrams(word));
+        // An edit changes at most three of the query's trigrams, a swap of adjacent letters four
+        int required = Math.max(1, queryTrigrams.length - 4 * maxEdits);
+
+        WordIds[] lists = new WordIds[queryTrigrams.length];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.getOrDefault(queryTrigrams[i], WordIds.EMPTY);
+        }
+        Arrays.sort(lists, Comparator.comparingInt((WordIds ids) -> ids.size));
+
+        // A word sharing `required` trigrams appears in at least one of the (lists - required + 1)
+        // shortest lists, so only those are scanned; the long lists are binary-searched per candidate
+        int scanned = lists.length - required + 1;
+        // Shared-trigram counts keyed by wordId + 1 (key 0 marks empty slots), and the ids in first-seen order
+        LongIntHashMap shared = new LongIntHashMap(64, 0);
+        WordIds seen = new WordIds();
+        int untilCheck = DEADLINE_CHECK_INTERVAL;
+        scan:
+        for (int i = 0; i < scanned; i++) {
+            WordIds ids = lists[i];
+            for (int j = 0; j < ids.size; j++) {
+                if (--untilCheck == 0) {
+                    if (System.nanoTime() > deadlineNanos) {
+                        break scan;
+                    }
+                    untilCheck = DEADLINE_CHECK_INTERVAL;
+                }
+                int wordId = ids.ids[j];
+                if (Math.abs(words.get(wordId).length() - word.length()) <= maxEdits) {
+                    int count = shared.put(wordId + 1L, shared.get(wordId + 1L) + 1);
+                    if (count == 0) {
+                        seen.add(wordId);
+                    }
+                }
+            }
+        }
+
+        // Keep the candidates that pass the shared-trigram filter, most shared first
+        PriorityQueue<int[]> best = new PriorityQueue<>(Comparator.comparingInt((int[] c) -> c[1]));
+        for (int k = 0; k < seen.size; k++) {
+            if (System.nanoTime() > deadlineNanos) {
+                break;
+            }
+            int wordId = seen.ids[k];
+            int count = shared.get(wordId + 1L);
+            for (int i = scanned; i < lists.length; i++) {
+                if (Arrays.binarySearch(lists[i].ids, 0, lists[i].size, wordId) >= 0) {
+                    count++;
+                }
+            }
+            if (count < required) {
+                continue;
+            }
+            best.add(new int[] {wordId, count});
+            if (best.size() > MAX_VERIFIED_CANDIDATES) {
+                best.poll();
+            }
+        }
+        int[][] candidates = best.toArray(new int[0][]);
+        Arrays.sort(candidates, Comparator.comparingInt((int[] c) -> c[1]).reversed());
+
+        List<Match> matches = new ArrayList<>();
+        for (int[] candidate : candidates) {
+            if (System.nanoTime() > deadlineNanos) {
+                break;
+            }
+            String text = words.get(candidate[0]);
+            int distance = distance(word, text, maxEdits);
+            if (distance <= maxEdits) {
+                matches.add(new Match(text, distance));
+            }
+        }
+        matches.sort(Comparator.comparingInt((Match m) -> m.distance).thenComparing(m -> m.word));
+        return matches;
+    }
+
+    /**
+     * Optimal string alignment distance, giving up as soon as it must exceed max
+     * @return The distance, or max + 1 if it is greater than max
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] twoBack = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, twoBack[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    /**
+     * Trigrams of the padded word, three chars packed in a long
+     */
+    static long[] trigrams(String word) {
+        String padded = "" + PAD + PAD + word + PAD;
+        long[] trigrams = new long[padded.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        return trigrams;
+    }
+
+    private static long[] distinct(long[] values) {
+        return Arrays.stream(values).distinct().toArray();
+    }
+
+    /**
+     * Growable list of word ids; posting lists are kept in ascending order, each id at most once
+     */
+    private static final class WordIds {
+        static final WordIds EMPTY = new WordIds();
+
+        int[] ids = new int[2];
+        int size;
+
+        void append(int wordId) {
+            if (size > 0 && ids[size - 1] == wordId) {
+                return; // Trigram repeated inside the word
+            }
+            add(wordId);
+        }
+
+        /**
+         * Append without the ascending-order check
+         */
+        void add(int wordId) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = wordId;
+        }
+    }
+
+    /**
+     * Vocabulary word and its distance to the query word
+     */
+    static final class Match {
+        final String word;
+        final int distance;
+
+        Match(String word, int distance) {
+            this.word = word;
+            this.distance = distance;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package jobs;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Five-field cron schedule: minute (0-59), hour (0-23), day of month (1-31), month (1-12)
+ * and day of week (0-7, 0 and 7 are Sunday).
+ * <p>
+ * Each field is "*", a value, a range "a-b" or a comma-separated list of them, any of which may
+ * have a step ("*&#47;15", "8-18/2"). As in classic cron, when both day fields are restricted a day
+ * matches if either does. Times are local to the zone of the time passed to {@link #next}.
+ */
+public final class CronSchedule implements Schedule {
+    /**
+     * Search horizon: long enough for "29 Feb" on a Monday
+     */
+    private static final int MAX_DAYS = 366 * 28;
+
+    private final String expression;
+    private final long minutes;
+    private final long hours;
+    private final long daysOfMonth;
+    private final long months;
+    private final long daysOfWeek;
+    private final boolean anyDayOfMonth;
+    private final boolean anyDayOfWeek;
+
+    private CronSchedule(String expression, String[] fields) {
+        this.expression = expression;
+        this.minutes = parseField(fields[0], 0, 59);
+        this.hours = parseField(fields[1], 0, 23);
+        this.daysOfMonth = parseField(fields[2], 1, 31);
+        this.months = parseField(fields[3], 1, 12);
+        long dow = parseField(fields[4], 0, 7);
+        // 7 is another name for Sunday
+        this.daysOfWeek = (dow & (1L << 7)) != 0 ? (dow | 1L) & ~(1L << 7) : dow;
+        this.anyDayOfMonth = fields[2].startsWith("*");
+        this.anyDayOfWeek = fields[4].startsWith("*");
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is not a valid five-field cron expression
+     */
+    public static CronSchedule parse(String expression) {
+        String[] fields = expression == null ? new String[0] : expression.trim().split("\\s+");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Cron expression must have 5 fields: " + expression);
+        }
+        return new CronSchedule(expression.trim(), fields);
+    }
+
+    @Override
+    public ZonedDateTime next(ZonedDateTime after) {
+        ZonedDateTime start = after.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        LocalDate date = start.toLocalDate();
+        LocalTime from = start.toLocalTime();
+        for (int day = 0; day < MAX_DAYS; day++) {
+            if (matches(date)) {
+                LocalTime time = firstTime(from);
+                if (time != null) {
+                    ZonedDateTime candidate = ZonedDateTime.of(date, time, after.getZone());
+                    if (candidate.isAfter(after)) {
+                        return candidate;
+                    }
+                }
+            }
+            date = date.plusDays(1);
+            from = LocalTime.MIDNIGHT;
+        }
+        throw new IllegalStateException("Cron expression never matches: " + expression);
+    }
+
+    private boolean matches(LocalDate date) {
+        if (!isSet(months, date.getMonthValue())) {
+            return false;
+        }
+        boolean dayOfMonth = isSet(daysOfMonth, date.getDayOfMonth());
+        boolean dayOfWeek = isSet(daysOfWeek, date.getDayOfWeek().getValue() % 7);
+        if (anyDayOfMonth || anyDayOfWeek) {
+            return dayOfMonth && dayOfWeek;
+        }
+        return dayOfMonth || dayOfWeek;
+    }
+
+    /**
+     * First matching time of day at or after from, or null if none is left that day
+     */
+    private LocalTime firstTime(LocalTime from) {
+        for (int hour = from.getHour(); hour < 24; hour++) {
+            if (!isSet(hours, hour)) {
+                continue;
+            }
+            for (int minute = hour == from.getHour() ? from.getMinute() : 0; minute < 60; minute++) {
+                if (isSet(minutes, minute)) {
+                    return LocalTime.of(hour, minute);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isSet(long bits, int value) {
+        return (bits & (1L << value)) != 0;
+    }
+
+    /**
+     * Bit set of the values matched by one field
+     */
+    private static long parseField(String field, int min, int max) {
+        long bits = 0;
+        for (String part : field.split(",")) {
+            int step = 1;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = parseValue(part.substring(slash + 1), 1, max - min + 1, field);
+                part = part.substring(0, slash);
+            }
+            int low;
+            int high;
+            if (part.equals("*")) {
+                low = min;
+                high = max;
+            } else {
+                int dash = part.indexOf('-');
+                low = parseValue(dash >= 0 ? part.substring(0, dash) : part, min, max, field);
+                high = dash >= 0 ? parseValue(part.substring(dash + 1), min, max, field) : (slash >= 0 ? max : low);
+                if (high < low) {
+                    throw new IllegalArgumentException("Invalid range in cron field: " + field);
+                }
+            }
+            for (int value = low; value <= high; value += step) {
+                bits |= 1L << value;
+            }
+        }
+        return bits;
+    }
+
+    private static int parseValue(String text, int min, int max, String field) {
+        try {
+            int value = Integer.parseInt(text);
+            if (value >= min && value <= max) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid value '" + text + "' in cron field: " + field);
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,224 @@
+package jobs;
+
+import util.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs housekeeping jobs in the background, off the interactive thread.
+ * <p>
+ * One platform timer thread only keeps time; each run gets its own virtual thread, so a slow job
+ * (waiting on the database, say) never delays the others. A job never overlaps itself: a trigger
+ * that arrives while the previous run is still going is skipped and counted. Every planned run can
+ * be delayed by a random jitter so jobs with the same schedule do not hit the database together.
+ * A job can also ask for a failed run to be retried after a short delay instead of waiting for its
+ * next planned run.
+ */
+public class JobScheduler {
+    private final Clock clock;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService workers;
+    private final Map<String, Job> jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile boolean running = true;
+
+    public JobScheduler() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param clock Clock (and time zone) used to plan the runs
+     */
+    public JobScheduler(Clock clock) {
+        this.clock = clock;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("job-", 0).factory());
+    }
+
+    /**
+     * Schedule a job
+     * @param name Unique job name, used in logs and stats
+     * @param schedule When the job runs
+     * @param maxJitter Largest random delay added to each planned run (zero for none)
+     * @param task Work to run; exceptions are logged and counted as failures
+     */
+    public void schedule(String name, Schedule schedule, Duration maxJitter, Runnable task) {
+        schedule(name, schedule, maxJitter, Duration.ZERO, task);
+    }
+
+    /**
+     * Schedule a job that is retried when a run fails
+     * @param name Unique job name, used in logs and stats
+     * @param schedule When the job runs
+     * @param maxJitter Largest random delay added to each planned run (zero for none)
+     * @param retryDelay Delay before retrying a failed run (zero to wait for the next planned run)
+     * @param task Work to run; exceptions are logged and counted as failures
+     */
+    public void schedule(String name, Schedule schedule, Duration maxJitter, Duration retryDelay, Runnable task) {
+        Job job = new Job(name, schedule, maxJitter, retryDelay, task);
+        if (jobs.putIfAbsent(name, job) != null) {
+            throw new IllegalArgumentException("Job already scheduled: " + name);
+        }
+        job.planned = ZonedDateTime.now(clock);
+        planNext(job);
+        Logger.info("JobScheduler", "Job %s scheduled - next run %s", name, job.planned);
+    }
+
+    /**
+     * Run a job now, outside its schedule
+     * @return false if the job is unknown, already running or the scheduler is shut down
+     */
+    public boolean runNow(String name) {
+        Job job = jobs.get(name);
+        return job != null && trigger(job);
+    }
+
+    /**
+     * Timing counters by job name, in scheduling order
+     */
+    public Map<String, JobStats> getStats() {
+        Map<String, JobStats> stats = new LinkedHashMap<>();
+        synchronized (jobs) {
+            jobs.forEach((name, job) -> stats.put(name, job.stats));
+        }
+        return stats;
+    }
+
+    /**
+     * Stop planning runs and wait for the runs in progress to finish
+     * @param grace How long to wait before interrupting runs still in progress
+     */
+    public void shutdown(Duration grace) {
+        running = false;
+        timer.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(grace.toMillis(), TimeUnit.MILLISECONDS)) {
+                Logger.warn("JobScheduler", "Jobs still running after %d ms - interrupting", grace.toMillis());
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        getStats().forEach((name, stats) -> Logger.info("JobScheduler", "Job %s stats - %s", name, stats));
+    }
+
+    /**
+     * Plan the run after job.planned, skipping runs missed while the process was busy or suspended
+     */
+    private void planNext(Job job) {
+        if (!running) {
+            return;
+        }
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime next = job.schedule.next(job.planned);
+        while (!next.isAfter(now)) {
+            next = job.schedule.next(next);
+        }
+        job.planned = next;
+
+        long delayMs = Duration.between(now, next).toMillis();
+        if (!job.maxJitter.isZero()) {
+            delayMs += ThreadLocalRandom.current().nextLong(job.maxJitter.toMillis() + 1);
+        }
+        try {
+            timer.schedule(() -> {
+                trigger(job);
+                planNext(job);
+            }, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shut down while planning
+        }
+    }
+
+    /**
+     * Start a run on its own virtual thread unless the previous one is still going
+     */
+    private boolean trigger(Job job) {
+        if (!running) {
+            return false;
+        }
+        if (!job.inFlight.compareAndSet(false, true)) {
+            job.stats.recordSkipped();
+            Logger.warn("JobScheduler", "Job %s still running - run skipped", job.name);
+            return false;
+        }
+        try {
+            workers.execute(() -> run(job));
+            return true;
+        } catch (RejectedExecutionException e) {
+            job.inFlight.set(false);
+            return false;
+        }
+    }
+
+    private void run(Job job) {
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            job.task.run();
+        } catch (RuntimeException e) {
+            failed = true;
+            Logger.logException("JobScheduler", "Job " + job.name + " failed", e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            job.stats.recordRun(elapsed, failed);
+            job.inFlight.set(false);
+            Logger.debug("JobScheduler", "Job %s finished in %.1f ms", job.name, elapsed / 1_000_000.0);
+        }
+        if (failed && !job.retryDelay.isZero()) {
+            planRetry(job);
+        }
+    }
+
+    /**
+     * Run a failed job again after its retry delay; the planned runs are left as they are
+     */
+    private void planRetry(Job job) {
+        if (!running) {
+            return;
+        }
+        try {
+            timer.schedule(() -> trigger(job), job.retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+            Logger.info("JobScheduler", "Job %s will be retried in %d ms", job.name, job.retryDelay.toMillis());
+        } catch (RejectedExecutionException e) {
+            // Shut down while planning
+        }
+    }
+
+    private static final class Job {
+        final String name;
+        final Schedule schedule;
+        final Duration maxJitter;
+        final Duration retryDelay;
+        final Runnable task;
+        final AtomicBoolean inFlight = new AtomicBoolean();
+        final JobStats stats = new JobStats();
+        // Only touched by the thread scheduling the job, then by the timer thread
+        volatile ZonedDateTime planned;
+
+        Job(String name, Schedule schedule, Duration maxJitter, Duration retryDelay, Runnable task) {
+            this.name = name;
+            this.schedule = schedule;
+            this.maxJitter = maxJitter.isNegative() ? Duration.ZERO : maxJitter;
+            this.retryDelay = retryDelay.isNegative() ? Duration.ZERO : retryDelay;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package jobs;
+
+import java.time.Instant;
+
+/**
+ * Timing counters of one job, updated by the scheduler after every run
+ */
+public class JobStats {
+    private long runs;
+    private long failures;
+    private long skipped;
+    private long totalNanos;
+    private long maxNanos;
+    private long lastNanos;
+    private Instant lastFinished;
+
+    synchronized void recordRun(long nanos, boolean failed) {
+        runs++;
+        if (failed) {
+            failures++;
+        }
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+        lastNanos = nanos;
+        lastFinished = Instant.now();
+    }
+
+    synchronized void recordSkipped() {
+        skipped++;
+    }
+
+    /**
+     * Runs started, failed ones included
+     */
+    public synchronized long getRuns() {
+        return runs;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Triggers dropped because the previous run had not finished
+     */
+    public synchronized long getSkipped() {
+        return skipped;
+    }
+
+    public synchronized double getAverageMs() {
+        return runs == 0 ? 0 : totalNanos / 1_000_000.0 / runs;
+    }
+
+    public synchronized double getMaxMs() {
+        return maxNanos / 1_000_000.0;
+    }
+
+    public synchronized double getLastMs() {
+        return lastNanos / 1_000_000.0;
+    }
+
+    /**
+     * When the last run finished, or null if the job has not run
+     */
+    public synchronized Instant getLastFinished() {
+        return lastFinished;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("runs=%d, failures=%d, skipped=%d, avgMs=%.1f, maxMs=%.1f, lastMs=%.1f",
+                runs, failures, skipped, getAverageMs(), getMaxMs(), getLastMs());
+    }
+}
@@ -0,0 +1,32 @@
+package jobs;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+/**
+ * When a job runs: the next run time after a given time
+ */
+public interface Schedule {
+    /**
+     * First run time strictly after the given time
+     */
+    ZonedDateTime next(ZonedDateTime after);
+
+    /**
+     * Run every period, counted from the previous planned run (not from when it finished)
+     */
+    static Schedule fixedRate(Duration period) {
+        if (period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        return after -> after.plus(period);
+    }
+
+    /**
+     * Run at the times matched by a five-field cron expression (minute hour day-of-month month day-of-week)
+     * @see CronSchedule
+     */
+    static Schedule cron(String expression) {
+        return CronSchedule.parse(expression);
+    }
+}
@@ -6,12 +6,18 @@ import errors.BadRequestException;
 import errors.DataAccessException;
 import errors.ServiceException;
 import errors.UnauthorizedException;
+import util.Logger;
+
+import java.sql.Connection;
+import java.sql.SQLException;
 
 public class AuthService {
     private UserDao userDao;
+    private final Connection connection;
 
-    public AuthService(UserDao userDao) {
+    public AuthService(UserDao userDao, Connection connection) {
         this.userDao = userDao;
+        this.connection = connection;
     }
 
     public User Login(String userName, String password) {
@@ -31,6 +37,8 @@ public class AuthService {
             return user;
         } catch (DataAccessException e) {
             throw new ServiceException("Error during login", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -43,5 +51,15 @@ public class AuthService {
             throw new BadRequestException("Password cannot be null or empty");
         }
     }
-}
 
+    /**
+     * Return the connection used by this unit of work to the pool
+     */
+    private void releaseConnection() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            Logger.logException("AuthService", "Error releasing connection", e);
+        }
+    }
+}
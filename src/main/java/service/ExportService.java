@@ -1,31 +1,56 @@
 package service;
 
+import config.PropertiesLoad;
 import dao.CatalogDao;
 import dao.LoanDao;
+import dao.WatermarkDao;
 import domain.Book;
+import domain.DeltaExportReport;
+import domain.ExportReport;
 import domain.Loan;
 import domain.User;
 import errors.*;
+import util.Compression;
+import util.CsvWriter;
 import util.Logger;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 public class ExportService {
+    /** Watermark keys are "dataset:target", stored in a varchar(100) */
+    private static final int MAX_TARGET_KEY_LENGTH = 100;
+    private static final String[] BOOK_HEADER = {"ISBN", "Title", "Author", "Category", "Quantity", "Available",
+            "Price", "Status", "Created Date"};
+    private static final String[] LOAN_HISTORY_HEADER = {"Loan ID", "Member ID", "Member Name", "Book ISBN",
+            "Book Title", "Borrow Date", "Due Date", "Return Date", "Status", "Fine Amount", "Created Date"};
+
     private final CatalogDao catalogDao;
     private final LoanDao loanDao;
+    private final WatermarkDao watermarkDao;
     private final Connection connection;
-    private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
-    public ExportService(CatalogDao catalogDao, LoanDao loanDao, Connection connection) {
+    public ExportService(CatalogDao catalogDao, LoanDao loanDao, WatermarkDao watermarkDao, Connection connection) {
         this.catalogDao = catalogDao;
         this.loanDao = loanDao;
+        this.watermarkDao = watermarkDao;
         this.connection = connection;
     }
 
@@ -36,38 +61,41 @@ public class ExportService {
      * @return Path of the exported file
      */
     public String exportBooksToCSV(String filePath, User.Role userRole) {
+        return exportBooksToCSV(filePath, Compression.NONE, Compression.DEFAULT_LEVEL, userRole);
+    }
+
+    /**
+     * Export all books to CSV file (ADMIN only)
+     * @param filePath Path where the file will be saved
+     * @param compression Compression of the file, done on a separate thread while rows are encoded
+     * @param level Deflate level, 0 to 9 (ignored for NONE)
+     * @param userRole Role of the user performing the action
+     * @return Path of the exported file
+     */
+    public String exportBooksToCSV(String filePath, Compression compression, int level, User.Role userRole) {
         try {
             // Validate permission (ADMIN only)
             validatePermissionForExport(userRole);
             
-            // Get all books
-            List<Book> books = catalogDao.findAll();
-            
-            if (books == null || books.isEmpty()) {
-                throw new NotFoundException("No books found to export");
-            }
-            
-            // Create CSV file
-            try (FileWriter writer = new FileWriter(filePath)) {
-                // Write header
-                writer.append("ISBN,Title,Author,Category,Quantity,Available,Price,Status,Created Date\n");
+            // Stream books straight from the cursor so the catalog never sits in memory
+            try (Stream<Book> books = catalogDao.streamAll(PropertiesLoad.DB_STREAM_FETCH_SIZE)) {
+                Iterator<Book> rows = books.iterator();
                 
-                // Write data
-                for (Book book : books) {
-                    writer.append(escapeCsvField(book.getIsbn())).append(",");
-                    writer.append(escapeCsvField(book.getTitle())).append(",");
-                    writer.append(escapeCsvField(book.getAuthor())).append(",");
-                    writer.append(book.getCategory() != null ? book.getCategory().name() : "UNKNOWN").append(",");
-                    writer.append(String.valueOf(book.getQuantity())).append(",");
-                    writer.append(String.valueOf(book.getAvailable())).append(",");
-                    writer.append(String.format(Locale.US, "%.2f", book.getPrice())).append(",");
-                    writer.append(book.isActive() ? "ACTIVE" : "INACTIVE").append(",");
-                    writer.append(book.getCreatedAt() != null ? book.getCreatedAt().format(dateFormatter) : "N/A");
-                    writer.append("\n");
+                if (!rows.hasNext()) {
+                    throw new NotFoundException("No books found to export");
                 }
                 
-                Logger.info("ExportService", String.format("Exported %d books to %s by %s",
-                        books.size(), filePath, userRole.name()));
+                // Encode rows straight into the writer's buffer; only that buffer stays in memory
+                try (CsvWriter writer = new CsvWriter(Path.of(filePath), PropertiesLoad.EXPORT_BUFFER_BYTES, compression, level)) {
+                    writer.row(BOOK_HEADER);
+                    
+                    while (rows.hasNext()) {
+                        writeBookRow(writer, rows.next());
+                    }
+                    
+                    Logger.info("ExportService", "Exported %d books to %s by %s",
+                            writer.getRows() - 1, filePath, userRole.name());
+                }
             }
             
             return filePath;
@@ -75,9 +103,11 @@ public class ExportService {
         } catch (IOException e) {
             Logger.logException("ExportService", "Error exporting books to CSV", e);
             throw new ServiceException("Error exporting books to CSV", e);
-        } catch (DataAccessException e) {
+        } catch (DataAccessException | UncheckedDataAccessException e) {
             Logger.logException("ExportService", "Error accessing book data", e);
             throw new ServiceException("Error accessing book data for export", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -88,54 +118,59 @@ public class ExportService {
      * @return Path of the exported file
      */
     public String exportOverdueLoansToCSV(String filePath, User.Role userRole) {
+        return exportOverdueLoansToCSV(filePath, Compression.NONE, Compression.DEFAULT_LEVEL, userRole);
+    }
+
+    /**
+     * Export overdue loans to CSV file (ADMIN only)
+     * @param filePath Path where the file will be saved
+     * @param compression Compression of the file, done on a separate thread while rows are encoded
+     * @param level Deflate level, 0 to 9 (ignored for NONE)
+     * @param userRole Role of the user performing the action
+     * @return Path of the exported file
+     */
+    public String exportOverdueLoansToCSV(String filePath, Compression compression, int level, User.Role userRole) {
         try {
             // Validate permission (ADMIN only)
             validatePermissionForExport(userRole);
             
-            // Get all loans and filter overdue ones
-            List<Loan> allLoans = loanDao.findAll();
             LocalDate today = LocalDate.now();
             
             // Update overdue statuses first
-            for (Loan loan : allLoans) {
-                if (loan.getStatus() == Loan.Status.BORROWED && today.isAfter(loan.getDueDate())) {
-                    loan.setStatus(Loan.Status.OVERDUE);
-                    loanDao.update(loan);
-                }
-            }
+            loanDao.markOverdue(today);
             connection.commit();
             
-            // Get overdue loans
-            List<Loan> overdueLoans = loanDao.findByStatus(Loan.Status.OVERDUE);
-            
-            if (overdueLoans == null || overdueLoans.isEmpty()) {
-                throw new NotFoundException("No overdue loans found to export");
-            }
-            
-            // Create CSV file
-            try (FileWriter writer = new FileWriter(filePath)) {
-                // Write header
-                writer.append("Loan ID,Member ID,Member Name,Book ISBN,Book Title,Borrow Date,Due Date,Days Overdue,Fine Amount,Created Date\n");
+            // Stream overdue loans from the cursor
+            try (Stream<Loan> overdueLoans = loanDao.streamByStatus(Loan.Status.OVERDUE, PropertiesLoad.DB_STREAM_FETCH_SIZE)) {
+                Iterator<Loan> rows = overdueLoans.iterator();
                 
-                // Write data
-                for (Loan loan : overdueLoans) {
-                    long daysOverdue = java.time.temporal.ChronoUnit.DAYS.between(loan.getDueDate(), today);
-                    
-                    writer.append(String.valueOf(loan.getId())).append(",");
-                    writer.append(String.valueOf(loan.getMemberId())).append(",");
-                    writer.append(escapeCsvField(loan.getMemberName() != null ? loan.getMemberName() : "Unknown")).append(",");
-                    writer.append(escapeCsvField(loan.getIsbn())).append(",");
-                    writer.append(escapeCsvField(loan.getBookTitle() != null ? loan.getBookTitle() : "Unknown")).append(",");
-                    writer.append(loan.getBorrowDate() != null ? loan.getBorrowDate().format(dateFormatter) : "N/A").append(",");
-                    writer.append(loan.getDueDate() != null ? loan.getDueDate().format(dateFormatter) : "N/A").append(",");
-                    writer.append(String.valueOf(daysOverdue)).append(",");
-                    writer.append(String.format(Locale.US, "%.2f", loan.getFineAmount())).append(",");
-                    writer.append(loan.getCreatedAt() != null ? loan.getCreatedAt().format(dateFormatter) : "N/A");
-                    writer.append("\n");
+                if (!rows.hasNext()) {
+                    throw new NotFoundException("No overdue loans found to export");
                 }
                 
-                Logger.info("ExportService", String.format("Exported %d overdue loans to %s by %s",
-                        overdueLoans.size(), filePath, userRole.name()));
+                try (CsvWriter writer = new CsvWriter(Path.of(filePath), PropertiesLoad.EXPORT_BUFFER_BYTES, compression, level)) {
+                    writer.row("Loan ID", "Member ID", "Member Name", "Book ISBN", "Book Title", "Borrow Date",
+                            "Due Date", "Days Overdue", "Fine Amount", "Created Date");
+                    
+                    long todayEpochDay = today.toEpochDay();
+                    while (rows.hasNext()) {
+                        Loan loan = rows.next();
+                        writer.field(loan.getId())
+                                .field(loan.getMemberId())
+                                .field(loan.getMemberName() != null ? loan.getMemberName() : "Unknown")
+                                .field(loan.getIsbn())
+                                .field(loan.getBookTitle() != null ? loan.getBookTitle() : "Unknown")
+                                .field(loan.getBorrowDate(), "N/A")
+                                .field(loan.getDueDate(), "N/A")
+                                .field(todayEpochDay - loan.getDueDate().toEpochDay())
+                                .fieldCents(loan.getFineAmount())
+                                .field(loan.getCreatedAt(), "N/A")
+                                .endRow();
+                    }
+                    
+                    Logger.info("ExportService", "Exported %d overdue loans to %s by %s",
+                            writer.getRows() - 1, filePath, userRole.name());
+                }
             }
             
             return filePath;
@@ -143,7 +178,7 @@ public class ExportService {
         } catch (IOException e) {
             Logger.logException("ExportService", "Error exporting overdue loans to CSV", e);
             throw new ServiceException("Error exporting overdue loans to CSV", e);
-        } catch (DataAccessException | SQLException e) {
+        } catch (DataAccessException | UncheckedDataAccessException | SQLException e) {
             try {
                 connection.rollback();
             } catch (SQLException rollbackEx) {
@@ -151,23 +186,344 @@ public class ExportService {
             }
             Logger.logException("ExportService", "Error accessing loan data", e);
             throw new ServiceException("Error accessing loan data for export", e);
+        } finally {
+            releaseConnection();
         }
     }
 
     /**
-     * Escape CSV field to handle commas, quotes, and newlines
+     * Export the full loan history to CSV file (ADMIN only), with the configured parallelism
+     * @see #exportLoansToCSV(String, int, User.Role)
+     */
+    public ExportReport exportLoansToCSV(String filePath, User.Role userRole) {
+        return exportLoansToCSV(filePath, PropertiesLoad.EXPORT_PARALLELISM, Compression.NONE, Compression.DEFAULT_LEVEL, userRole);
+    }
+
+    /**
+     * Export the full loan history to an uncompressed CSV file (ADMIN only)
+     * @see #exportLoansToCSV(String, int, Compression, int, User.Role)
+     */
+    public ExportReport exportLoansToCSV(String filePath, int parallelism, User.Role userRole) {
+        return exportLoansToCSV(filePath, parallelism, Compression.NONE, Compression.DEFAULT_LEVEL, userRole);
+    }
+
+    /**
+     * Export the full loan history to CSV file (ADMIN only), ordered by loan id.
+     * The id range is split into one partition per worker; each worker streams its range on its own
+     * connection into a temporary segment next to the file, and the segments are then concatenated
+     * in order. Partitions are read in separate transactions, so rows changed while the export runs
+     * may appear in the state before or after the change. With compression every segment is compressed
+     * by its own worker as a complete gzip or block file, and the concatenation is still a valid file.
+     * @param filePath Path where the file will be saved
+     * @param parallelism Number of partitions read at the same time (capped by the pool size)
+     * @param compression Compression of the file
+     * @param level Deflate level, 0 to 9 (ignored for NONE)
+     * @param userRole Role of the user performing the action
+     * @return Rows and timings of each partition
      */
-    private String escapeCsvField(String field) {
-        if (field == null) {
-            return "";
+    public ExportReport exportLoansToCSV(String filePath, int parallelism, Compression compression, int level,
+                                         User.Role userRole) {
+        long start = System.nanoTime();
+        List<Path> segments = new ArrayList<>();
+        try {
+            // Validate permission (ADMIN only)
+            validatePermissionForExport(userRole);
+            
+            if (parallelism < 1) {
+                throw new BadRequestException("Parallelism must be at least 1");
+            }
+            
+            int[] bounds = loanDao.findIdBounds();
+            // Workers borrow their own connections; give this one back while they run
+            releaseConnection();
+            
+            if (bounds == null) {
+                throw new NotFoundException("No loans found to export");
+            }
+            
+            Path target = Path.of(filePath).toAbsolutePath();
+            List<int[]> ranges = partition(bounds[0], bounds[1], Math.min(parallelism, PropertiesLoad.DB_POOL_MAX_SIZE));
+            for (int i = 0; i < ranges.size(); i++) {
+                segments.add(Files.createTempFile(target.getParent(), target.getFileName() + ".part" + i + "-", ".tmp"));
+            }
+            
+            ExportReport report = new ExportReport(filePath);
+            ExecutorService workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("export-", 0).factory());
+            try {
+                List<Future<ExportReport.Partition>> partitions = new ArrayList<>();
+                for (int i = 0; i < ranges.size(); i++) {
+                    int index = i;
+                    partitions.add(workers.submit(() ->
+                            exportPartition(index, ranges.get(index), segments.get(index), compression, level)));
+                }
+                for (Future<ExportReport.Partition> partition : partitions) {
+                    report.addPartition(awaitPartition(partition));
+                }
+            } finally {
+                // Stop the remaining workers if one failed, and wait until they have released their connections
+                workers.shutdownNow();
+                workers.close();
+            }
+            
+            long mergeStart = System.nanoTime();
+            try (CsvWriter writer = new CsvWriter(target, 0, compression, level)) {
+                writer.row(LOAN_HISTORY_HEADER);
+            }
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                out.position(out.size());
+                for (Path segment : segments) {
+                    try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+                        long size = in.size();
+                        long position = 0;
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                }
+            }
+            report.setMergeMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mergeStart));
+            report.setTotalMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            
+            for (ExportReport.Partition partition : report.getPartitions()) {
+                Logger.info("ExportService", "Loan export %s", partition);
+            }
+            Logger.info("ExportService", "Exported %d loans to %s by %s in %d ms (%d partitions, merge %d ms)",
+                    report.getRows(), filePath, userRole.name(), report.getTotalMillis(),
+                    report.getPartitions().size(), report.getMergeMillis());
+            
+            return report;
+            
+        } catch (IOException e) {
+            Logger.logException("ExportService", "Error exporting loans to CSV", e);
+            throw new ServiceException("Error exporting loans to CSV", e);
+        } catch (DataAccessException | UncheckedDataAccessException e) {
+            Logger.logException("ExportService", "Error accessing loan data", e);
+            throw new ServiceException("Error accessing loan data for export", e);
+        } finally {
+            for (Path segment : segments) {
+                try {
+                    Files.deleteIfExists(segment);
+                } catch (IOException e) {
+                    Logger.logException("ExportService", "Error deleting export segment " + segment, e);
+                }
+            }
+            releaseConnection();
         }
-        
-        // If field contains comma, quote, or newline, wrap in quotes and escape existing quotes
-        if (field.contains(",") || field.contains("\"") || field.contains("\n")) {
-            return "\"" + field.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Stream one id range into its segment. Runs on a worker thread, which borrows its own connection.
+     */
+    private ExportReport.Partition exportPartition(int index, int[] range, Path segment, Compression compression,
+                                                   int level) throws IOException, DataAccessException {
+        long start = System.nanoTime();
+        long rows;
+        try (Stream<Loan> loans = loanDao.streamByIdRange(range[0], range[1], PropertiesLoad.DB_STREAM_FETCH_SIZE);
+             CsvWriter writer = new CsvWriter(segment, PropertiesLoad.EXPORT_BUFFER_BYTES, compression, level)) {
+            Iterator<Loan> iterator = loans.iterator();
+            while (iterator.hasNext()) {
+                writeLoanHistoryRow(writer, iterator.next());
+            }
+            rows = writer.getRows();
+        } finally {
+            releaseConnection();
         }
-        
-        return field;
+        return new ExportReport.Partition(index, range[0], range[1], rows, Files.size(segment),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Result of a partition, rethrowing the worker's failure in this thread
+     */
+    private ExportReport.Partition awaitPartition(Future<ExportReport.Partition> partition) throws IOException, DataAccessException {
+        try {
+            return partition.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Loan export interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof DataAccessException dataAccessException) {
+                throw dataAccessException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ServiceException("Error exporting loan partition", cause);
+        }
+    }
+
+    /**
+     * Split [minId, maxId] into at most count contiguous ranges of equal width
+     */
+    private static List<int[]> partition(int minId, int maxId, int count) {
+        long span = (long) maxId - minId + 1;
+        long size = (span + count - 1) / count;
+        List<int[]> ranges = new ArrayList<>(count);
+        for (long from = minId; from <= maxId; from += size) {
+            ranges.add(new int[]{(int) from, (int) Math.min(maxId, from + size - 1)});
+        }
+        return ranges;
+    }
+
+    /**
+     * Export the books added, changed or deleted since the previous delta export of a target (ADMIN only).
+     * Same columns as the full catalog export, plus the ISBNs of deleted books in the deletions file;
+     * the first export of a target contains every book.
+     * @see #exportDelta
+     */
+    public DeltaExportReport exportBooksDelta(String target, String filePath, Compression compression, int level,
+                                              User.Role userRole) {
+        return exportDelta("books", target, filePath, compression, level, userRole, BOOK_HEADER,
+                (after, upTo) -> catalogDao.streamChangedBetween(after, upTo, PropertiesLoad.DB_STREAM_FETCH_SIZE),
+                this::writeBookRow, "ISBN",
+                (after, upTo) -> catalogDao.streamDeletedBetween(after, upTo, PropertiesLoad.DB_STREAM_FETCH_SIZE));
+    }
+
+    /**
+     * Export the loans added, changed or deleted since the previous delta export of a target (ADMIN only).
+     * Same columns as the loan history export, plus the ids of deleted loans in the deletions file
+     * (including loans removed with their book or member); the first export of a target contains every loan.
+     * @see #exportDelta
+     */
+    public DeltaExportReport exportLoansDelta(String target, String filePath, Compression compression, int level,
+                                              User.Role userRole) {
+        return exportDelta("loans", target, filePath, compression, level, userRole, LOAN_HISTORY_HEADER,
+                (after, upTo) -> loanDao.streamChangedBetween(after, upTo, PropertiesLoad.DB_STREAM_FETCH_SIZE),
+                this::writeLoanHistoryRow, "Loan ID",
+                (after, upTo) -> loanDao.streamDeletedBetween(after, upTo, PropertiesLoad.DB_STREAM_FETCH_SIZE));
+    }
+
+    /**
+     * File the deleted keys of a delta export are written to, next to the export:
+     * "books-delta.csv.gz" becomes "books-delta.deleted.csv.gz"
+     */
+    public static String deletionsFilePath(String filePath) {
+        Path path = Path.of(filePath);
+        String name = path.getFileName().toString();
+        int dot = name.indexOf('.', 1);
+        String deletionsName = dot > 0
+                ? name.substring(0, dot) + ".deleted" + name.substring(dot)
+                : name + ".deleted";
+        return path.resolveSibling(deletionsName).toString();
+    }
+
+    /**
+     * Write the rows whose updatedAt is after the target's watermark, then move the watermark.
+     * The window ends export.deltaLagMs before the database clock, so rows written by transactions
+     * still open when the export starts (stamped earlier, committed later) fall into the next window.
+     * This only holds for transactions that commit within export.deltaLagMs of their writes: rows of a
+     * transaction kept open longer are stamped before a watermark that has already moved past them,
+     * and no delta export of the target will ever include them (a full export still does).
+     * Deleted rows cannot be read back, so their keys come from the tombstones the DAOs record on delete
+     * (deletedAt in the same window) and go to a second file, see {@link #deletionsFilePath}. The first
+     * export of a target has no deletions to report, so that file only has its header.
+     * The watermark only moves once both files are complete, so a failed export is simply retried.
+     */
+    private <T, K> DeltaExportReport exportDelta(String dataset, String target, String filePath, Compression compression,
+                                                 int level, User.Role userRole, String[] header,
+                                                 ChangedRows<T> changedRows, RowWriter<T> rowWriter,
+                                                 String keyHeader, ChangedRows<K> deletedKeys) {
+        try {
+            // Validate permission (ADMIN only)
+            validatePermissionForExport(userRole);
+            
+            if (target == null || target.trim().isEmpty()) {
+                throw new BadRequestException("Export target is required");
+            }
+            String key = dataset + ":" + target.trim();
+            if (key.length() > MAX_TARGET_KEY_LENGTH) {
+                throw new BadRequestException("Export target is too long");
+            }
+            
+            LocalDateTime since = watermarkDao.findWatermark(key);
+            LocalDateTime upTo = watermarkDao.currentTime().minus(Duration.ofMillis(PropertiesLoad.EXPORT_DELTA_LAG_MS));
+            if (since != null && upTo.isBefore(since)) {
+                // Exported again within the lag: nothing new can be exported yet
+                upTo = since;
+            }
+            
+            long rows;
+            try (Stream<T> changed = changedRows.stream(since, upTo);
+                 CsvWriter writer = new CsvWriter(Path.of(filePath), PropertiesLoad.EXPORT_BUFFER_BYTES, compression, level)) {
+                writer.row(header);
+                Iterator<T> iterator = changed.iterator();
+                while (iterator.hasNext()) {
+                    rowWriter.write(writer, iterator.next());
+                }
+                rows = writer.getRows() - 1;
+            }
+            
+            // Written once the first cursor is closed: a streaming connection runs one query at a time
+            String deletionsPath = deletionsFilePath(filePath);
+            long deletedRows = 0;
+            try (CsvWriter writer = new CsvWriter(Path.of(deletionsPath), PropertiesLoad.EXPORT_BUFFER_BYTES, compression, level)) {
+                writer.row(keyHeader);
+                if (since != null) {
+                    try (Stream<K> deleted = deletedKeys.stream(since, upTo)) {
+                        Iterator<K> iterator = deleted.iterator();
+                        while (iterator.hasNext()) {
+                            writer.field(String.valueOf(iterator.next())).endRow();
+                        }
+                    }
+                }
+                deletedRows = writer.getRows() - 1;
+            }
+            
+            watermarkDao.saveWatermark(key, upTo);
+            connection.commit();
+            
+            DeltaExportReport report = new DeltaExportReport(filePath, deletionsPath, target.trim(), since, upTo,
+                    rows, deletedRows);
+            Logger.info("ExportService", "Exported %d changed and %d deleted %s to %s by %s - %s",
+                    rows, deletedRows, dataset, filePath, userRole.name(), report);
+            return report;
+            
+        } catch (IOException e) {
+            Logger.logException("ExportService", "Error exporting changed " + dataset + " to CSV", e);
+            throw new ServiceException("Error exporting changed " + dataset + " to CSV", e);
+        } catch (DataAccessException | UncheckedDataAccessException | SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                Logger.logException("ExportService", "Error rolling back transaction", rollbackEx);
+            }
+            Logger.logException("ExportService", "Error accessing " + dataset + " data", e);
+            throw new ServiceException("Error accessing " + dataset + " data for export", e);
+        } finally {
+            releaseConnection();
+        }
+    }
+
+    private void writeBookRow(CsvWriter writer, Book book) throws IOException {
+        writer.field(book.getIsbn())
+                .field(book.getTitle())
+                .field(book.getAuthor())
+                .field(book.getCategory() != null ? book.getCategory().name() : "UNKNOWN")
+                .field(book.getQuantity())
+                .field(book.getAvailable())
+                .fieldCents(book.getPrice())
+                .field(book.isActive() ? "ACTIVE" : "INACTIVE")
+                .field(book.getCreatedAt(), "N/A")
+                .endRow();
+    }
+
+    private void writeLoanHistoryRow(CsvWriter writer, Loan loan) throws IOException {
+        writer.field(loan.getId())
+                .field(loan.getMemberId())
+                .field(loan.getMemberName() != null ? loan.getMemberName() : "Unknown")
+                .field(loan.getIsbn())
+                .field(loan.getBookTitle() != null ? loan.getBookTitle() : "Unknown")
+                .field(loan.getBorrowDate(), "N/A")
+                .field(loan.getDueDate(), "N/A")
+                .field(loan.getReturnDate(), "")
+                .field(loan.getStatus().name())
+                .fieldCents(loan.getFineAmount())
+                .field(loan.getCreatedAt(), "N/A")
+                .endRow();
     }
 
     /**
@@ -182,6 +538,33 @@ public class ExportService {
             throw new UnauthorizedException("Only ADMIN users can export data");
         }
         
-        Logger.info("ExportService", String.format("Permission validated for export - Role: %s", userRole.name()));
+        Logger.debug("ExportService", "Permission validated for export - Role: %s", userRole.name());
+    }
+
+    /**
+     * Return the connection used by this unit of work to the pool
+     */
+    private void releaseConnection() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            Logger.logException("ExportService", "Error releasing connection", e);
+        }
+    }
+
+    /**
+     * Opens the cursor over the rows changed within a window
+     */
+    @FunctionalInterface
+    private interface ChangedRows<T> {
+        Stream<T> stream(LocalDateTime after, LocalDateTime upTo) throws DataAccessException;
+    }
+
+    /**
+     * Encodes one row
+     */
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(CsvWriter writer, T row) throws IOException;
     }
 }
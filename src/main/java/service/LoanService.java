@@ -4,30 +4,67 @@ import config.PropertiesLoad;
 import dao.CatalogDao;
 import dao.LoanDao;
 import dao.MemberDao;
+import dao.Page;
+import dao.PageCursor;
 import domain.Book;
+import domain.CheckoutStatus;
 import domain.Loan;
+import domain.LoanOutcome;
+import domain.LoanRequest;
 import domain.Member;
+import domain.ReturnOutcome;
+import domain.ReturnRequest;
 import domain.User;
 import errors.*;
+import index.CatalogSuggester;
+import index.DueDateIndex;
 import util.Logger;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class LoanService {
+    /**
+     * Most loans accepted by one bulk registration
+     */
+    public static final int MAX_BULK_LOANS = 500;
+
+    /**
+     * Most returns accepted by one batch
+     */
+    public static final int MAX_BULK_RETURNS = 500;
+
     private final LoanDao loanDao;
     private final MemberDao memberDao;
     private final CatalogDao catalogDao;
     private final Connection connection;
+    private final CatalogSuggester suggester;
+    private final DueDateIndex dueDateIndex;
+    // Set once the due date index has been loaded from the database
+    private volatile boolean dueDateIndexBuilt;
 
     public LoanService(LoanDao loanDao, MemberDao memberDao, CatalogDao catalogDao, Connection connection) {
+        this(loanDao, memberDao, catalogDao, connection, new CatalogSuggester(0), new DueDateIndex());
+    }
+
+    public LoanService(LoanDao loanDao, MemberDao memberDao, CatalogDao catalogDao, Connection connection,
+                       CatalogSuggester suggester, DueDateIndex dueDateIndex) {
         this.loanDao = loanDao;
         this.memberDao = memberDao;
         this.catalogDao = catalogDao;
         this.connection = connection;
+        this.suggester = suggester;
+        this.dueDateIndex = dueDateIndex;
     }
 
     /**
@@ -39,53 +76,146 @@ public class LoanService {
             // Validate permission
             validatePermissionForRegister(userRole);
             
-            // Validate member exists and is active
-            Member member = memberDao.findById(memberId);
-            if (member == null) {
-                throw new NotFoundException("Member not found with ID: " + memberId);
-            }
-            if (!member.isActive()) {
-                throw new BadRequestException("Member is not active");
+            // Create new loan
+            LocalDate borrowDate = LocalDate.now();
+            LocalDate dueDate = borrowDate.plusDays(PropertiesLoad.DAYS_BORROW_LIMIT);
+            Loan newLoan = new Loan(memberId, isbn, borrowDate, dueDate);
+            
+            // Two statements that each check their own conditions: reserve a copy of an active book,
+            // then insert the loan if the member is active and does not hold the book yet.
+            // Only a rejected checkout reads the status, to explain why.
+            Loan savedLoan = catalogDao.tryReserveCopy(isbn) ? loanDao.saveIfEligible(newLoan) : null;
+            if (savedLoan == null) {
+                throw checkoutRejection(memberId, isbn);
             }
             
-            // Validate book exists and is available
-            Book book = catalogDao.findByIsbn(isbn);
-            if (book == null) {
-                throw new NotFoundException("Book not found with ISBN: " + isbn);
+            // Commit transaction
+            connection.commit();
+            suggester.recordLoan(isbn);
+            dueDateIndex.add(savedLoan.getId(), savedLoan.getDueDate());
+            
+            Logger.info("LoanService", "Loan registered successfully - ID: %d, Member: %d, ISBN: %s by %s",
+                    savedLoan.getId(), memberId, isbn, userRole.name());
+            
+            return savedLoan;
+            
+        } catch (NotFoundException | BadRequestException | ConflictException | UnauthorizedException e) {
+            // Rollback on business logic errors
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                Logger.logException("LoanService", "Error rolling back transaction", rollbackEx);
+            }
+            throw e;
+        } catch (DataAccessException | SQLException e) {
+            // Rollback on database errors
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                Logger.logException("LoanService", "Error rolling back transaction", rollbackEx);
             }
-            if (!book.isActive()) {
-                throw new BadRequestException("Book is not active");
+            Logger.logException("LoanService", "Error registering loan", e);
+            throw new ServiceException("Error registering loan", e);
+        } finally {
+            releaseConnection();
+        }
+    }
+
+    /**
+     * Register many loans at once (class or group checkouts)
+     * Both ADMIN and ASSISTANT can register loans
+     * Members, books and active loans are read with set-based queries, copies are reserved and loans
+     * inserted as JDBC batches, and everything is committed in one transaction. A request that cannot
+     * be registered is rejected on its own without affecting the others.
+     * @return One outcome per request, in request order
+     */
+    public List<LoanOutcome> registerLoans(List<LoanRequest> requests, User.Role userRole) {
+        try {
+            // Validate permission
+            validatePermissionForRegister(userRole);
+            
+            if (requests == null || requests.isEmpty()) {
+                throw new BadRequestException("At least one loan is required");
             }
-            if (book.getAvailable() <= 0) {
-                throw new BadRequestException("Book is not available for loan");
+            if (requests.size() > MAX_BULK_LOANS) {
+                throw new BadRequestException("Cannot register more than " + MAX_BULK_LOANS + " loans at once");
             }
             
-            // Check if member already has an active loan for this book
-            Loan existingLoan = loanDao.findActiveLoanByMemberAndIsbn(memberId, isbn);
-            if (existingLoan != null) {
-                throw new ConflictException("Member already has an active loan for this book");
+            List<Integer> memberIds = new ArrayList<>(requests.size());
+            List<String> isbns = new ArrayList<>(requests.size());
+            for (LoanRequest request : requests) {
+                memberIds.add(request.getMemberId());
+                isbns.add(request.getIsbn());
+            }
+            Map<Integer, Member> members = memberDao.findByIds(memberIds);
+            Map<String, Book> books = catalogDao.findByIsbns(isbns);
+            Map<Integer, Set<String>> held = new HashMap<>();
+            loanDao.findActiveIsbnsByMemberIds(memberIds).forEach((id, active) -> held.put(id, new HashSet<>(active)));
+            
+            // Validate every request against the reads; accepted ones count as held and take a copy
+            LoanOutcome[] outcomes = new LoanOutcome[requests.size()];
+            List<Integer> accepted = new ArrayList<>();
+            Map<String, Integer> copies = new LinkedHashMap<>();
+            for (int i = 0; i < requests.size(); i++) {
+                LoanRequest request = requests.get(i);
+                String reason = bulkRejection(request, members, books, held, copies);
+                if (reason != null) {
+                    outcomes[i] = LoanOutcome.rejected(request, reason);
+                } else {
+                    accepted.add(i);
+                    held.computeIfAbsent(request.getMemberId(), id -> new HashSet<>()).add(request.getIsbn());
+                    copies.merge(request.getIsbn(), 1, Integer::sum);
+                }
             }
             
-            // Create new loan
+            // The reads may be stale: the conditional updates and inserts check again
+            Set<String> notReserved = catalogDao.reserveCopies(copies);
             LocalDate borrowDate = LocalDate.now();
             LocalDate dueDate = borrowDate.plusDays(PropertiesLoad.DAYS_BORROW_LIMIT);
+            List<Integer> reserved = new ArrayList<>(accepted.size());
+            List<Loan> newLoans = new ArrayList<>(accepted.size());
+            for (int i : accepted) {
+                LoanRequest request = requests.get(i);
+                if (notReserved.contains(request.getIsbn())) {
+                    outcomes[i] = LoanOutcome.rejected(request, "Book is not available for loan");
+                } else {
+                    reserved.add(i);
+                    newLoans.add(new Loan(request.getMemberId(), request.getIsbn(), borrowDate, dueDate));
+                }
+            }
             
-            Loan newLoan = new Loan(memberId, isbn, borrowDate, dueDate);
-            Loan savedLoan = loanDao.save(newLoan);
-            
-            // Update book availability
-            book.setAvailable(book.getAvailable() - 1);
-            catalogDao.update(book);
+            List<Loan> savedLoans = loanDao.saveAllIfEligible(newLoans);
+            for (int j = 0; j < reserved.size(); j++) {
+                int i = reserved.get(j);
+                LoanRequest request = requests.get(i);
+                Loan saved = savedLoans.get(j);
+                if (saved != null) {
+                    outcomes[i] = LoanOutcome.registered(request, saved);
+                } else {
+                    // Member deactivated or given the book since it was read: hand the copy back
+                    catalogDao.releaseCopy(request.getIsbn());
+                    outcomes[i] = LoanOutcome.rejected(request, "Member is not eligible for this loan");
+                }
+            }
             
             // Commit transaction
             connection.commit();
             
-            Logger.info("LoanService", String.format("Loan registered successfully - ID: %d, Member: %d, ISBN: %s by %s",
-                    savedLoan.getId(), memberId, isbn, userRole.name()));
+            int registered = 0;
+            for (LoanOutcome outcome : outcomes) {
+                if (outcome.isRegistered()) {
+                    suggester.recordLoan(outcome.getRequest().getIsbn());
+                    dueDateIndex.add(outcome.getLoan().getId(), outcome.getLoan().getDueDate());
+                    registered++;
+                }
+            }
             
-            return savedLoan;
+            Logger.info("LoanService", "Bulk loans registered - %d of %d by %s",
+                    registered, requests.size(), userRole.name());
             
-        } catch (NotFoundException | BadRequestException | ConflictException | UnauthorizedException e) {
+            return Arrays.asList(outcomes);
+            
+        } catch (BadRequestException | UnauthorizedException e) {
             // Rollback on business logic errors
             try {
                 connection.rollback();
@@ -100,8 +230,10 @@ public class LoanService {
             } catch (SQLException rollbackEx) {
                 Logger.logException("LoanService", "Error rolling back transaction", rollbackEx);
             }
-            Logger.logException("LoanService", "Error registering loan", e);
-            throw new ServiceException("Error registering loan", e);
+            Logger.logException("LoanService", "Error registering loans", e);
+            throw new ServiceException("Error registering loans", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -115,7 +247,7 @@ public class LoanService {
             validatePermissionForReturn(userRole);
             
             // Check if loan exists
-            Loan loan = loanDao.findById(loanId);
+            Loan loan = loanDao.findCoreById(loanId);
             if (loan == null) {
                 throw new NotFoundException("Loan not found with ID: " + loanId);
             }
@@ -125,27 +257,16 @@ public class LoanService {
                 throw new BadRequestException("Loan is already marked as returned");
             }
             
-            // Get the book
-            Book book = catalogDao.findByIsbn(loan.getIsbn());
-            if (book == null) {
-                throw new NotFoundException("Book not found with ISBN: " + loan.getIsbn());
-            }
-            
             // Set return date and status
             LocalDate returnDate = LocalDate.now();
             loan.setReturnDate(returnDate);
             loan.setStatus(Loan.Status.RETURNED);
             
             // Calculate fine if overdue
-            if (returnDate.isAfter(loan.getDueDate())) {
-                long daysOverdue = ChronoUnit.DAYS.between(loan.getDueDate(), returnDate);
-                double fine = daysOverdue * PropertiesLoad.FINE_PER_DAY;
-                loan.setFineAmount(fine);
-                
-                Logger.info("LoanService", String.format("Loan overdue - ID: %d, Days: %d, Fine: %.2f",
-                        loanId, daysOverdue, fine));
-            } else {
-                loan.setFineAmount(0.0);
+            loan.setFineAmount(fineFor(loan, returnDate));
+            if (loan.getFineAmount() > 0) {
+                Logger.info("LoanService", "Loan overdue - ID: %d, Days: %d, Fine: %.2f",
+                        loanId, ChronoUnit.DAYS.between(loan.getDueDate(), returnDate), loan.getFineAmount());
             }
             
             // Update loan
@@ -155,15 +276,21 @@ public class LoanService {
                 throw new ServiceException("Failed to mark loan as returned", new SQLException("Update returned false"));
             }
             
-            // Update book availability
-            book.setAvailable(book.getAvailable() + 1);
-            catalogDao.update(book);
+            // Give the copy back
+            if (!catalogDao.releaseCopy(loan.getIsbn())) {
+                if (catalogDao.findByIsbn(loan.getIsbn()) == null) {
+                    throw new NotFoundException("Book not found with ISBN: " + loan.getIsbn());
+                }
+                Logger.warn("LoanService", "Book %s already has every copy available - availability left unchanged",
+                        loan.getIsbn());
+            }
             
             // Commit transaction
             connection.commit();
+            dueDateIndex.remove(loanId, loan.getDueDate());
             
-            Logger.info("LoanService", String.format("Loan marked as returned - ID: %d by %s",
-                    loanId, userRole.name()));
+            Logger.info("LoanService", "Loan marked as returned - ID: %d by %s",
+                    loanId, userRole.name());
             
             return loan;
             
@@ -184,6 +311,126 @@ public class LoanService {
             }
             Logger.logException("LoanService", "Error marking loan as returned", e);
             throw new ServiceException("Error marking loan as returned", e);
+        } finally {
+            releaseConnection();
+        }
+    }
+
+    /**
+     * Mark many loans as returned at once (book drop scans)
+     * Both ADMIN and ASSISTANT can mark returns
+     * Loans are read with set-based queries, fines computed in memory, and the loan and availability
+     * updates sent as JDBC batches and committed in one transaction. A return that cannot be processed
+     * is rejected on its own without affecting the others.
+     * @return One outcome per request, in request order
+     */
+    public List<ReturnOutcome> markReturns(List<ReturnRequest> requests, User.Role userRole) {
+        try {
+            // Validate permission
+            validatePermissionForReturn(userRole);
+            
+            if (requests == null || requests.isEmpty()) {
+                throw new BadRequestException("At least one return is required");
+            }
+            if (requests.size() > MAX_BULK_RETURNS) {
+                throw new BadRequestException("Cannot process more than " + MAX_BULK_RETURNS + " returns at once");
+            }
+            
+            // Look up loans by ID, and the active loans of the members returning by ISBN
+            List<Integer> loanIds = new ArrayList<>();
+            List<Integer> memberIds = new ArrayList<>();
+            for (ReturnRequest request : requests) {
+                if (request.hasLoanId()) {
+                    loanIds.add(request.getLoanId());
+                } else {
+                    memberIds.add(request.getMemberId());
+                }
+            }
+            Map<Integer, Loan> loansById = loanDao.findCoreByIds(loanIds);
+            Map<String, Loan> activeByMemberAndIsbn = new HashMap<>();
+            for (Loan loan : loanDao.findActiveCoreByMemberIds(memberIds)) {
+                activeByMemberAndIsbn.put(loan.getMemberId() + "|" + loan.getIsbn(), loan);
+            }
+            
+            // Resolve every request to one loan not yet returned and compute its fine
+            LocalDate returnDate = LocalDate.now();
+            ReturnOutcome[] outcomes = new ReturnOutcome[requests.size()];
+            Map<Integer, Integer> requestByLoanId = new LinkedHashMap<>();
+            List<Loan> toReturn = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                ReturnRequest request = requests.get(i);
+                Loan loan = request.hasLoanId()
+                        ? loansById.get(request.getLoanId())
+                        : activeByMemberAndIsbn.get(request.getMemberId() + "|" + request.getIsbn());
+                if (loan == null) {
+                    outcomes[i] = ReturnOutcome.rejected(request, request.hasLoanId()
+                            ? "Loan not found with ID: " + request.getLoanId()
+                            : "No active loan for member " + request.getMemberId() + " and ISBN " + request.getIsbn());
+                } else if (requestByLoanId.containsKey(loan.getId())) {
+                    outcomes[i] = ReturnOutcome.rejected(request, "Loan is listed more than once");
+                } else if (loan.getStatus() == Loan.Status.RETURNED) {
+                    outcomes[i] = ReturnOutcome.rejected(request, "Loan is already marked as returned");
+                } else {
+                    requestByLoanId.put(loan.getId(), i);
+                    loan.setReturnDate(returnDate);
+                    loan.setStatus(Loan.Status.RETURNED);
+                    loan.setFineAmount(fineFor(loan, returnDate));
+                    toReturn.add(loan);
+                }
+            }
+            
+            // Loans returned by someone else since they were read are left out of the availability update
+            Set<Integer> notUpdated = loanDao.markAllReturned(toReturn);
+            Map<String, Integer> copies = new LinkedHashMap<>();
+            for (Loan loan : toReturn) {
+                int i = requestByLoanId.get(loan.getId());
+                if (notUpdated.contains(loan.getId())) {
+                    outcomes[i] = ReturnOutcome.rejected(requests.get(i), "Loan is already marked as returned");
+                } else {
+                    outcomes[i] = ReturnOutcome.returned(requests.get(i), loan);
+                    copies.merge(loan.getIsbn(), 1, Integer::sum);
+                }
+            }
+            for (String isbn : catalogDao.releaseCopies(copies)) {
+                Logger.warn("LoanService", "Book %s not found - availability left unchanged", isbn);
+            }
+            
+            // Commit transaction
+            connection.commit();
+            
+            int returned = 0;
+            double fines = 0;
+            for (ReturnOutcome outcome : outcomes) {
+                if (outcome.isReturned()) {
+                    dueDateIndex.remove(outcome.getLoan().getId(), outcome.getLoan().getDueDate());
+                    returned++;
+                    fines += outcome.getLoan().getFineAmount();
+                }
+            }
+            Logger.info("LoanService", "Batch returns processed - %d of %d, Fines: %.2f by %s",
+                    returned, requests.size(), fines, userRole.name());
+            
+            return Arrays.asList(outcomes);
+            
+        } catch (BadRequestException | UnauthorizedException e) {
+            // Rollback on business logic errors
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                Logger.logException("LoanService", "Error rolling back transaction", rollbackEx);
+            }
+            throw e;
+        } catch (DataAccessException | SQLException e) {
+            // Rollback on database errors
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                Logger.logException("LoanService", "Error rolling back transaction", rollbackEx);
+            }
+            Logger.logException("LoanService", "Error processing returns", e);
+            throw new ServiceException("Error processing returns", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -196,18 +443,14 @@ public class LoanService {
             validatePermissionForDelete(userRole);
             
             // Check if loan exists
-            Loan loan = loanDao.findById(loanId);
+            Loan loan = loanDao.findCoreById(loanId);
             if (loan == null) {
                 throw new NotFoundException("Loan not found with ID: " + loanId);
             }
             
             // If loan is not returned, return the book first
             if (loan.getStatus() != Loan.Status.RETURNED) {
-                Book book = catalogDao.findByIsbn(loan.getIsbn());
-                if (book != null) {
-                    book.setAvailable(book.getAvailable() + 1);
-                    catalogDao.update(book);
-                }
+                catalogDao.releaseCopy(loan.getIsbn());
             }
             
             boolean deleted = loanDao.delete(loanId);
@@ -215,9 +458,10 @@ public class LoanService {
             if (deleted) {
                 // Commit transaction
                 connection.commit();
+                dueDateIndex.remove(loanId, loan.getDueDate());
                 
-                Logger.info("LoanService", String.format("Loan deleted successfully - ID: %d by %s",
-                        loanId, userRole.name()));
+                Logger.info("LoanService", "Loan deleted successfully - ID: %d by %s",
+                        loanId, userRole.name());
             }
             
             return deleted;
@@ -239,6 +483,76 @@ public class LoanService {
             }
             Logger.logException("LoanService", "Error deleting loan", e);
             throw new ServiceException("Error deleting loan", e);
+        } finally {
+            releaseConnection();
+        }
+    }
+
+    /**
+     * Mark every loan past its due date as overdue and load the borrowed loans into the due date index.
+     * Called at startup, or by {@link #markDueLoansOverdue()} if the startup rebuild failed; afterwards
+     * the index is kept current by checkout, return and delete, and {@link #markDueLoansOverdue()}
+     * moves loans to OVERDUE as their due dates pass.
+     * @return Number of loans marked as overdue
+     */
+    public int rebuildDueDateIndex() {
+        try {
+            int marked = loanDao.markOverdue(LocalDate.now());
+            connection.commit();
+            
+            Map<Integer, LocalDate> dueDates = loanDao.findBorrowedDueDates();
+            dueDateIndex.rebuild(dueDates);
+            dueDateIndexBuilt = true;
+            
+            Logger.info("LoanService", "Due date index rebuilt - %d borrowed loan(s), %d marked as overdue",
+                    dueDates.size(), marked);
+            return marked;
+        } catch (DataAccessException | SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                Logger.logException("LoanService", "Error rolling back transaction", rollbackEx);
+            }
+            Logger.logException("LoanService", "Error rebuilding due date index", e);
+            throw new ServiceException("Error rebuilding due date index", e);
+        } finally {
+            releaseConnection();
+        }
+    }
+
+    /**
+     * Mark the loans that are past their due date as overdue: the due date index gives their ids,
+     * and they are updated together. Run by a background job, off the interactive path.
+     * The index is rebuilt instead if it has never been built.
+     * @return Number of loans marked as overdue
+     */
+    public int markDueLoansOverdue() {
+        if (!dueDateIndexBuilt) {
+            return rebuildDueDateIndex();
+        }
+        LocalDate today = LocalDate.now();
+        try {
+            int[] due = dueDateIndex.dueBefore(today);
+            if (due.length == 0) {
+                return 0;
+            }
+            
+            int marked = loanDao.markOverdueByIds(Arrays.stream(due).boxed().toList());
+            connection.commit();
+            dueDateIndex.removeDueBefore(today);
+            
+            Logger.info("LoanService", "Marked %d loan(s) as overdue", marked);
+            return marked;
+        } catch (DataAccessException | SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                Logger.logException("LoanService", "Error rolling back transaction", rollbackEx);
+            }
+            Logger.logException("LoanService", "Error marking loans as overdue", e);
+            throw new ServiceException("Error marking loans as overdue", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -257,14 +571,64 @@ public class LoanService {
                 throw new NotFoundException("No loans found");
             }
             
-            // Update overdue statuses
-            updateOverdueStatuses(loans);
-            
             return loans;
             
         } catch (DataAccessException e) {
             Logger.logException("LoanService", "Error getting all loans", e);
             throw new ServiceException("Error getting all loans", e);
+        } finally {
+            releaseConnection();
+        }
+    }
+
+    /**
+     * Get one page of loans (newest first)
+     * @param after Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of loans in the page
+     */
+    public Page<Loan> getLoansPage(PageCursor after, int limit, User.Role userRole) {
+        try {
+            // Validate permission
+            validatePermissionForView(userRole);
+            
+            Page<Loan> page = loanDao.findPage(after, limit);
+            if (after == null && page.getItems().isEmpty()) {
+                throw new NotFoundException("No loans found");
+            }
+            
+            return page;
+            
+        } catch (DataAccessException e) {
+            Logger.logException("LoanService", "Error getting page of loans", e);
+            throw new ServiceException("Error getting page of loans", e);
+        } finally {
+            releaseConnection();
+        }
+    }
+
+    /**
+     * Get one page of loans with a status (newest first)
+     * @param status Loan status
+     * @param after Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of loans in the page
+     */
+    public Page<Loan> getLoansPageByStatus(Loan.Status status, PageCursor after, int limit, User.Role userRole) {
+        try {
+            // Validate permission
+            validatePermissionForView(userRole);
+            
+            Page<Loan> page = loanDao.findPageByStatus(status, after, limit);
+            if (after == null && page.getItems().isEmpty()) {
+                throw new NotFoundException("No loans found with status: " + status.name());
+            }
+            
+            return page;
+            
+        } catch (DataAccessException e) {
+            Logger.logException("LoanService", "Error getting page of loans", e);
+            throw new ServiceException("Error getting page of loans", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -281,14 +645,13 @@ public class LoanService {
                 throw new NotFoundException("Loan not found with ID: " + loanId);
             }
             
-            // Update overdue status if needed
-            updateLoanStatus(loan);
-            
             return loan;
             
         } catch (DataAccessException e) {
             Logger.logException("LoanService", "Error finding loan by ID", e);
             throw new ServiceException("Error finding loan", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -305,17 +668,16 @@ public class LoanService {
                 throw new NotFoundException("No loans found for member ID: " + memberId);
             }
             
-            // Update overdue statuses
-            updateOverdueStatuses(loans);
-            
-            Logger.info("LoanService", String.format("Found %d loans for member ID: %d",
-                    loans.size(), memberId));
+            Logger.info("LoanService", "Found %d loans for member ID: %d",
+                    loans.size(), memberId);
             
             return loans;
             
         } catch (DataAccessException e) {
             Logger.logException("LoanService", "Error finding loans by member ID", e);
             throw new ServiceException("Error finding loans by member", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -332,17 +694,16 @@ public class LoanService {
                 throw new NotFoundException("No loans found for ISBN: " + isbn);
             }
             
-            // Update overdue statuses
-            updateOverdueStatuses(loans);
-            
-            Logger.info("LoanService", String.format("Found %d loans for ISBN: %s",
-                    loans.size(), isbn));
+            Logger.info("LoanService", "Found %d loans for ISBN: %s",
+                    loans.size(), isbn);
             
             return loans;
             
         } catch (DataAccessException e) {
             Logger.logException("LoanService", "Error finding loans by ISBN", e);
             throw new ServiceException("Error finding loans by ISBN", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -354,68 +715,91 @@ public class LoanService {
             // Validate permission
             validatePermissionForView(userRole);
             
-            // First update all overdue statuses
-            List<Loan> allLoans = loanDao.findAll();
-            updateOverdueStatuses(allLoans);
-            
-            // Then get loans by status
             List<Loan> loans = loanDao.findByStatus(status);
             if (loans.isEmpty()) {
                 throw new NotFoundException("No loans found with status: " + status.name());
             }
             
-            Logger.info("LoanService", String.format("Found %d loans with status: %s",
-                    loans.size(), status.name()));
+            Logger.info("LoanService", "Found %d loans with status: %s",
+                    loans.size(), status.name());
             
             return loans;
             
         } catch (DataAccessException e) {
             Logger.logException("LoanService", "Error finding loans by status", e);
             throw new ServiceException("Error finding loans by status", e);
+        } finally {
+            releaseConnection();
         }
     }
 
     /**
-     * Update overdue statuses for a list of loans
+     * Fine for returning a loan on the given date: FINE_PER_DAY for each day past the due date
      */
-    private void updateOverdueStatuses(List<Loan> loans) {
-        try {
-            LocalDate today = LocalDate.now();
-            for (Loan loan : loans) {
-                if (loan.getStatus() == Loan.Status.BORROWED && today.isAfter(loan.getDueDate())) {
-                    loan.setStatus(Loan.Status.OVERDUE);
-                    loanDao.update(loan);
-                }
-            }
-            connection.commit();
-        } catch (DataAccessException | SQLException e) {
-            try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                Logger.logException("LoanService", "Error rolling back transaction", rollbackEx);
-            }
-            Logger.logException("LoanService", "Error updating overdue statuses", e);
+    private double fineFor(Loan loan, LocalDate returnDate) {
+        if (!returnDate.isAfter(loan.getDueDate())) {
+            return 0.0;
         }
+        return ChronoUnit.DAYS.between(loan.getDueDate(), returnDate) * PropertiesLoad.FINE_PER_DAY;
     }
 
     /**
-     * Update overdue status for a single loan
+     * Explain why a checkout was rejected, reading member, book and active loan in a single query.
+     * Runs inside the checkout transaction, so a copy reserved by it may already be counted out.
      */
-    private void updateLoanStatus(Loan loan) {
-        try {
-            if (loan.getStatus() == Loan.Status.BORROWED && LocalDate.now().isAfter(loan.getDueDate())) {
-                loan.setStatus(Loan.Status.OVERDUE);
-                loanDao.update(loan);
-                connection.commit();
-            }
-        } catch (DataAccessException | SQLException e) {
-            try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                Logger.logException("LoanService", "Error rolling back transaction", rollbackEx);
-            }
-            Logger.logException("LoanService", "Error updating loan status", e);
+    private RuntimeException checkoutRejection(int memberId, String isbn) throws DataAccessException {
+        CheckoutStatus status = loanDao.findCheckoutStatus(memberId, isbn);
+        if (!status.isMemberFound()) {
+            return new NotFoundException("Member not found with ID: " + memberId);
+        }
+        if (!status.isMemberActive()) {
+            return new BadRequestException("Member is not active");
         }
+        if (!status.isBookFound()) {
+            return new NotFoundException("Book not found with ISBN: " + isbn);
+        }
+        if (!status.isBookActive()) {
+            return new BadRequestException("Book is not active");
+        }
+        if (status.hasActiveLoan()) {
+            return new ConflictException("Member already has an active loan for this book");
+        }
+        if (status.getAvailable() <= 0) {
+            return new BadRequestException("Book is not available for loan");
+        }
+        // Member or book changed between the checkout statements and this read
+        return new ConflictException("Loan could not be registered, please try again");
+    }
+
+    /**
+     * Why one request of a bulk registration cannot be registered, checked against the set-based reads
+     * @param held ISBNs each member holds, including the requests accepted so far
+     * @param copies Copies taken so far by ISBN
+     * @return The rejection reason, or null if the request can be registered
+     */
+    private String bulkRejection(LoanRequest request, Map<Integer, Member> members, Map<String, Book> books,
+                                 Map<Integer, Set<String>> held, Map<String, Integer> copies) {
+        Member member = members.get(request.getMemberId());
+        if (member == null) {
+            return "Member not found with ID: " + request.getMemberId();
+        }
+        if (!member.isActive()) {
+            return "Member is not active";
+        }
+        Book book = books.get(request.getIsbn());
+        if (book == null) {
+            return "Book not found with ISBN: " + request.getIsbn();
+        }
+        if (!book.isActive()) {
+            return "Book is not active";
+        }
+        if (held.getOrDefault(request.getMemberId(), Set.of()).contains(request.getIsbn())) {
+            return "Member already has an active loan for this book";
+        }
+        if (copies.getOrDefault(request.getIsbn(), 0) >= book.getAvailable()) {
+            return "Book is not available for loan";
+        }
+        return null;
     }
 
     /**
@@ -430,7 +814,7 @@ public class LoanService {
             throw new UnauthorizedException("Invalid user role");
         }
         
-        Logger.info("LoanService", String.format("Permission validated for register - Role: %s", userRole.name()));
+        Logger.debug("LoanService", "Permission validated for register - Role: %s", userRole.name());
     }
 
     /**
@@ -445,7 +829,7 @@ public class LoanService {
             throw new UnauthorizedException("Invalid user role");
         }
         
-        Logger.info("LoanService", String.format("Permission validated for return - Role: %s", userRole.name()));
+        Logger.debug("LoanService", "Permission validated for return - Role: %s", userRole.name());
     }
 
     /**
@@ -460,7 +844,7 @@ public class LoanService {
             throw new UnauthorizedException("Only ADMIN users can delete loans");
         }
         
-        Logger.info("LoanService", String.format("Permission validated for delete - Role: %s", userRole.name()));
+        Logger.debug("LoanService", "Permission validated for delete - Role: %s", userRole.name());
     }
 
     /**
@@ -475,6 +859,17 @@ public class LoanService {
             throw new UnauthorizedException("Invalid user role");
         }
         
-        Logger.info("LoanService", String.format("Permission validated for view - Role: %s", userRole.name()));
+        Logger.debug("LoanService", "Permission validated for view - Role: %s", userRole.name());
+    }
+
+    /**
+     * Return the connection used by this unit of work to the pool
+     */
+    private void releaseConnection() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            Logger.logException("LoanService", "Error releasing connection", e);
+        }
     }
 }
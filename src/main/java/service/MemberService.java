@@ -5,6 +5,8 @@ import java.sql.SQLException;
 import java.util.List;
 
 import dao.MemberDao;
+import dao.Page;
+import dao.PageCursor;
 import domain.Member;
 import domain.User;
 import errors.*;
@@ -55,8 +57,8 @@ public class MemberService {
             // Commit transaction
             connection.commit();
             
-            Logger.info("MemberService", String.format("Member created successfully - ID: %d, Email: %s by %s", 
-                savedMember.getId(), savedMember.getEmail(), userRole.name()));
+            Logger.info("MemberService", "Member created successfully - ID: %d, Email: %s by %s", 
+                savedMember.getId(), savedMember.getEmail(), userRole.name());
             
             return savedMember;
             
@@ -77,6 +79,8 @@ public class MemberService {
             }
             Logger.logException("MemberService", "Error creating member", e);
             throw new ServiceException("Error creating member", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -105,8 +109,8 @@ public class MemberService {
             if (deleted) {
                 // Commit transaction
                 connection.commit();
-                Logger.info("MemberService", String.format("Member deleted successfully - ID: %d by %s", 
-                    memberId, userRole.name()));
+                Logger.info("MemberService", "Member deleted successfully - ID: %d by %s", 
+                    memberId, userRole.name());
             }
             
             return deleted;
@@ -128,6 +132,8 @@ public class MemberService {
             }
             Logger.logException("MemberService", "Error deleting member", e);
             throw new ServiceException("Error deleting member", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -177,8 +183,8 @@ public class MemberService {
             // Commit transaction
             connection.commit();
             
-            Logger.info("MemberService", String.format("Member updated successfully - ID: %d by %s", 
-                memberId, userRole.name()));
+            Logger.info("MemberService", "Member updated successfully - ID: %d by %s", 
+                memberId, userRole.name());
             
             return member;
             
@@ -199,6 +205,8 @@ public class MemberService {
             }
             Logger.logException("MemberService", "Error updating member", e);
             throw new ServiceException("Error updating member", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -223,6 +231,33 @@ public class MemberService {
         } catch (DataAccessException e) {
             Logger.logException("MemberService", "Error getting all members", e);
             throw new ServiceException("Error getting all members", e);
+        } finally {
+            releaseConnection();
+        }
+    }
+
+    /**
+     * Get one page of members (newest first)
+     * @param after Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of members in the page
+     */
+    public Page<Member> getMembersPage(PageCursor after, int limit, User.Role userRole) {
+        try {
+            // Both ADMIN and ASSISTANT can view members
+            validatePermissionForCreate(userRole);
+            
+            Page<Member> page = memberDao.findPage(after, limit);
+            if (after == null && page.getItems().isEmpty()) {
+                throw new NotFoundException("No members found");
+            }
+            
+            return page;
+            
+        } catch (DataAccessException e) {
+            Logger.logException("MemberService", "Error getting page of members", e);
+            throw new ServiceException("Error getting page of members", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -247,6 +282,8 @@ public class MemberService {
         } catch (DataAccessException e) {
             Logger.logException("MemberService", "Error finding member by ID", e);
             throw new ServiceException("Error finding member", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -264,7 +301,7 @@ public class MemberService {
         }
         
         // Both ADMIN and ASSISTANT have permission to create/update
-        Logger.info("MemberService", String.format("Permission validated for create/update - Role: %s", userRole.name()));
+        Logger.debug("MemberService", "Permission validated for create/update - Role: %s", userRole.name());
     }
 
     /**
@@ -280,6 +317,17 @@ public class MemberService {
             throw new UnauthorizedException("Only ADMIN users can delete members");
         }
         
-        Logger.info("MemberService", String.format("Permission validated for delete - Role: %s", userRole.name()));
+        Logger.debug("MemberService", "Permission validated for delete - Role: %s", userRole.name());
+    }
+
+    /**
+     * Return the connection used by this unit of work to the pool
+     */
+    private void releaseConnection() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            Logger.logException("MemberService", "Error releasing connection", e);
+        }
     }
 }
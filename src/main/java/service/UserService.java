@@ -1,5 +1,7 @@
 package service;
 
+import dao.Page;
+import dao.PageCursor;
 import dao.UserDao;
 import domain.User;
 import errors.*;
@@ -40,8 +42,8 @@ public class UserService {
             // Commit transaction
             connection.commit();
             
-            Logger.info("UserService", String.format("User created successfully - Username: %s by %s", 
-                savedUser.getUserName(), currentUserRole.name()));
+            Logger.info("UserService", "User created successfully - Username: %s by %s", 
+                savedUser.getUserName(), currentUserRole.name());
             
             return savedUser;
             
@@ -62,6 +64,8 @@ public class UserService {
             }
             Logger.logException("UserService", "Error creating user", e);
             throw new ServiceException("Error creating user", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -104,8 +108,8 @@ public class UserService {
             // Commit transaction
             connection.commit();
             
-            Logger.info("UserService", String.format("User updated successfully - ID: %d by %s", 
-                id, currentUserRole.name()));
+            Logger.info("UserService", "User updated successfully - ID: %d by %s", 
+                id, currentUserRole.name());
             
             return user;
             
@@ -126,6 +130,8 @@ public class UserService {
             }
             Logger.logException("UserService", "Error updating user", e);
             throw new ServiceException("Error updating user", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -148,8 +154,8 @@ public class UserService {
             if (deleted) {
                 // Commit transaction
                 connection.commit();
-                Logger.info("UserService", String.format("User deleted successfully - ID: %d by %s", 
-                    id, currentUserRole.name()));
+                Logger.info("UserService", "User deleted successfully - ID: %d by %s", 
+                    id, currentUserRole.name());
             }
             
             return deleted;
@@ -171,6 +177,8 @@ public class UserService {
             }
             Logger.logException("UserService", "Error deleting user", e);
             throw new ServiceException("Error deleting user", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -192,6 +200,33 @@ public class UserService {
         } catch (DataAccessException e) {
             Logger.logException("UserService", "Error getting all users", e);
             throw new ServiceException("Error getting all users", e);
+        } finally {
+            releaseConnection();
+        }
+    }
+
+    /**
+     * Get one page of users (newest first)
+     * @param after Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of users in the page
+     */
+    public Page<User> getUsersPage(PageCursor after, int limit, User.Role currentUserRole) {
+        try {
+            // Only ADMIN can view all users
+            validatePermissionForView(currentUserRole);
+            
+            Page<User> page = userDao.findPage(after, limit);
+            if (after == null && page.getItems().isEmpty()) {
+                throw new NotFoundException("No users found");
+            }
+            
+            return page;
+            
+        } catch (DataAccessException e) {
+            Logger.logException("UserService", "Error getting page of users", e);
+            throw new ServiceException("Error getting page of users", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -213,6 +248,8 @@ public class UserService {
         } catch (DataAccessException e) {
             Logger.logException("UserService", "Error finding user by ID", e);
             throw new ServiceException("Error finding user", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -234,6 +271,8 @@ public class UserService {
         } catch (DataAccessException e) {
             Logger.logException("UserService", "Error finding user by username", e);
             throw new ServiceException("Error finding user", e);
+        } finally {
+            releaseConnection();
         }
     }
 
@@ -249,7 +288,7 @@ public class UserService {
             throw new UnauthorizedException("Only ADMIN users can create users");
         }
         
-        Logger.info("UserService", String.format("Permission validated for create - Role: %s", userRole.name()));
+        Logger.debug("UserService", "Permission validated for create - Role: %s", userRole.name());
     }
 
     /**
@@ -264,7 +303,7 @@ public class UserService {
             throw new UnauthorizedException("Only ADMIN users can update users");
         }
         
-        Logger.info("UserService", String.format("Permission validated for update - Role: %s", userRole.name()));
+        Logger.debug("UserService", "Permission validated for update - Role: %s", userRole.name());
     }
 
     /**
@@ -279,7 +318,7 @@ public class UserService {
             throw new UnauthorizedException("Only ADMIN users can delete users");
         }
         
-        Logger.info("UserService", String.format("Permission validated for delete - Role: %s", userRole.name()));
+        Logger.debug("UserService", "Permission validated for delete - Role: %s", userRole.name());
     }
 
     /**
@@ -294,6 +333,17 @@ public class UserService {
             throw new UnauthorizedException("Only ADMIN users can view users");
         }
         
-        Logger.info("UserService", String.format("Permission validated for view - Role: %s", userRole.name()));
+        Logger.debug("UserService", "Permission validated for view - Role: %s", userRole.name());
+    }
+
+    /**
+     * Return the connection used by this unit of work to the pool
+     */
+    private void releaseConnection() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            Logger.logException("UserService", "Error releasing connection", e);
+        }
     }
 }
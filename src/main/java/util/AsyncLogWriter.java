@@ -0,0 +1,242 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background log writer fed by a bounded lock-free ring buffer.
+ * Any number of threads enqueue events; a single writer thread drains them in batches
+ * into a buffer that is written to a file channel kept open for the life of the writer.
+ * The buffer is written when it fills up and at least every flush interval.
+ */
+final class AsyncLogWriter {
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AtomicReferenceArray<Event> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    private final Logger.OverflowPolicy policy;
+    private final int sampleRate;
+    private final long flushIntervalNanos;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong overflowCounter = new AtomicLong();
+
+    private final FileChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final StringBuilder line = new StringBuilder(256);
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedTimestamp;
+
+    /**
+     * @param file Log file (appended to)
+     * @param capacity Ring buffer slots, rounded up to a power of two
+     * @param policy What producers do when the buffer is full
+     * @param sampleRate With SAMPLE, keep one of every sampleRate events while full
+     * @param flushIntervalMs Maximum time an event waits in memory before being written
+     */
+    AsyncLogWriter(Path file, int capacity, Logger.OverflowPolicy policy, int sampleRate, long flushIntervalMs) throws IOException {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.policy = policy;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        this.writer = new Thread(this::run, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue an event. ERROR events are never dropped; they wait for space like BLOCK.
+     * @return false if the writer has been shut down and the event was not queued
+     */
+    boolean enqueue(Event event) {
+        boolean mayDiscard = policy != Logger.OverflowPolicy.BLOCK && event.level != Logger.Level.ERROR;
+
+        while (running) {
+            long t = tail.get();
+            if (t - head >= slots.length()) {
+                if (mayDiscard && discardOnOverflow()) {
+                    return true;
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                continue;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.set((int) (t & mask), event);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stop accepting events, write everything already queued and close the file
+     */
+    void shutdown(long timeoutMs) {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return true if the event should be discarded, false if the producer should wait for space
+     */
+    private boolean discardOnOverflow() {
+        if (policy == Logger.OverflowPolicy.SAMPLE && overflowCounter.incrementAndGet() % sampleRate == 0) {
+            return false;
+        }
+        dropped.incrementAndGet();
+        return true;
+    }
+
+    private void run() {
+        long lastFlush = System.nanoTime();
+        try {
+            while (true) {
+                boolean stopping = !running;
+                int drained = drain();
+
+                long now = System.nanoTime();
+                if (out.position() > 0 && (drained == 0 || now - lastFlush >= flushIntervalNanos)) {
+                    reportDropped();
+                    writeOut();
+                    lastFlush = now;
+                }
+
+                if (stopping && drained == 0 && tail.get() == head) {
+                    break;
+                }
+                if (drained == 0) {
+                    LockSupport.parkNanos(flushIntervalNanos);
+                }
+            }
+            reportDropped();
+            writeOut();
+        } catch (IOException e) {
+            System.err.println("Failed to write to log file: " + e.getMessage());
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close log file: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Move every published event from the ring buffer into the write buffer
+     */
+    private int drain() throws IOException {
+        int count = 0;
+        long h = head;
+        while (true) {
+            int index = (int) (h & mask);
+            Event event = slots.get(index);
+            if (event == null) {
+                // Either empty or a producer claimed the slot but has not published yet
+                break;
+            }
+            slots.set(index, null);
+            head = ++h;
+            append(event);
+            count++;
+        }
+        return count;
+    }
+
+    private void reportDropped() throws IOException {
+        long count = dropped.getAndSet(0);
+        if (count > 0) {
+            append(new Event(System.currentTimeMillis(), Logger.Level.WARN, "Logger",
+                    count + " log event(s) dropped because the log buffer was full", null));
+        }
+    }
+
+    private void append(Event event) throws IOException {
+        line.setLength(0);
+        line.append('[').append(timestamp(event.timestamp)).append("] [")
+                .append(event.level).append("] [")
+                .append(event.component).append("] ")
+                .append(event.message).append(System.lineSeparator());
+        if (event.detail != null) {
+            line.append(event.detail);
+        }
+
+        CharBuffer chars = CharBuffer.wrap(line);
+        while (true) {
+            CoderResult result = encoder.encode(chars, out, true);
+            if (result.isOverflow()) {
+                writeOut();
+                continue;
+            }
+            break;
+        }
+        encoder.reset();
+    }
+
+    private void writeOut() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    private String timestamp(long epochMillis) {
+        long second = epochMillis / 1000;
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedTimestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault())
+                    .format(Logger.DATE_FORMAT);
+        }
+        return cachedTimestamp;
+    }
+
+    /**
+     * One queued log entry
+     */
+    static final class Event {
+        final long timestamp;
+        final Logger.Level level;
+        final String component;
+        final String message;
+        final String detail;
+
+        Event(long timestamp, Logger.Level level, String component, String message, String detail) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.component = component;
+            this.message = message;
+            this.detail = detail;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Write-only channel that compresses into a file on its own thread.
+ * Written bytes are copied into fixed-size chunks that a compressor thread deflates and writes out,
+ * so the caller keeps encoding rows while the previous chunks are compressed. A small pool of chunks
+ * is recycled between the two threads, keeping memory flat.
+ * <p>
+ * GZIP writes a single gzip member. BLOCK_GZIP writes every chunk as its own gzip member of at most
+ * 64 KiB whose header carries the member size (the BGZF layout), followed by an empty end-of-file
+ * member. Any gzip tool reads both; block files can also be split at block boundaries
+ * ({@link #blockOffsets}) to decompress blocks in parallel or to start reading at a given block.
+ * Concatenated outputs remain valid files of the same kind.
+ */
+public class CompressingChannel implements WritableByteChannel {
+    /** Uncompressed bytes per block, small enough that a block never exceeds 64 KiB once deflated */
+    static final int BLOCK_INPUT_BYTES = 0xff00;
+    private static final int MAX_BLOCK_BYTES = 0x10000;
+    private static final int BLOCK_HEADER_BYTES = 18;
+    private static final int TRAILER_BYTES = 8;
+    private static final int STREAM_CHUNK_BYTES = 256 * 1024;
+    private static final int CHUNKS = 8;
+    private static final Chunk END = new Chunk(0);
+
+    private final FileChannel file;
+    private final Compression compression;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(CHUNKS + 1);
+    private final BlockingQueue<Chunk> free = new ArrayBlockingQueue<>(CHUNKS);
+    private final ByteBuffer output;
+    private final Thread compressor;
+    private volatile IOException failure;
+    private Chunk current;
+    private boolean open = true;
+    private long streamBytes;
+
+    /**
+     * @param file Channel the compressed bytes are written to; closed with this channel
+     * @param compression GZIP or BLOCK_GZIP
+     * @param level Deflate level, 0 (store) to 9 (smallest)
+     */
+    public CompressingChannel(FileChannel file, Compression compression, int level) {
+        if (compression == Compression.NONE) {
+            throw new IllegalArgumentException("Use the file channel directly for uncompressed output");
+        }
+        if (level < Compression.MIN_LEVEL || level > Compression.MAX_LEVEL) {
+            throw new IllegalArgumentException("Compression level must be between "
+                    + Compression.MIN_LEVEL + " and " + Compression.MAX_LEVEL);
+        }
+        this.file = file;
+        this.compression = compression;
+        this.deflater = new Deflater(level, true);
+        int chunkBytes = compression == Compression.BLOCK_GZIP ? BLOCK_INPUT_BYTES : STREAM_CHUNK_BYTES;
+        for (int i = 0; i < CHUNKS; i++) {
+            free.add(new Chunk(chunkBytes));
+        }
+        this.output = ByteBuffer.allocate(compression == Compression.BLOCK_GZIP ? MAX_BLOCK_BYTES : STREAM_CHUNK_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        this.compressor = new Thread(this::run, "export-compressor");
+        compressor.setDaemon(true);
+        compressor.start();
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        checkFailure();
+        int written = src.remaining();
+        while (src.hasRemaining()) {
+            if (current == null) {
+                current = take(free);
+            }
+            int count = Math.min(src.remaining(), current.data.length - current.length);
+            src.get(current.data, current.length, count);
+            current.length += count;
+            if (current.length == current.data.length) {
+                put(current);
+                current = null;
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Compress what is left, write the trailer and close the file
+     */
+    @Override
+    public void close() throws IOException {
+        if (!open) {
+            return;
+        }
+        open = false;
+        try {
+            if (current != null && current.length > 0) {
+                put(current);
+            }
+            current = null;
+            put(END);
+            compressor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            compressor.interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("Interrupted while finishing compression");
+            closeFile(interrupted);
+            throw interrupted;
+        } catch (IOException e) {
+            closeFile(e);
+            throw e;
+        } finally {
+            deflater.end();
+        }
+        file.close();
+        checkFailure();
+    }
+
+    /**
+     * Start offset of every block of a BLOCK_GZIP file, read from the block headers.
+     * Block i spans [offsets[i], offsets[i + 1]) and can be decompressed on its own.
+     * @throws IOException if the file is not a block-compressed file
+     */
+    public static long[] blockOffsets(FileChannel file) throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        long size = file.size();
+        long position = 0;
+        while (position < size) {
+            header.clear();
+            while (header.hasRemaining() && file.read(header, position + header.position()) > 0) {
+                // read the whole header
+            }
+            if (header.hasRemaining() || (header.get(0) & 0xff) != 0x1f || (header.get(1) & 0xff) != 0x8b
+                    || (header.get(3) & 0x04) == 0 || header.get(12) != 'B' || header.get(13) != 'C') {
+                throw new IOException("Not a block-compressed file at offset " + position);
+            }
+            offsets.add(position);
+            position += (header.getShort(16) & 0xffff) + 1;
+        }
+        long[] result = new long[offsets.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = offsets.get(i);
+        }
+        return result;
+    }
+
+    private void run() {
+        try {
+            if (compression == Compression.GZIP) {
+                writeStreamHeader();
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+        try {
+            while (true) {
+                Chunk chunk = filled.take();
+                if (chunk == END) {
+                    break;
+                }
+                // After a failure keep recycling chunks so the writer never blocks; it sees the failure next call
+                if (failure == null) {
+                    compress(chunk);
+                }
+                chunk.length = 0;
+                free.put(chunk);
+            }
+            if (failure == null) {
+                finish();
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("Compression interrupted");
+        }
+    }
+
+    private void compress(Chunk chunk) {
+        try {
+            if (compression == Compression.BLOCK_GZIP) {
+                writeBlock(chunk.data, chunk.length);
+            } else {
+                crc.update(chunk.data, 0, chunk.length);
+                streamBytes += chunk.length;
+                deflater.setInput(chunk.data, 0, chunk.length);
+                while (!deflater.needsInput()) {
+                    deflateInto(Deflater.NO_FLUSH);
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private void finish() throws IOException {
+        if (compression == Compression.BLOCK_GZIP) {
+            // Empty block marking a complete file
+            writeBlock(new byte[0], 0);
+            return;
+        }
+        deflater.finish();
+        while (!deflater.finished()) {
+            deflateInto(Deflater.NO_FLUSH);
+        }
+        output.clear();
+        output.putInt((int) crc.getValue()).putInt((int) streamBytes);
+        writeOutput();
+    }
+
+    private void writeStreamHeader() throws IOException {
+        output.clear();
+        output.put((byte) 0x1f).put((byte) 0x8b).put((byte) Deflater.DEFLATED).put((byte) 0)
+                .putInt(0).put((byte) 0).put((byte) 0xff);
+        writeOutput();
+    }
+
+    /**
+     * One gzip member with a BC extra field holding the member size minus one
+     */
+    private void writeBlock(byte[] data, int length) throws IOException {
+        deflater.reset();
+        deflater.setInput(data, 0, length);
+        deflater.finish();
+        byte[] block = output.array();
+        int limit = MAX_BLOCK_BYTES - TRAILER_BYTES;
+        int compressed = BLOCK_HEADER_BYTES;
+        while (!deflater.finished() && compressed < limit) {
+            compressed += deflater.deflate(block, compressed, limit - compressed);
+        }
+        if (!deflater.finished()) {
+            throw new IOException("Compressed block exceeds " + MAX_BLOCK_BYTES + " bytes");
+        }
+        crc.reset();
+        crc.update(data, 0, length);
+        int blockSize = compressed + TRAILER_BYTES;
+
+        output.clear();
+        output.put((byte) 0x1f).put((byte) 0x8b).put((byte) Deflater.DEFLATED).put((byte) 0x04)
+                .putInt(0).put((byte) 0).put((byte) 0xff)
+                .putShort((short) 6).put((byte) 'B').put((byte) 'C').putShort((short) 2)
+                .putShort((short) (blockSize - 1));
+        output.position(compressed);
+        output.putInt((int) crc.getValue()).putInt(length);
+        writeOutput();
+    }
+
+    private void deflateInto(int flush) throws IOException {
+        int count = deflater.deflate(output.array(), 0, output.capacity(), flush);
+        if (count > 0) {
+            output.clear().position(count);
+            writeOutput();
+        }
+    }
+
+    private void writeOutput() throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            file.write(output);
+        }
+        output.clear();
+    }
+
+    private Chunk take(BlockingQueue<Chunk> queue) throws IOException {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the compressor");
+        }
+    }
+
+    private void put(Chunk chunk) throws IOException {
+        try {
+            filled.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the compressor");
+        }
+    }
+
+    /**
+     * Close the file after a failure, keeping the original failure
+     */
+    private void closeFile(IOException failure) {
+        try {
+            file.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        IOException e = failure;
+        if (e != null) {
+            throw new IOException("Compression failed", e);
+        }
+    }
+
+    /**
+     * Uncompressed bytes waiting for the compressor
+     */
+    private static final class Chunk {
+        final byte[] data;
+        int length;
+
+        Chunk(int size) {
+            this.data = new byte[size];
+        }
+    }
+}
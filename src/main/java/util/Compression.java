@@ -0,0 +1,59 @@
+package util;
+
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+/**
+ * Compression applied to export files
+ */
+public enum Compression {
+    /** Plain file */
+    NONE("none", ""),
+    /** One gzip stream */
+    GZIP("gzip", ".gz"),
+    /** Independent gzip blocks of at most 64 KiB that record their own size (BGZF layout), see CompressingChannel */
+    BLOCK_GZIP("block", ".bgz");
+
+    public static final int MIN_LEVEL = Deflater.NO_COMPRESSION;
+    public static final int MAX_LEVEL = Deflater.BEST_COMPRESSION;
+    public static final int DEFAULT_LEVEL = 6;
+
+    private final String name;
+    private final String extension;
+
+    Compression(String name, String extension) {
+        this.name = name;
+        this.extension = extension;
+    }
+
+    /**
+     * Name used in menus and requests ("none", "gzip", "block")
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Suffix appended to the file name ("" for NONE)
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Compression by name, ignoring case
+     * @return The compression, or null if the name is unknown
+     */
+    public static Compression fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        for (Compression compression : values()) {
+            if (compression.name.equals(key)) {
+                return compression;
+            }
+        }
+        return null;
+    }
+}
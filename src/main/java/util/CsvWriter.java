@@ -0,0 +1,293 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Streaming CSV writer: encodes fields straight into one reusable UTF-8 byte buffer that is
+ * written to a file channel whenever it fills up, so memory stays flat however many rows
+ * are written. Numbers and dates are formatted digit by digit without intermediate strings.
+ * Writes the format read by CsvReader: fields that contain commas, quotes or line breaks are
+ * wrapped in double quotes, with "" for a literal quote. The file can be compressed on a separate
+ * thread (see CompressingChannel).
+ */
+public class CsvWriter implements Closeable {
+    private static final int MIN_BUFFER_BYTES = 4 * 1024;
+    private static final byte[] LONG_MIN = Long.toString(Long.MIN_VALUE).getBytes();
+
+    private final WritableByteChannel channel;
+    private final byte[] buffer;
+    private final ByteBuffer view;
+    private final byte[] digits = new byte[20];
+    private int position;
+    private boolean firstField = true;
+    private long rows;
+
+    /**
+     * @param file File to create (truncated if it exists)
+     * @param bufferBytes Bytes held in memory between writes to the file
+     */
+    public CsvWriter(Path file, int bufferBytes) throws IOException {
+        this(file, bufferBytes, Compression.NONE, Compression.DEFAULT_LEVEL);
+    }
+
+    /**
+     * @param file File to create (truncated if it exists)
+     * @param bufferBytes Bytes held in memory between writes to the file (or to the compressor)
+     * @param compression Compression of the file
+     * @param level Deflate level, 0 to 9 (ignored for NONE)
+     */
+    public CsvWriter(Path file, int bufferBytes, Compression compression, int level) throws IOException {
+        this.buffer = new byte[Math.max(MIN_BUFFER_BYTES, bufferBytes)];
+        this.view = ByteBuffer.wrap(buffer);
+        FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        if (compression == Compression.NONE) {
+            this.channel = fileChannel;
+        } else {
+            try {
+                this.channel = new CompressingChannel(fileChannel, compression, level);
+            } catch (IllegalArgumentException e) {
+                fileChannel.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Write a header or any row of plain text fields
+     */
+    public CsvWriter row(String... fields) throws IOException {
+        for (String field : fields) {
+            field(field);
+        }
+        return endRow();
+    }
+
+    /**
+     * Text field, quoted only when needed (null is written as an empty field)
+     */
+    public CsvWriter field(String value) throws IOException {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        if (!needsQuotes(value)) {
+            putText(value);
+            return this;
+        }
+        putAscii('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                putAscii('"');
+            }
+            putChar(value, i, c);
+            if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                i++;
+            }
+        }
+        putAscii('"');
+        return this;
+    }
+
+    /**
+     * Integer field
+     */
+    public CsvWriter field(long value) throws IOException {
+        separator();
+        putLong(value);
+        return this;
+    }
+
+    /**
+     * Decimal field with two decimals ("12.50"), rounded half up from the shortest decimal
+     * representation of the value as String.format("%.2f") does, so 1.005 gives "1.01"
+     */
+    public CsvWriter fieldCents(double value) throws IOException {
+        separator();
+        long cents = BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+        if (cents < 0) {
+            putAscii('-');
+            cents = -cents;
+        }
+        putLong(cents / 100);
+        putAscii('.');
+        int fraction = (int) (cents % 100);
+        putAscii((char) ('0' + fraction / 10));
+        putAscii((char) ('0' + fraction % 10));
+        return this;
+    }
+
+    /**
+     * Date field as dd/MM/yyyy, or the fallback text when the date is null
+     */
+    public CsvWriter field(LocalDate date, String ifNull) throws IOException {
+        if (date == null) {
+            return field(ifNull);
+        }
+        separator();
+        ensure(10);
+        putTwoDigits(date.getDayOfMonth());
+        buffer[position++] = '/';
+        putTwoDigits(date.getMonthValue());
+        buffer[position++] = '/';
+        int year = date.getYear();
+        if (year >= 0 && year <= 9999) {
+            putTwoDigits(year / 100);
+            putTwoDigits(year % 100);
+        } else {
+            putLong(year);
+        }
+        return this;
+    }
+
+    /**
+     * End the current row
+     */
+    public CsvWriter endRow() throws IOException {
+        putAscii('\n');
+        firstField = true;
+        rows++;
+        return this;
+    }
+
+    /**
+     * Rows written so far, header included
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Write the buffered bytes to the file (or hand them to the compressor)
+     */
+    public void flush() throws IOException {
+        view.clear().limit(position);
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+        position = 0;
+    }
+
+    /**
+     * Write the buffered bytes and close the file
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } catch (IOException e) {
+            try {
+                channel.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        channel.close();
+    }
+
+    private void separator() throws IOException {
+        if (firstField) {
+            firstField = false;
+        } else {
+            putAscii(',');
+        }
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void putText(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            putChar(value, i, c);
+            if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * UTF-8 encode one character; a high surrogate consumes the low surrogate that follows it
+     */
+    private void putChar(String value, int index, char c) throws IOException {
+        ensure(4);
+        if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int cp = Character.toCodePoint(c, value.charAt(index + 1));
+            buffer[position++] = (byte) (0xF0 | (cp >> 18));
+            buffer[position++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            buffer[position++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (cp & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            // Unpaired surrogate: same replacement the JDK encoder uses
+            buffer[position++] = '?';
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void putLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            ensure(LONG_MIN.length);
+            System.arraycopy(LONG_MIN, 0, buffer, position, LONG_MIN.length);
+            position += LONG_MIN.length;
+            return;
+        }
+        ensure(digits.length);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int start = digits.length;
+        do {
+            digits[--start] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        int count = digits.length - start;
+        System.arraycopy(digits, start, buffer, position, count);
+        position += count;
+    }
+
+    private void putTwoDigits(int value) {
+        buffer[position++] = (byte) ('0' + value / 10);
+        buffer[position++] = (byte) ('0' + value % 10);
+    }
+
+    private void putAscii(char c) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package util;
+
+/**
+ * ISBN validation and compact encoding.
+ * An ISBN-10 or ISBN-13, with or without hyphens and spaces, is reduced to its ISBN-13 digits
+ * and packed into a primitive long ("978-3-16-148410-0" -> 9783161484100L). Both forms of the
+ * same book get the same key, and 0 is never a valid key.
+ */
+public final class Isbn {
+    /**
+     * Returned by {@link #encode} for text that is not a valid ISBN
+     */
+    public static final long INVALID = -1L;
+
+    private Isbn() {
+    }
+
+    /**
+     * Encode an ISBN as its ISBN-13 number
+     * @param isbn ISBN-10 or ISBN-13, hyphens and spaces allowed (may be null)
+     * @return The ISBN-13 as a long, or {@link #INVALID} if the text is not a valid ISBN
+     */
+    public static long encode(String isbn) {
+        if (isbn == null) {
+            return INVALID;
+        }
+        char[] digits = new char[13];
+        int count = 0;
+        boolean checkX = false;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            if (count == 13 || checkX) {
+                return INVALID;
+            }
+            if (c == 'X' || c == 'x') {
+                // Only valid as the check digit of an ISBN-10
+                if (count != 9) {
+                    return INVALID;
+                }
+                checkX = true;
+            } else if (c < '0' || c > '9') {
+                return INVALID;
+            }
+            digits[count++] = c;
+        }
+
+        if (count == 10) {
+            return encodeIsbn10(digits);
+        }
+        if (count == 13) {
+            return encodeIsbn13(digits);
+        }
+        return INVALID;
+    }
+
+    /**
+     * Whether the text is a valid ISBN-10 or ISBN-13
+     */
+    public static boolean isValid(String isbn) {
+        return encode(isbn) != INVALID;
+    }
+
+    /**
+     * ISBN-13 digits of an ISBN, without separators
+     * @return 13 digits, or null if the text is not a valid ISBN
+     */
+    public static String normalize(String isbn) {
+        long key = encode(isbn);
+        return key == INVALID ? null : format(key);
+    }
+
+    /**
+     * ISBN-13 digits of an encoded key
+     */
+    public static String format(long key) {
+        return Long.toString(key);
+    }
+
+    private static long encodeIsbn13(char[] digits) {
+        if (digits[0] != '9' || digits[1] != '7' || (digits[2] != '8' && digits[2] != '9')) {
+            return INVALID;
+        }
+        long value = 0;
+        int sum = 0;
+        for (int i = 0; i < 13; i++) {
+            int digit = digits[i] - '0';
+            value = value * 10 + digit;
+            sum += (i % 2 == 0) ? digit : digit * 3;
+        }
+        return sum % 10 == 0 ? value : INVALID;
+    }
+
+    private static long encodeIsbn10(char[] digits) {
+        int sum = 0;
+        for (int i = 0; i < 10; i++) {
+            int digit = (digits[i] == 'X' || digits[i] == 'x') ? 10 : digits[i] - '0';
+            sum += digit * (10 - i);
+        }
+        if (sum % 11 != 0) {
+            return INVALID;
+        }
+
+        // Same book as ISBN-13: 978 prefix, first nine digits, new check digit
+        long value = 978;
+        int sum13 = 9 + 7 * 3 + 8;
+        for (int i = 0; i < 9; i++) {
+            int digit = digits[i] - '0';
+            value = value * 10 + digit;
+            sum13 += ((i + 3) % 2 == 0) ? digit : digit * 3;
+        }
+        return value * 10 + (10 - sum13 % 10) % 10;
+    }
+}
@@ -3,25 +3,138 @@ package util;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Supplier;
 
 /**
  * Centralized logging utility for the application.
  * Logs all activities and errors to app.log file.
+ * By default every call appends to the file directly; after {@link #startAsync}
+ * entries are queued and written by a background thread until {@link #shutdown()}.
+ * Entries below the minimum level of their component are discarded before any
+ * formatting happens; see {@link #configureLevels(Properties)}.
  */
 public class Logger {
     private static final String LOG_FILE = "app.log";
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    private static final String LEVEL_KEY = "log.level";
+    private static final String COMPONENT_LEVEL_PREFIX = "log.level.";
+
+    private static volatile AsyncLogWriter asyncWriter;
+    private static volatile Level defaultLevel = Level.INFO;
+    private static volatile Map<String, Level> componentLevels = Map.of();
     
     /**
      * Log levels for categorizing log entries
      */
     public enum Level {
-        INFO,    // General information
-        WARN,    // Warning messages
-        ERROR,   // Error messages
-        DEBUG    // Debug information
+        INFO(1),    // General information
+        WARN(2),    // Warning messages
+        ERROR(3),   // Error messages
+        DEBUG(0);   // Debug information
+
+        private final int severity;
+
+        Level(int severity) {
+            this.severity = severity;
+        }
+
+        /**
+         * Whether entries of this level pass a minimum level
+         */
+        public boolean isAtLeast(Level minimum) {
+            return severity >= minimum.severity;
+        }
+    }
+
+    /**
+     * What a caller does when the async log buffer is full.
+     * ERROR entries always wait for space, whatever the policy.
+     */
+    public enum OverflowPolicy {
+        BLOCK,   // Wait until the writer frees a slot
+        DROP,    // Discard the entry
+        SAMPLE   // Keep one of every sampleRate entries, discard the rest
+    }
+
+    /**
+     * Switch to asynchronous logging
+     * @param capacity Number of entries the buffer holds (rounded up to a power of two)
+     * @param policy What callers do when the buffer is full
+     * @param sampleRate With SAMPLE, keep one of every sampleRate entries while the buffer is full
+     * @param flushIntervalMs Maximum time an entry waits in memory before reaching the file
+     */
+    public static synchronized void startAsync(int capacity, OverflowPolicy policy, int sampleRate, long flushIntervalMs) {
+        if (asyncWriter != null) {
+            return;
+        }
+        try {
+            asyncWriter = new AsyncLogWriter(Paths.get(LOG_FILE), capacity, policy, sampleRate, flushIntervalMs);
+            // Queued entries still reach the file if the JVM exits without calling shutdown()
+            Runtime.getRuntime().addShutdownHook(new Thread(Logger::shutdown, "log-shutdown"));
+        } catch (IOException e) {
+            System.err.println("Failed to start async logging, writing synchronously: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write every queued entry and go back to synchronous logging
+     */
+    public static synchronized void shutdown() {
+        AsyncLogWriter writer = asyncWriter;
+        if (writer == null) {
+            return;
+        }
+        asyncWriter = null;
+        writer.shutdown(SHUTDOWN_TIMEOUT_MS);
+    }
+
+    /**
+     * Load minimum levels from configuration.
+     * log.level sets the default (INFO if absent); log.level.&lt;Component&gt; overrides it
+     * for one component, e.g. log.level.LoanService=WARN
+     * @param properties Application properties
+     */
+    public static void configureLevels(Properties properties) {
+        Level configuredDefault = parseLevel(properties.getProperty(LEVEL_KEY), Level.INFO);
+        Map<String, Level> configuredComponents = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(COMPONENT_LEVEL_PREFIX)) {
+                String component = key.substring(COMPONENT_LEVEL_PREFIX.length());
+                configuredComponents.put(component, parseLevel(properties.getProperty(key), configuredDefault));
+            }
+        }
+        defaultLevel = configuredDefault;
+        componentLevels = Map.copyOf(configuredComponents);
+    }
+
+    /**
+     * Whether entries of a level are written for a component
+     */
+    public static boolean isEnabled(Level level, String component) {
+        Level minimum = componentLevels.getOrDefault(component, defaultLevel);
+        return level.isAtLeast(minimum);
+    }
+
+    private static Level parseLevel(String value, Level fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown log level '" + value + "', using " + fallback);
+            return fallback;
+        }
     }
     
     /**
@@ -31,6 +144,45 @@ public class Logger {
      * @param message Log message
      */
     public static void log(Level level, String component, String message) {
+        if (!isEnabled(level, component)) {
+            return;
+        }
+        write(level, component, message);
+    }
+
+    /**
+     * Write a log entry built from a format pattern; the pattern is only formatted if the level is enabled
+     * @param level Log level
+     * @param component Component or class name generating the log
+     * @param format String.format pattern
+     * @param args Pattern arguments
+     */
+    public static void log(Level level, String component, String format, Object... args) {
+        if (!isEnabled(level, component)) {
+            return;
+        }
+        write(level, component, String.format(format, args));
+    }
+
+    /**
+     * Write a log entry whose message is only built if the level is enabled
+     * @param level Log level
+     * @param component Component or class name generating the log
+     * @param message Message supplier
+     */
+    public static void log(Level level, String component, Supplier<String> message) {
+        if (!isEnabled(level, component)) {
+            return;
+        }
+        write(level, component, message.get());
+    }
+
+    private static void write(Level level, String component, String message) {
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null && writer.enqueue(new AsyncLogWriter.Event(System.currentTimeMillis(), level, component, message, null))) {
+            return;
+        }
+
         String timestamp = LocalDateTime.now().format(DATE_FORMAT);
         String logEntry = String.format("[%s] [%s] [%s] %s%n", 
                 timestamp, level, component, message);
@@ -50,6 +202,24 @@ public class Logger {
      * @param exception Exception to log
      */
     public static void logException(String component, String message, Exception exception) {
+        if (!isEnabled(Level.ERROR, component)) {
+            return;
+        }
+
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            // The stack trace is captured now; only the file write is deferred
+            StringWriter detail = new StringWriter();
+            PrintWriter pw = new PrintWriter(detail);
+            pw.printf("Exception: %s - %s%n", exception.getClass().getName(), exception.getMessage());
+            exception.printStackTrace(pw);
+            pw.println("---");
+            pw.flush();
+            if (writer.enqueue(new AsyncLogWriter.Event(System.currentTimeMillis(), Level.ERROR, component, message, detail.toString()))) {
+                return;
+            }
+        }
+
         String timestamp = LocalDateTime.now().format(DATE_FORMAT);
         
         try (FileWriter fw = new FileWriter(LOG_FILE, true);
@@ -69,6 +239,20 @@ public class Logger {
     public static void info(String component, String message) {
         log(Level.INFO, component, message);
     }
+
+    /**
+     * INFO level log formatted only if enabled
+     */
+    public static void info(String component, String format, Object... args) {
+        log(Level.INFO, component, format, args);
+    }
+
+    /**
+     * INFO level log built only if enabled
+     */
+    public static void info(String component, Supplier<String> message) {
+        log(Level.INFO, component, message);
+    }
     
     /**
      * Convenience method for WARN level logs
@@ -76,6 +260,20 @@ public class Logger {
     public static void warn(String component, String message) {
         log(Level.WARN, component, message);
     }
+
+    /**
+     * WARN level log formatted only if enabled
+     */
+    public static void warn(String component, String format, Object... args) {
+        log(Level.WARN, component, format, args);
+    }
+
+    /**
+     * WARN level log built only if enabled
+     */
+    public static void warn(String component, Supplier<String> message) {
+        log(Level.WARN, component, message);
+    }
     
     /**
      * Convenience method for ERROR level logs
@@ -83,6 +281,20 @@ public class Logger {
     public static void error(String component, String message) {
         log(Level.ERROR, component, message);
     }
+
+    /**
+     * ERROR level log formatted only if enabled
+     */
+    public static void error(String component, String format, Object... args) {
+        log(Level.ERROR, component, format, args);
+    }
+
+    /**
+     * ERROR level log built only if enabled
+     */
+    public static void error(String component, Supplier<String> message) {
+        log(Level.ERROR, component, message);
+    }
     
     /**
      * Convenience method for DEBUG level logs
@@ -90,4 +302,18 @@ public class Logger {
     public static void debug(String component, String message) {
         log(Level.DEBUG, component, message);
     }
+
+    /**
+     * DEBUG level log formatted only if enabled
+     */
+    public static void debug(String component, String format, Object... args) {
+        log(Level.DEBUG, component, format, args);
+    }
+
+    /**
+     * DEBUG level log built only if enabled
+     */
+    public static void debug(String component, Supplier<String> message) {
+        log(Level.DEBUG, component, message);
+    }
 }
@@ -11,6 +11,7 @@ import domain.User;
 import java.util.HashMap;
 
 public class CatalogView {
+    private static final String PAGE_SIZE = "50";
     private final CatalogController catalogController;
 
     public CatalogView(CatalogController catalogController) {
@@ -42,7 +43,9 @@ public class CatalogView {
                             "4. View All Books\n" +
                             "5. Search Book by ISBN\n" +
                             "6. Filter Books\n" +
-                            "7. Exit\n" +
+                            "7. Import Books from CSV\n" +
+                            "8. Search Books by Title/Author\n" +
+                            "9. Exit\n" +
                             "Select an option:");
             if (option == null) {
                 exit = true;
@@ -67,6 +70,12 @@ public class CatalogView {
                         filterBooksView();
                         break;
                     case "7":
+                        importBooksView();
+                        break;
+                    case "8":
+                        searchBooksByTextView();
+                        break;
+                    case "9":
                         exit = true;
                         break;
                     default:
@@ -86,7 +95,8 @@ public class CatalogView {
                             "2. View All Books\n" +
                             "3. Search Book by ISBN\n" +
                             "4. Filter Books\n" +
-                            "5. Exit\n" +
+                            "5. Search Books by Title/Author\n" +
+                            "6. Exit\n" +
                             "Select an option:");
             if (option == null) {
                 exit = true;
@@ -105,6 +115,9 @@ public class CatalogView {
                         filterBooksView();
                         break;
                     case "5":
+                        searchBooksByTextView();
+                        break;
+                    case "6":
                         exit = true;
                         break;
                     default:
@@ -225,12 +238,77 @@ public class CatalogView {
 
     private void viewAllBooksView() {
         try {
-            HashMap<String, String> response = catalogController.getAllBooks(
-                    SessionContext.getCurrentUser().getRole()
+            User.Role userRole = SessionContext.getCurrentUser().getRole();
+            String cursor = null;
+            int pageNumber = 1;
+
+            while (true) {
+                HashMap<String, String> response = catalogController.getBooksPage(cursor, PAGE_SIZE, userRole);
+
+                if (!response.get("status").equals("200")) {
+                    JOptionPane.showMessageDialog(null, "Error: " + response.get("message"), "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                // Display table in scrollable text area
+                JTextArea textArea = new JTextArea(response.get("message"));
+                textArea.setEditable(false);
+                textArea.setFont(new java.awt.Font("Monospaced", java.awt.Font.PLAIN, 12));
+
+                JScrollPane scrollPane = new JScrollPane(textArea);
+                scrollPane.setPreferredSize(new java.awt.Dimension(900, 400));
+
+                cursor = response.get("nextCursor");
+                String pageTitle = "All Books - Page " + pageNumber;
+                if (cursor == null) {
+                    JOptionPane.showMessageDialog(null, scrollPane, pageTitle, JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+
+                String[] options = {"Next Page", "Close"};
+                int choice = JOptionPane.showOptionDialog(null, scrollPane, pageTitle,
+                        JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[0]);
+                if (choice != 0) {
+                    return;
+                }
+                pageNumber++;
+            }
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void searchBooksByTextView() {
+        try {
+            String[] modeOptions = {"Exact Words", "Tolerate Typos"};
+            int modeChoice = JOptionPane.showOptionDialog(null,
+                    "Select search mode:",
+                    "Search Books",
+                    JOptionPane.DEFAULT_OPTION,
+                    JOptionPane.QUESTION_MESSAGE,
+                    null,
+                    modeOptions,
+                    modeOptions[0]);
+
+            if (modeChoice == -1) {
+                return; // User cancelled
+            }
+
+            String query;
+            String mode;
+            if (modeChoice == 0) {
+                query = getRequiredInput("Enter words from the title or author\n(use OR for alternatives, * for a prefix, e.g. hist*):");
+                mode = "EXACT";
+            } else {
+                query = getRequiredInput("Enter words from the title or author\n(spelling mistakes are tolerated):");
+                mode = "FUZZY";
+            }
+
+            HashMap<String, String> response = catalogController.searchBooks(
+                    query, mode, SessionContext.getCurrentUser().getRole()
             );
 
             if (response.get("status").equals("200")) {
-                // Display table in scrollable text area
                 JTextArea textArea = new JTextArea(response.get("message"));
                 textArea.setEditable(false);
                 textArea.setFont(new java.awt.Font("Monospaced", java.awt.Font.PLAIN, 12));
@@ -238,7 +316,32 @@ public class CatalogView {
                 JScrollPane scrollPane = new JScrollPane(textArea);
                 scrollPane.setPreferredSize(new java.awt.Dimension(900, 400));
 
-                JOptionPane.showMessageDialog(null, scrollPane, "All Books", JOptionPane.INFORMATION_MESSAGE);
+                JOptionPane.showMessageDialog(null, scrollPane, "Search Results", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(null, "Error: " + response.get("message"), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void importBooksView() {
+        try {
+            String filePath = getRequiredInput("Enter path of the CSV file to import:");
+
+            HashMap<String, String> response = catalogController.importBooksFromCSV(
+                    filePath, SessionContext.getCurrentUser().getRole()
+            );
+
+            if (response.get("status").equals("200")) {
+                JTextArea textArea = new JTextArea(response.get("message"));
+                textArea.setEditable(false);
+                textArea.setFont(new java.awt.Font("Monospaced", java.awt.Font.PLAIN, 12));
+
+                JScrollPane scrollPane = new JScrollPane(textArea);
+                scrollPane.setPreferredSize(new java.awt.Dimension(700, 300));
+
+                JOptionPane.showMessageDialog(null, scrollPane, "Import Result", JOptionPane.INFORMATION_MESSAGE);
             } else {
                 JOptionPane.showMessageDialog(null, "Error: " + response.get("message"), "Error", JOptionPane.ERROR_MESSAGE);
             }
@@ -308,7 +411,7 @@ public class CatalogView {
                     break;
 
                 case 1: // By Author
-                    String author = getRequiredInput("Enter Author name (or partial name):");
+                    String author = selectAuthor();
                     response = catalogController.findBooksByAuthor(
                             author,
                             SessionContext.getCurrentUser().getRole()
@@ -321,7 +424,7 @@ public class CatalogView {
                         return; // User cancelled
                     }
                     
-                    String author2 = getRequiredInput("Enter Author name (or partial name):");
+                    String author2 = selectAuthor();
                     response = catalogController.findBooksByCategoryAndAuthor(
                             category2,
                             author2,
@@ -350,6 +453,39 @@ public class CatalogView {
         }
     }
 
+    /**
+     * Helper method to ask for an author, offering the most borrowed authors that start with the typed text
+     * @return Chosen author name, or the typed text if there are no suggestions or it is kept
+     */
+    private String selectAuthor() {
+        String typed = getRequiredInput("Enter Author name (or partial name):");
+        
+        HashMap<String, String> response = catalogController.suggestAuthors(
+                typed,
+                SessionContext.getCurrentUser().getRole()
+        );
+        if (!response.get("status").equals("200")) {
+            return typed;
+        }
+        
+        String[] suggestions = response.get("message").split("\n");
+        String[] choices = new String[suggestions.length + 1];
+        System.arraycopy(suggestions, 0, choices, 0, suggestions.length);
+        choices[suggestions.length] = typed + " (as typed)";
+        
+        Object choice = JOptionPane.showInputDialog(null,
+                "Select an author:",
+                "Author Suggestions",
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                choices,
+                choices[0]);
+        if (choice == null) {
+            throw new RuntimeException("Operation cancelled by user");
+        }
+        return choice == choices[suggestions.length] ? typed : choice.toString();
+    }
+
     /**
      * Helper method to select category from numbered menu
      * @return Category name or null if cancelled
@@ -3,6 +3,7 @@ package view;
 import controller.ExportController;
 import domain.SessionContext;
 import domain.User;
+import util.Compression;
 
 import javax.swing.*;
 import java.util.Map;
@@ -41,7 +42,10 @@ public class ExportView {
                     ╠═══════════════════════════════════════╣
                     ║  1. Export Books Catalog to CSV       ║
                     ║  2. Export Overdue Loans to CSV       ║
-                    ║  3. Return to Main Menu               ║
+                    ║  3. Export Loan History to CSV        ║
+                    ║  4. Export Changed Books (Delta)      ║
+                    ║  5. Export Changed Loans (Delta)      ║
+                    ║  6. Return to Main Menu               ║
                     ╚═══════════════════════════════════════╝
                     
                     Select an option:""";
@@ -55,11 +59,14 @@ public class ExportView {
             switch (input.trim()) {
                 case "1" -> exportCatalogView();
                 case "2" -> exportOverdueLoansView();
-                case "3" -> {
+                case "3" -> exportLoanHistoryView();
+                case "4" -> exportDeltaView("books");
+                case "5" -> exportDeltaView("loans");
+                case "6" -> {
                     return;
                 }
                 default -> JOptionPane.showMessageDialog(null,
-                        "Invalid option. Please select 1-3.",
+                        "Invalid option. Please select 1-6.",
                         "Invalid Option",
                         JOptionPane.WARNING_MESSAGE);
             }
@@ -80,7 +87,13 @@ public class ExportView {
 
         filename = filename.trim();
 
-        Map<String, String> result = exportController.exportBooksToCSV(filename, currentUser.getRole());
+        String[] compression = askCompression();
+        if (compression == null) {
+            return; // User cancelled
+        }
+
+        Map<String, String> result = exportController.exportBooksToCSV(filename, compression[0],
+                Integer.parseInt(compression[1]), currentUser.getRole());
 
         if ("200".equals(result.get("status"))) {
             String message = """
@@ -117,7 +130,13 @@ public class ExportView {
 
         filename = filename.trim();
 
-        Map<String, String> result = exportController.exportOverdueLoansToCSV(filename, currentUser.getRole());
+        String[] compression = askCompression();
+        if (compression == null) {
+            return; // User cancelled
+        }
+
+        Map<String, String> result = exportController.exportOverdueLoansToCSV(filename, compression[0],
+                Integer.parseInt(compression[1]), currentUser.getRole());
 
         if ("200".equals(result.get("status"))) {
             String message = """
@@ -139,4 +158,150 @@ public class ExportView {
                     JOptionPane.ERROR_MESSAGE);
         }
     }
+
+    private void exportLoanHistoryView() {
+        User currentUser = SessionContext.getCurrentUser();
+        
+        String defaultFilename = "historial_prestamos.csv";
+        String filename = JOptionPane.showInputDialog(null,
+                "Enter filename for loan history export:",
+                defaultFilename);
+
+        if (filename == null || filename.trim().isEmpty()) {
+            return; // User cancelled
+        }
+
+        filename = filename.trim();
+
+        String[] compression = askCompression();
+        if (compression == null) {
+            return; // User cancelled
+        }
+
+        Map<String, String> result = exportController.exportLoansToCSV(filename, compression[0],
+                Integer.parseInt(compression[1]), currentUser.getRole());
+
+        if ("200".equals(result.get("status"))) {
+            String message = """
+                    ✓ Loan history exported successfully!
+                    
+                    File: %s
+                    Loans: %s
+                    Time: %s ms (%s partitions)
+                    
+                    The file has been saved in the project directory.
+                    """.formatted(result.get("filePath"), result.get("rows"),
+                    result.get("elapsedMs"), result.get("partitions"));
+
+            JOptionPane.showMessageDialog(null,
+                    message,
+                    "Export Successful",
+                    JOptionPane.INFORMATION_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(null,
+                    "Error exporting loan history:\n" + result.get("message"),
+                    "Export Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void exportDeltaView(String dataset) {
+        User currentUser = SessionContext.getCurrentUser();
+        
+        String target = JOptionPane.showInputDialog(null,
+                "Export target (each target remembers what it has already received):",
+                "nightly");
+
+        if (target == null || target.trim().isEmpty()) {
+            return; // User cancelled
+        }
+
+        String defaultFilename = dataset.equals("books") ? "libros_cambios.csv" : "prestamos_cambios.csv";
+        String filename = JOptionPane.showInputDialog(null,
+                "Enter filename for changed " + dataset + " export:",
+                defaultFilename);
+
+        if (filename == null || filename.trim().isEmpty()) {
+            return; // User cancelled
+        }
+
+        filename = filename.trim();
+
+        String[] compression = askCompression();
+        if (compression == null) {
+            return; // User cancelled
+        }
+
+        int level = Integer.parseInt(compression[1]);
+        Map<String, String> result = dataset.equals("books")
+                ? exportController.exportBooksDelta(target.trim(), filename, compression[0], level, currentUser.getRole())
+                : exportController.exportLoansDelta(target.trim(), filename, compression[0], level, currentUser.getRole());
+
+        if ("200".equals(result.get("status"))) {
+            String message = """
+                    ✓ Changed %s exported successfully!
+                    
+                    File: %s
+                    Rows: %s
+                    Deletions file: %s
+                    Deleted: %s
+                    Changes from: %s
+                    Changes up to: %s
+                    
+                    The files have been saved in the project directory.
+                    """.formatted(dataset, result.get("filePath"), result.get("rows"),
+                    result.get("deletionsFilePath"), result.get("deletedRows"),
+                    result.get("since").isEmpty() ? "the beginning" : result.get("since"), result.get("upTo"));
+
+            JOptionPane.showMessageDialog(null,
+                    message,
+                    "Export Successful",
+                    JOptionPane.INFORMATION_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(null,
+                    "Error exporting changed " + dataset + ":\n" + result.get("message"),
+                    "Export Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Ask for the compression of the exported file and, when compressed, its level
+     * @return {compression, level}, or null if the user cancelled
+     */
+    private String[] askCompression() {
+        String[] options = {"none", "gzip", "block"};
+        Object compression = JOptionPane.showInputDialog(null,
+                "Compression (gzip: smallest file, block: gzip blocks readable in parallel):",
+                "Export Compression",
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                options,
+                options[0]);
+
+        if (compression == null) {
+            return null;
+        }
+        if ("none".equals(compression)) {
+            return new String[]{"none", String.valueOf(Compression.DEFAULT_LEVEL)};
+        }
+
+        while (true) {
+            String level = JOptionPane.showInputDialog(null,
+                    "Compression level (0 = fastest, 9 = smallest):",
+                    String.valueOf(Compression.DEFAULT_LEVEL));
+            if (level == null) {
+                return null;
+            }
+            try {
+                Integer.parseInt(level.trim());
+                return new String[]{compression.toString(), level.trim()};
+            } catch (NumberFormatException e) {
+                JOptionPane.showMessageDialog(null,
+                        "Compression level must be a number",
+                        "Invalid Level",
+                        JOptionPane.WARNING_MESSAGE);
+            }
+        }
+    }
 }
@@ -11,6 +11,7 @@ import domain.User;
 import java.util.HashMap;
 
 public class LoanView {
+    private static final String PAGE_SIZE = "50";
     private final LoanController loanController;
 
     public LoanView(LoanController loanController) {
@@ -44,7 +45,9 @@ public class LoanView {
                             "6. View Loans by Member\n" +
                             "7. View Loans by Book\n" +
                             "8. View Loans by Status\n" +
-                            "9. Exit\n" +
+                            "9. Register Group Loans\n" +
+                            "10. Process Book Drop Returns\n" +
+                            "11. Exit\n" +
                             "Select an option:");
             if (option == null) {
                 exit = true;
@@ -75,6 +78,12 @@ public class LoanView {
                         viewLoansByStatusView();
                         break;
                     case "9":
+                        registerGroupLoansView();
+                        break;
+                    case "10":
+                        markReturnsView();
+                        break;
+                    case "11":
                         exit = true;
                         break;
                     default:
@@ -97,7 +106,9 @@ public class LoanView {
                             "5. View Loans by Member\n" +
                             "6. View Loans by Book\n" +
                             "7. View Loans by Status\n" +
-                            "8. Exit\n" +
+                            "8. Register Group Loans\n" +
+                            "9. Process Book Drop Returns\n" +
+                            "10. Exit\n" +
                             "Select an option:");
             if (option == null) {
                 exit = true;
@@ -125,6 +136,12 @@ public class LoanView {
                         viewLoansByStatusView();
                         break;
                     case "8":
+                        registerGroupLoansView();
+                        break;
+                    case "9":
+                        markReturnsView();
+                        break;
+                    case "10":
                         exit = true;
                         break;
                     default:
@@ -166,6 +183,29 @@ public class LoanView {
         }
     }
 
+    /**
+     * Register many loans at once (class or group checkout)
+     */
+    private void registerGroupLoansView() {
+        JTextArea input = new JTextArea(15, 40);
+        int option = JOptionPane.showConfirmDialog(null,
+                new Object[] {"Enter one loan per line as: Member ID, Book ISBN", new JScrollPane(input)},
+                "Register Group Loans", JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE);
+        if (option != JOptionPane.OK_OPTION) {
+            JOptionPane.showMessageDialog(null, "Operation cancelled.", "Cancelled", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        User.Role userRole = SessionContext.getCurrentUser().getRole();
+        HashMap<String, String> response = loanController.registerLoans(input.getText(), userRole);
+
+        if ("200".equals(response.get("status"))) {
+            showScrollableMessage("Group Loans", response.get("message"));
+        } else {
+            JOptionPane.showMessageDialog(null, response.get("message"), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     /**
      * Mark a loan as returned
      */
@@ -198,6 +238,29 @@ public class LoanView {
         }
     }
 
+    /**
+     * Mark many loans as returned at once (book drop scans)
+     */
+    private void markReturnsView() {
+        JTextArea input = new JTextArea(15, 40);
+        int option = JOptionPane.showConfirmDialog(null,
+                new Object[] {"Enter one return per line as: Loan ID, or Member ID, Book ISBN", new JScrollPane(input)},
+                "Process Book Drop Returns", JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE);
+        if (option != JOptionPane.OK_OPTION) {
+            JOptionPane.showMessageDialog(null, "Operation cancelled.", "Cancelled", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        User.Role userRole = SessionContext.getCurrentUser().getRole();
+        HashMap<String, String> response = loanController.markReturns(input.getText(), userRole);
+
+        if ("200".equals(response.get("status"))) {
+            showScrollableMessage("Book Drop Returns", response.get("message"));
+        } else {
+            JOptionPane.showMessageDialog(null, response.get("message"), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     /**
      * Delete a loan (ADMIN only)
      */
@@ -232,17 +295,44 @@ public class LoanView {
      * View all loans
      */
     private void viewAllLoansView() {
-        User.Role userRole = SessionContext.getCurrentUser().getRole();
-        HashMap<String, String> response = loanController.getAllLoans(userRole);
+        try {
+            User.Role userRole = SessionContext.getCurrentUser().getRole();
+            String cursor = null;
+            int pageNumber = 1;
 
-        String status = response.get("status");
-        String message = response.get("message");
+            while (true) {
+                HashMap<String, String> response = loanController.getLoansPage(cursor, PAGE_SIZE, userRole);
 
-        if ("200".equals(status)) {
-            String data = response.get("data");
-            showScrollableMessage("All Loans", data);
-        } else {
-            JOptionPane.showMessageDialog(null, message, "Error", JOptionPane.ERROR_MESSAGE);
+                if (!response.get("status").equals("200")) {
+                    JOptionPane.showMessageDialog(null, response.get("message"), "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                // Display table in scrollable text area
+                JTextArea textArea = new JTextArea(response.get("data"));
+                textArea.setEditable(false);
+                textArea.setFont(new java.awt.Font("Monospaced", java.awt.Font.PLAIN, 12));
+
+                JScrollPane scrollPane = new JScrollPane(textArea);
+                scrollPane.setPreferredSize(new java.awt.Dimension(800, 400));
+
+                cursor = response.get("nextCursor");
+                String pageTitle = "All Loans - Page " + pageNumber;
+                if (cursor == null) {
+                    JOptionPane.showMessageDialog(null, scrollPane, pageTitle, JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+
+                String[] options = {"Next Page", "Close"};
+                int choice = JOptionPane.showOptionDialog(null, scrollPane, pageTitle,
+                        JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[0]);
+                if (choice != 0) {
+                    return;
+                }
+                pageNumber++;
+            }
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
@@ -12,6 +12,7 @@ import domain.User.Role;
 import java.util.HashMap;
 
 public class MemberView {
+    private static final String PAGE_SIZE = "50";
     private final MemberController memberController;
 
     public MemberView(MemberController memberController) {
@@ -306,35 +307,47 @@ public class MemberView {
     }
 
     /**
-     * View All Members - To be implemented
+     * View all members, one page at a time
      */
     private void viewAllMembersView() {
         try {
-            User.Role currentUserRole = SessionContext.getCurrentUser().getRole();
-            HashMap<String, String> response = memberController.getAllMembers(currentUserRole);
+            User.Role userRole = SessionContext.getCurrentUser().getRole();
+            String cursor = null;
+            int pageNumber = 1;
 
-            String status = response.get("status");
-            String message = response.get("message");
+            while (true) {
+                HashMap<String, String> response = memberController.getMembersPage(cursor, PAGE_SIZE, userRole);
 
-            if (status.equals("200")) {
-                // Success - message contains the formatted table
-                // Create a text area for better display with monospaced font
-                JTextArea textArea = new JTextArea(message);
+                if (!response.get("status").equals("200")) {
+                    JOptionPane.showMessageDialog(null, response.get("message"), "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                // Display table in scrollable text area
+                JTextArea textArea = new JTextArea(response.get("message"));
                 textArea.setEditable(false);
                 textArea.setFont(new java.awt.Font("Monospaced", java.awt.Font.PLAIN, 12));
-                
-                // Add scroll pane
+
                 JScrollPane scrollPane = new JScrollPane(textArea);
                 scrollPane.setPreferredSize(new java.awt.Dimension(900, 400));
-                
-                JOptionPane.showMessageDialog(null, scrollPane, "All Members", JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                // Any error
-                JOptionPane.showMessageDialog(null, message, "Error", JOptionPane.ERROR_MESSAGE);
-            }
 
+                cursor = response.get("nextCursor");
+                String pageTitle = "All Members - Page " + pageNumber;
+                if (cursor == null) {
+                    JOptionPane.showMessageDialog(null, scrollPane, pageTitle, JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+
+                String[] options = {"Next Page", "Close"};
+                int choice = JOptionPane.showOptionDialog(null, scrollPane, pageTitle,
+                        JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[0]);
+                if (choice != 0) {
+                    return;
+                }
+                pageNumber++;
+            }
         } catch (Exception e) {
-            JOptionPane.showMessageDialog(null, "Unexpected error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
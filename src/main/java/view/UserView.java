@@ -11,6 +11,7 @@ import domain.User;
 import java.util.HashMap;
 
 public class UserView {
+    private static final String PAGE_SIZE = "50";
     private final UserController userController;
 
     public UserView(UserController userController) {
@@ -168,11 +169,18 @@ public class UserView {
 
     private void viewAllUsersView() {
         try {
-            HashMap<String, String> response = userController.getAllUsers(
-                    SessionContext.getCurrentUser().getRole()
-            );
+            User.Role userRole = SessionContext.getCurrentUser().getRole();
+            String cursor = null;
+            int pageNumber = 1;
+
+            while (true) {
+                HashMap<String, String> response = userController.getUsersPage(cursor, PAGE_SIZE, userRole);
+
+                if (!response.get("status").equals("200")) {
+                    JOptionPane.showMessageDialog(null, "Error: " + response.get("message"), "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
 
-            if (response.get("status").equals("200")) {
                 // Display table in scrollable text area
                 JTextArea textArea = new JTextArea(response.get("message"));
                 textArea.setEditable(false);
@@ -181,9 +189,20 @@ public class UserView {
                 JScrollPane scrollPane = new JScrollPane(textArea);
                 scrollPane.setPreferredSize(new java.awt.Dimension(800, 400));
 
-                JOptionPane.showMessageDialog(null, scrollPane, "All Users", JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                JOptionPane.showMessageDialog(null, "Error: " + response.get("message"), "Error", JOptionPane.ERROR_MESSAGE);
+                cursor = response.get("nextCursor");
+                String pageTitle = "All Users - Page " + pageNumber;
+                if (cursor == null) {
+                    JOptionPane.showMessageDialog(null, scrollPane, pageTitle, JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+
+                String[] options = {"Next Page", "Close"};
+                int choice = JOptionPane.showOptionDialog(null, scrollPane, pageTitle,
+                        JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[0]);
+                if (choice != 0) {
+                    return;
+                }
+                pageNumber++;
             }
         } catch (Exception e) {
             JOptionPane.showMessageDialog(null, "Error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
@@ -5,7 +5,8 @@ username VARCHAR(75) not null unique,
 password varchar(75) not null,
 role enum('ADMIN','ASSISTANT') not null default 'ASSISTANT',
 isActive boolean not null default true,
-createdAt DATE not null
+createdAt DATE not null,
+index idx_users_created (createdAt, id)
 );
 
 create table books(
@@ -17,7 +18,11 @@ quantity int check(quantity >= 0) not null,
 available int check(available >= 0) not null,
 price Double check(price >= 0) not null,
 isActive boolean not null,
-createdAt DATE not null
+createdAt DATE not null,
+updatedAt DATETIME(6) not null default CURRENT_TIMESTAMP(6) on update CURRENT_TIMESTAMP(6),
+index idx_books_created (createdAt, isbn),
+index idx_books_category_created (category, createdAt, isbn),
+index idx_books_updated (updatedAt, isbn)
 );
 
 create table members(
@@ -26,7 +31,8 @@ name varchar(255) not null,
 email varchar(255) not null unique,
 phone varchar(15) not null unique,
 isActive boolean not null,
-createdAt DATE not null default
+createdAt DATE not null default,
+index idx_members_created (createdAt, id)
 );
 
 create table loans(
@@ -39,8 +45,30 @@ returnDate DATE,
 status enum('BORROWED','RETURNED','OVERDUE') not null default 'BORROWED',
 fineAmount double default 0,
 createdAt DATE not null,
+updatedAt DATETIME(6) not null default CURRENT_TIMESTAMP(6) on update CURRENT_TIMESTAMP(6),
 foreign key (memberId) references members(id) on delete cascade,
-foreign key (isbn) references books(isbn) on delete cascade
+foreign key (isbn) references books(isbn) on delete cascade,
+index idx_loans_status_due (status, dueDate),
+index idx_loans_created (createdAt, id),
+index idx_loans_status_created (status, createdAt, id),
+index idx_loans_updated (updatedAt, id)
+);
+
+create table export_watermarks(
+target varchar(100) primary key,
+watermark DATETIME(6) not null
+);
+
+create table deleted_books(
+isbn varchar(155) not null,
+deletedAt DATETIME(6) not null default CURRENT_TIMESTAMP(6),
+index idx_deleted_books (deletedAt, isbn)
+);
+
+create table deleted_loans(
+id int not null,
+deletedAt DATETIME(6) not null default CURRENT_TIMESTAMP(6),
+index idx_deleted_loans (deletedAt, id)
 );
 
 
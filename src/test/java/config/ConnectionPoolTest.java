@@ -0,0 +1,76 @@
+package config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Connection Pool - Borrow and Return Tests")
+class ConnectionPoolTest {
+
+    private final List<Connection> opened = new ArrayList<>();
+    private ConnectionPool pool;
+
+    private Connection newPhysicalConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        opened.add(connection);
+        return connection;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Conexión devuelta - debe reutilizarse en el siguiente préstamo")
+    void testBorrow_AfterClose_ReusesConnection() throws Exception {
+        pool = new ConnectionPool(this::newPhysicalConnection, 0, 2, 0, 1000, 0);
+
+        Connection first = pool.borrow();
+        first.close();
+        Connection second = pool.borrow();
+
+        assertEquals(1, opened.size());
+        assertEquals(1, pool.getActiveCount());
+        second.close();
+        assertEquals(0, pool.getActiveCount());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    @DisplayName("Pool agotado - debe lanzar SQLTimeoutException")
+    void testBorrow_PoolExhausted_ThrowsTimeout() throws Exception {
+        pool = new ConnectionPool(this::newPhysicalConnection, 0, 1, 0, 50, 0);
+
+        Connection held = pool.borrow();
+
+        assertThrows(SQLTimeoutException.class, () -> pool.borrow());
+        held.close();
+        assertNotNull(pool.borrow());
+    }
+
+    @Test
+    @DisplayName("Conexión devuelta - debe hacer rollback del trabajo pendiente")
+    void testClose_RollsBackUncommittedWork() throws Exception {
+        pool = new ConnectionPool(this::newPhysicalConnection, 0, 1, 0, 1000, 0);
+
+        Connection connection = pool.borrow();
+        connection.close();
+
+        verify(opened.get(0)).rollback();
+        assertThrows(SQLException.class, connection::commit);
+    }
+}
@@ -0,0 +1,30 @@
+package dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Page Cursor - Encoding Tests")
+class PageCursorTest {
+
+    @Test
+    @DisplayName("Cursor numérico - debe decodificar el cursor codificado")
+    void testDecodeNumeric_EncodedCursor_RoundTrips() {
+        PageCursor cursor = PageCursor.decodeNumeric(new PageCursor(LocalDate.of(2024, 1, 1), "42").encode());
+
+        assertEquals(LocalDate.of(2024, 1, 1), cursor.getCreatedAt());
+        assertEquals(42, cursor.getLastKeyAsInt());
+        assertNull(PageCursor.decodeNumeric(" "));
+    }
+
+    @Test
+    @DisplayName("Cursor con clave no numérica - debe rechazarlo")
+    void testDecodeNumeric_NonNumericKey_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decodeNumeric("2024-01-01|abc"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decodeNumeric("2024-01-01|99999999999"));
+        assertEquals("978-0", PageCursor.decode("2024-01-01|978-0").getLastKey());
+    }
+}
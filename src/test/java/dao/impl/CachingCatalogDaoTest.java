@@ -0,0 +1,111 @@
+package dao.impl;
+
+import dao.CatalogDao;
+import domain.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Caching Catalog DAO - Read-Through Cache Tests")
+class CachingCatalogDaoTest {
+
+    @Mock
+    private CatalogDao delegate;
+
+    private CachingCatalogDao cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CachingCatalogDao(delegate, 2, 0);
+    }
+
+    private Book book(String isbn) {
+        return new Book(isbn, "Title " + isbn, "Author", Book.Category.FICTION, 5, 5, 10000.0, true);
+    }
+
+    @Test
+    @DisplayName("Segunda consulta - debe responder desde caché con una copia")
+    void testFindByIsbn_SecondLookup_HitsCacheWithCopy() throws Exception {
+        when(delegate.findByIsbn("978-0-00-000111-5")).thenReturn(book("978-0-00-000111-5"));
+
+        Book first = cache.findByIsbn("978-0-00-000111-5");
+        first.setAvailable(0);
+        Book second = cache.findByIsbn("978-0-00-000111-5");
+
+        verify(delegate, times(1)).findByIsbn("978-0-00-000111-5");
+        assertEquals(5, second.getAvailable());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+
+    @Test
+    @DisplayName("Actualización - debe invalidar la entrada en caché")
+    void testUpdate_InvalidatesEntry() throws Exception {
+        when(delegate.findByIsbn("978-0-00-000111-5")).thenReturn(book("978-0-00-000111-5"));
+
+        cache.findByIsbn("978-0-00-000111-5");
+        cache.update(book("978-0-00-000111-5"));
+        cache.findByIsbn("978-0-00-000111-5");
+
+        verify(delegate, times(2)).findByIsbn("978-0-00-000111-5");
+    }
+
+    @Test
+    @DisplayName("Caché llena - debe expulsar el libro menos usado recientemente")
+    void testFindByIsbn_CacheFull_EvictsLeastRecentlyUsed() throws Exception {
+        when(delegate.findByIsbn(anyString())).thenAnswer(inv -> book(inv.getArgument(0)));
+
+        cache.findByIsbn("978-0-00-000111-5");
+        cache.findByIsbn("978-0-00-000222-8");
+        cache.findByIsbn("978-0-00-000111-5");
+        cache.findByIsbn("978-0-00-000333-1");
+        cache.findByIsbn("978-0-00-000111-5");
+        cache.findByIsbn("978-0-00-000222-8");
+
+        verify(delegate, times(1)).findByIsbn("978-0-00-000111-5");
+        verify(delegate, times(2)).findByIsbn("978-0-00-000222-8");
+        assertEquals(2, cache.getStats().getEvictions());
+    }
+
+    @Test
+    @DisplayName("ISBN con otra escritura o inválido - debe consultar la base de datos")
+    void testFindByIsbn_OtherSpellingOrInvalid_GoesToDatabase() throws Exception {
+        when(delegate.findByIsbn(anyString())).thenAnswer(inv -> book(inv.getArgument(0)));
+
+        cache.findByIsbn("978-0-00-000111-5");
+        cache.findByIsbn("9780000001115");
+        cache.findByIsbn("not-an-isbn");
+        cache.findByIsbn("not-an-isbn");
+
+        verify(delegate, times(1)).findByIsbn("978-0-00-000111-5");
+        verify(delegate, times(1)).findByIsbn("9780000001115");
+        verify(delegate, times(2)).findByIsbn("not-an-isbn");
+        assertEquals(0, cache.getStats().getHits());
+    }
+
+    @Test
+    @DisplayName("Consulta múltiple - debe pedir a la base de datos solo los libros que no están en caché")
+    void testFindByIsbns_FetchesOnlyMissingBooks() throws Exception {
+        when(delegate.findByIsbn("978-0-00-000111-5")).thenReturn(book("978-0-00-000111-5"));
+        when(delegate.findByIsbns(List.of("978-0-00-000222-8", "978-0-00-000333-1")))
+                .thenReturn(Map.of("978-0-00-000222-8", book("978-0-00-000222-8")));
+
+        cache.findByIsbn("978-0-00-000111-5");
+        Map<String, Book> found = cache.findByIsbns(List.of("978-0-00-000111-5", "978-0-00-000222-8", "978-0-00-000333-1"));
+        cache.findByIsbn("978-0-00-000222-8");
+
+        assertEquals(2, found.size());
+        verify(delegate, never()).findByIsbn("978-0-00-000222-8");
+        assertEquals(2, cache.getStats().getHits());
+    }
+}
@@ -0,0 +1,98 @@
+package index;
+
+import domain.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Catalog Suggester - Autocompletion Tests")
+class CatalogSuggesterTest {
+
+    private CatalogSuggester suggester;
+
+    private Book book(String isbn, String title, String author) {
+        return new Book(isbn, title, author, Book.Category.FICTION, 1, 1, 10.0, true);
+    }
+
+    @BeforeEach
+    void setUp() {
+        suggester = new CatalogSuggester(1024 * 1024);
+        suggester.rebuild(List.of(
+                book("1", "Cien años de soledad", "Gabriel García Márquez"),
+                book("2", "El amor en los tiempos del cólera", "Gabriel García Márquez"),
+                book("3", "El general en su laberinto", "Gabriel García Márquez"),
+                book("4", "Gabriela, clavo y canela", "Jorge Amado"),
+                book("5", "Ganarás la luz", "León Felipe")),
+                Map.of("1", 5, "3", 1, "4", 2, "5", 9));
+    }
+
+    @Test
+    @DisplayName("Prefijo sin tildes - debe ordenar por préstamos acumulados")
+    void testSuggest_RanksByLoanCount() {
+        assertEquals(List.of("Gabriel García Márquez"), suggester.suggestAuthors("gabriel gar", 10));
+        assertEquals(List.of("Ganarás la luz", "Gabriela, clavo y canela"), suggester.suggestTitles("GA", 10));
+        assertEquals(List.of("El general en su laberinto", "El amor en los tiempos del cólera"),
+                suggester.suggestTitles("el ", 10));
+        assertEquals(List.of("Cien años de soledad"), suggester.suggestTitles("cien anos", 1));
+    }
+
+    @Test
+    @DisplayName("Cambios en el catálogo y préstamos - deben reflejarse sin reconstruir")
+    void testSuggest_AfterMutations_StaysCurrent() {
+        suggester.recordLoan("2");
+        suggester.recordLoan("2");
+        assertEquals(List.of("El amor en los tiempos del cólera", "El general en su laberinto"),
+                suggester.suggestTitles("el", 10));
+
+        suggester.add(book("2", "Del amor y otros demonios", "Gabriel García Márquez"));
+        assertEquals(List.of("El general en su laberinto"), suggester.suggestTitles("el", 10));
+        assertEquals(List.of("Del amor y otros demonios"), suggester.suggestTitles("del", 10));
+
+        suggester.remove("1");
+        suggester.remove("2");
+        suggester.remove("3");
+        assertTrue(suggester.suggestAuthors("gabriel", 10).isEmpty());
+        assertEquals(List.of("Gabriela, clavo y canela"), suggester.suggestTitles("gabriela", 10));
+    }
+
+    @Test
+    @DisplayName("Presupuesto de memoria agotado - no debe aceptar claves nuevas")
+    void testAdd_OverBudget_RefusesNewKeys() {
+        PrefixTrie trie = new PrefixTrie(600);
+
+        assertTrue(trie.add("Borges", 1));
+        assertTrue(trie.add("Bolaño", 1));
+        assertFalse(trie.add("Benedetti", 1));
+        assertTrue(trie.add("BORGES", 3));
+        assertEquals(2, trie.size());
+        assertEquals(List.of("Borges", "Bolaño"), trie.complete("bo", 10));
+
+        assertTrue(trie.remove("Bolaño", 1));
+        assertTrue(trie.add("Benedetti", 1));
+        assertEquals(List.of("Benedetti"), trie.complete("be", 10));
+    }
+
+    @Test
+    @DisplayName("Presupuesto de libros agotado - debe rechazar libros y liberar al quitarlos")
+    void testRebuild_OverBookBudget_RefusesBooks() {
+        CatalogSuggester small = new CatalogSuggester(1600);
+
+        int added = small.rebuild(List.of(book("1", "Ficciones", "Borges"), book("2", "Rayuela", "Cortázar"),
+                book("3", "Aura", "Fuentes")), Map.of());
+
+        assertEquals(2, added);
+        assertEquals(List.of(), small.suggestTitles("aura", 10));
+        assertTrue(small.usedBytes() <= 1600);
+
+        assertTrue(small.remove("1"));
+        small.add(book("3", "Aura", "Fuentes"));
+        assertEquals(2, small.size());
+        assertEquals(List.of("Aura"), small.suggestTitles("au", 10));
+        assertEquals(List.of(), small.suggestAuthors("borges", 10));
+    }
+}
@@ -0,0 +1,55 @@
+package index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Due Date Index - Overdue Bucket Tests")
+class DueDateIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    @Test
+    @DisplayName("Préstamos vencidos - debe devolver solo los días anteriores a la fecha")
+    void testDueBefore_ReturnsOnlyPastBuckets() {
+        DueDateIndex index = new DueDateIndex();
+        index.rebuild(Map.of(
+                1, TODAY.minusDays(3),
+                2, TODAY.minusDays(1),
+                3, TODAY,
+                4, TODAY.plusDays(7)));
+        index.add(5, TODAY.minusDays(1));
+
+        int[] due = index.dueBefore(TODAY);
+        Arrays.sort(due);
+        assertArrayEquals(new int[] {1, 2, 5}, due);
+        assertEquals(TODAY.minusDays(3), index.nextDueDate());
+
+        assertEquals(3, index.removeDueBefore(TODAY));
+        assertEquals(0, index.dueBefore(TODAY).length);
+        assertEquals(TODAY, index.nextDueDate());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Devolución - debe sacar el préstamo de su día")
+    void testRemove_DropsLoanFromItsBucket() {
+        DueDateIndex index = new DueDateIndex();
+        index.add(1, TODAY.minusDays(2));
+        index.add(2, TODAY.minusDays(2));
+
+        assertTrue(index.remove(1, TODAY.minusDays(2)));
+        assertFalse(index.remove(1, TODAY.minusDays(2)));
+        assertFalse(index.remove(2, TODAY));
+        assertArrayEquals(new int[] {2}, index.dueBefore(TODAY));
+
+        assertTrue(index.remove(2, TODAY.minusDays(2)));
+        assertNull(index.nextDueDate());
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,71 @@
+package index;
+
+import domain.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Inverted Index - Full-Text Search Tests")
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    private Book book(String isbn, String title, String author) {
+        return new Book(isbn, title, author, Book.Category.FICTION, 1, 1, 10.0, true);
+    }
+
+    private List<String> isbns(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getIsbn).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.rebuild(List.of(
+                book("1", "Cien años de soledad", "Gabriel García Márquez"),
+                book("2", "El amor en los tiempos del cólera", "Gabriel García Márquez"),
+                book("3", "Historia de la filosofía", "Julián Marías"),
+                book("4", "Soledad", "Anónimo")));
+    }
+
+    @Test
+    @DisplayName("Búsqueda sin tildes - debe encontrar títulos y autores acentuados")
+    void testSearch_WithoutAccents_MatchesAccentedText() {
+        assertEquals(List.of("1"), isbns(index.search("garcia soledad", 10)));
+        assertEquals(List.of("2"), isbns(index.search("COLERA", 10)));
+    }
+
+    @Test
+    @DisplayName("Prefijo y OR - debe combinar resultados y priorizar coincidencias en título")
+    void testSearch_PrefixAndOr_RanksTitleMatchesFirst() {
+        assertEquals(List.of("3"), isbns(index.search("hist*", 10)));
+
+        List<String> hits = isbns(index.search("soledad OR filosofia", 10));
+        assertEquals(3, hits.size());
+        assertTrue(hits.containsAll(List.of("1", "3", "4")));
+    }
+
+    @Test
+    @DisplayName("Libro eliminado o actualizado - debe reflejarse en la búsqueda")
+    void testAddAndRemove_KeepIndexCurrent() {
+        index.remove("4");
+        index.add(book("1", "Cien años de soledad (edición conmemorativa)", "Gabriel García Márquez"));
+
+        assertEquals(List.of("1"), isbns(index.search("soledad", 10)));
+        assertEquals(List.of("1"), isbns(index.search("conmemorativa", 10)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Búsqueda con errores de tipeo - debe encontrar títulos y autores cercanos")
+    void testFuzzySearch_WithTypos_FindsClosestWords() {
+        assertEquals(List.of("1", "2"), isbns(index.fuzzySearch("Gracia Marques", 10, 1000)).stream().sorted().toList());
+        assertEquals(List.of("3"), isbns(index.fuzzySearch("filosfia marias", 10, 1000)));
+        assertEquals(List.of("1", "4"), isbns(index.fuzzySearch("soledda", 10, 1000)));
+        assertTrue(index.fuzzySearch("sol", 10, 1000).isEmpty());
+    }
+}
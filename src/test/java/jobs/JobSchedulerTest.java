@@ -0,0 +1,96 @@
+package jobs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Job Scheduler - Schedule and Single-Flight Tests")
+class JobSchedulerTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Bogota");
+
+    private ZonedDateTime at(int month, int day, int hour, int minute) {
+        return ZonedDateTime.of(2026, month, day, hour, minute, 0, 0, ZONE);
+    }
+
+    @Test
+    @DisplayName("Expresión cron - debe calcular la siguiente ejecución")
+    void testCronNext_FindsFollowingMatch() {
+        assertEquals(at(3, 11, 0, 0), Schedule.cron("0 0 * * *").next(at(3, 10, 0, 0)));
+        assertEquals(at(3, 10, 8, 0), Schedule.cron("*/15 8-18 * * *").next(at(3, 10, 7, 59)));
+        assertEquals(at(3, 10, 18, 45), Schedule.cron("*/15 8-18 * * *").next(at(3, 10, 18, 30)));
+        assertEquals(at(3, 11, 8, 0), Schedule.cron("*/15 8-18 * * *").next(at(3, 10, 18, 45)));
+        // 2026-03-10 is a Tuesday: next Monday, or the 1st when both day fields are set
+        assertEquals(at(3, 16, 6, 30), Schedule.cron("30 6 * * 1").next(at(3, 10, 12, 0)));
+        assertEquals(at(3, 15, 6, 30), Schedule.cron("30 6 1 * 7").next(at(3, 10, 12, 0)));
+        assertEquals(at(4, 1, 6, 30), Schedule.cron("30 6 1 * 2").next(at(3, 31, 12, 0)));
+        assertEquals(at(3, 10, 12, 0), Schedule.fixedRate(Duration.ofHours(2)).next(at(3, 10, 10, 0)));
+    }
+
+    @Test
+    @DisplayName("Expresión cron inválida - debe rechazarla")
+    void testCronParse_InvalidExpression_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> Schedule.cron("0 0 * *"));
+        assertThrows(IllegalArgumentException.class, () -> Schedule.cron("60 0 * * *"));
+        assertThrows(IllegalArgumentException.class, () -> Schedule.cron("0 5-2 * * *"));
+        assertThrows(IllegalArgumentException.class, () -> Schedule.cron("0 0 * JAN *"));
+    }
+
+    @Test
+    @DisplayName("Trabajo en curso - no debe ejecutarse dos veces a la vez")
+    void testRunNow_WhileRunning_IsSkipped() throws Exception {
+        JobScheduler scheduler = new JobScheduler();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.schedule("slow", Schedule.cron("0 0 1 1 *"), Duration.ZERO, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(scheduler.runNow("slow"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertFalse(scheduler.runNow("slow"));
+        release.countDown();
+        scheduler.shutdown(Duration.ofSeconds(5));
+
+        JobStats stats = scheduler.getStats().get("slow");
+        assertEquals(1, stats.getRuns());
+        assertEquals(1, stats.getSkipped());
+        assertEquals(0, stats.getFailures());
+        assertFalse(scheduler.runNow("slow"));
+    }
+
+    @Test
+    @DisplayName("Trabajo fallido - debe reintentarse sin esperar la siguiente ejecución")
+    void testRunNow_Failure_IsRetried() throws Exception {
+        JobScheduler scheduler = new JobScheduler();
+        CountDownLatch succeeded = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        scheduler.schedule("flaky", Schedule.cron("0 0 1 1 *"), Duration.ZERO, Duration.ofMillis(20), () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("database unavailable");
+            }
+            succeeded.countDown();
+        });
+
+        assertTrue(scheduler.runNow("flaky"));
+        assertTrue(succeeded.await(5, TimeUnit.SECONDS));
+        scheduler.shutdown(Duration.ofSeconds(5));
+
+        JobStats stats = scheduler.getStats().get("flaky");
+        assertEquals(3, stats.getRuns());
+        assertEquals(2, stats.getFailures());
+    }
+}
@@ -2,17 +2,25 @@ package service;
 
 import dao.CatalogDao;
 import domain.Book;
+import domain.ImportReport;
 import domain.User;
+import errors.BadRequestException;
 import errors.ConflictException;
 import errors.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -28,6 +36,9 @@ class CatalogServiceTest {
     @Mock
     private Connection connection;
 
+    @TempDir
+    Path tempDir;
+
     private CatalogService catalogService;
 
     @BeforeEach
@@ -84,6 +95,33 @@ class CatalogServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("ISBN con dígito de control inválido al crear - debe lanzar BadRequestException")
+    void testCreateBook_WithInvalidChecksum_ThrowsBadRequestException() throws Exception {
+        String isbn = "978-3-16-148410-1";
+
+        assertThrows(BadRequestException.class, () -> {
+            catalogService.createBook(isbn, "Book", "Author", Book.Category.FICTION, 10, 15.99, User.Role.ADMIN);
+        });
+        verify(catalogDao, never()).save(any(Book.class));
+    }
+
+    @Test
+    @DisplayName("Libro existente con ISBN heredado - debe poder actualizarse")
+    void testUpdateBook_WithLegacyIsbn_Success() throws Exception {
+        String isbn = "LEGACY-0042";
+        Book legacyBook = new Book(isbn, "Old Book", "Author", Book.Category.HISTORY, 3, 3, 9.99, true);
+
+        when(catalogDao.findByIsbn(isbn)).thenReturn(legacyBook);
+        when(catalogDao.update(any(Book.class))).thenReturn(true);
+
+        Book result = catalogService.updateBook(isbn, "Old Book", "Author", Book.Category.HISTORY, 8, 8, 12.50, true, User.Role.ADMIN);
+
+        assertEquals(8, result.getQuantity());
+        assertEquals(12.50, result.getPrice());
+        verify(catalogDao).update(legacyBook);
+    }
+
     @Test
     @DisplayName("ISBN duplicado - debe lanzar ConflictException")
     void testCreateBook_WithDuplicateISBN_ThrowsConflictException() throws Exception {
@@ -108,4 +146,56 @@ class CatalogServiceTest {
             catalogService.findBookByIsbn(isbn, User.Role.ADMIN);
         });
     }
+
+    // ==================== IMPORTACIÓN CSV ====================
+
+    @Test
+    @DisplayName("Importación con filas inválidas y duplicadas - debe reportar cada caso")
+    @SuppressWarnings("unchecked")
+    void testImportBooks_MixedRows_ReportsAcceptedRejectedAndDuplicates() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("books.csv");
+        Files.writeString(file,
+                "ISBN,Title,Author,Category,Quantity,Price\n" +
+                "978-0-14-044913-6,\"Dune, Part One\",Frank Herbert,FICTION,3,20.50\n" +
+                "978-0-307-74176-9,Cosmos,Carl Sagan,SCIENCE,abc,15.00\n" +
+                "978-1-4000-3341-6,Existing,Author,HISTORY,1,10.00\n" +
+                "978-0-14-044913-6,Dune again,Frank Herbert,FICTION,1,20.50\n");
+
+        when(catalogDao.findExistingIsbns(anyCollection())).thenReturn(Set.of("978-1-4000-3341-6"));
+        when(catalogDao.saveAll(anyList())).thenAnswer(inv -> ((List<Book>) inv.getArgument(0)).size());
+
+        // Act
+        ImportReport report = catalogService.importBooksFromCSV(file.toString(), User.Role.ADMIN);
+
+        // Assert
+        assertEquals(1, report.getAccepted());
+        assertEquals(1, report.getRejected());
+        assertEquals(2, report.getDuplicates());
+
+        ArgumentCaptor<List<Book>> saved = ArgumentCaptor.forClass(List.class);
+        verify(catalogDao).saveAll(saved.capture());
+        assertEquals("Dune, Part One", saved.getValue().get(0).getTitle());
+        assertEquals(3, saved.getValue().get(0).getAvailable());
+        verify(connection).commit();
+    }
+
+    @Test
+    @DisplayName("Importación con ISBN inválido - debe rechazar la fila sin insertarla")
+    void testImportBooks_InvalidIsbn_RejectsRow() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("books.csv");
+        Files.writeString(file,
+                "ISBN,Title,Author,Category,Quantity,Price\n" +
+                "978-0-14-044913-7,Crime and Punishment,Fyodor Dostoevsky,FICTION,5,12.99\n" +
+                "12345,Cosmos,Carl Sagan,SCIENCE,2,15.00\n");
+
+        // Act
+        ImportReport report = catalogService.importBooksFromCSV(file.toString(), User.Role.ADMIN);
+
+        // Assert
+        assertEquals(0, report.getAccepted());
+        assertEquals(2, report.getRejected());
+        verify(catalogDao, never()).saveAll(anyList());
+    }
 }
@@ -0,0 +1,120 @@
+package service;
+
+import config.PropertiesLoad;
+import dao.CatalogDao;
+import dao.LoanDao;
+import dao.WatermarkDao;
+import domain.DeltaExportReport;
+import domain.ExportReport;
+import domain.Loan;
+import domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import util.Compression;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Export Service - Partitioned Export Tests")
+class ExportServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private LoanDao loanDao;
+
+    @Mock
+    private CatalogDao catalogDao;
+
+    @Mock
+    private WatermarkDao watermarkDao;
+
+    @Mock
+    private Connection connection;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(catalogDao, loanDao, watermarkDao, connection);
+    }
+
+    private static Loan loan(int id) {
+        LocalDate borrowDate = LocalDate.of(2024, 1, 1).plusDays(id);
+        Loan loan = new Loan(id, 100 + id, "9783161484100", borrowDate, borrowDate.plusDays(7), null,
+                Loan.Status.BORROWED, 0.0, borrowDate);
+        loan.setMemberName("Member " + id);
+        loan.setBookTitle("Title " + id);
+        return loan;
+    }
+
+    @Test
+    @DisplayName("Historial en varias particiones - debe unirlas en orden de id y borrar los segmentos")
+    void testExportLoans_SeveralPartitions_MergesInIdOrder() throws Exception {
+        when(loanDao.findIdBounds()).thenReturn(new int[]{1, 10});
+        when(loanDao.streamByIdRange(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            int from = invocation.getArgument(0);
+            int to = invocation.getArgument(1);
+            return IntStream.rangeClosed(from, to).mapToObj(ExportServiceTest::loan);
+        });
+        Path file = tempDir.resolve("loans.csv");
+
+        ExportReport report = exportService.exportLoansToCSV(file.toString(), 3, User.Role.ADMIN);
+
+        assertEquals(List.of(4L, 4L, 2L), report.getPartitions().stream().map(ExportReport.Partition::getRows).toList());
+        assertEquals(10, report.getRows());
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(11, lines.size());
+        assertTrue(lines.get(0).startsWith("Loan ID,"));
+        for (int id = 1; id <= 10; id++) {
+            assertTrue(lines.get(id).startsWith(id + "," + (100 + id) + ",Member " + id + ","), lines.get(id));
+        }
+        assertEquals(List.of(file), Files.list(tempDir).toList());
+    }
+
+    @Test
+    @DisplayName("Exportación delta - debe exportar cambios y borrados desde la marca anterior y moverla al final de la ventana")
+    void testExportLoansDelta_ExistingWatermark_ExportsWindowAndMovesWatermark() throws Exception {
+        LocalDateTime since = LocalDateTime.of(2024, 5, 1, 22, 0);
+        LocalDateTime now = LocalDateTime.of(2024, 5, 2, 22, 0);
+        LocalDateTime upTo = now.minus(Duration.ofMillis(PropertiesLoad.EXPORT_DELTA_LAG_MS));
+        when(watermarkDao.findWatermark("loans:nightly")).thenReturn(since);
+        when(watermarkDao.currentTime()).thenReturn(now);
+        when(loanDao.streamChangedBetween(eq(since), eq(upTo), anyInt())).thenReturn(Stream.of(loan(7), loan(3)));
+        when(loanDao.streamDeletedBetween(eq(since), eq(upTo), anyInt())).thenReturn(Stream.of(5));
+        Path file = tempDir.resolve("loans-delta.csv");
+
+        DeltaExportReport report = exportService.exportLoansDelta(" nightly ", file.toString(),
+                Compression.NONE, Compression.DEFAULT_LEVEL, User.Role.ADMIN);
+
+        assertEquals(2, report.getRows());
+        assertEquals(since, report.getSince());
+        assertEquals(upTo, report.getUpTo());
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).startsWith("7,") && lines.get(2).startsWith("3,"));
+        assertEquals(1, report.getDeletedRows());
+        assertEquals(List.of("Loan ID", "5"), Files.readAllLines(tempDir.resolve("loans-delta.deleted.csv")));
+        verify(watermarkDao).saveWatermark("loans:nightly", upTo);
+        verify(connection).commit();
+    }
+}
@@ -5,8 +5,16 @@ import dao.CatalogDao;
 import dao.LoanDao;
 import dao.MemberDao;
 import domain.Book;
+import domain.CheckoutStatus;
 import domain.Loan;
+import domain.LoanOutcome;
+import domain.LoanRequest;
+import domain.Member;
+import domain.ReturnOutcome;
+import domain.ReturnRequest;
 import domain.User;
+import errors.BadRequestException;
+import errors.ConflictException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +24,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.Connection;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -55,12 +66,10 @@ class LoanServiceTest {
         LocalDate dueDate = LocalDate.now().minusDays(5); // 5 días de retraso
         
         Loan loan = new Loan(loanId, 1, "978-3-16-148410-0", loanDate, dueDate, null, Loan.Status.BORROWED, 0.0, loanDate);
-        Book book = new Book("978-3-16-148410-0", "Test Book", "Author", Book.Category.FICTION, 10, 9, 15.99, true);
         
-        when(loanDao.findById(loanId)).thenReturn(loan);
-        when(catalogDao.findByIsbn(loan.getIsbn())).thenReturn(book);
+        when(loanDao.findCoreById(loanId)).thenReturn(loan);
         when(loanDao.update(any(Loan.class))).thenReturn(true);
-        when(catalogDao.update(any(Book.class))).thenReturn(true);
+        when(catalogDao.releaseCopy(loan.getIsbn())).thenReturn(true);
 
         // Act
         Loan returnedLoan = loanService.markReturn(loanId, User.Role.ADMIN);
@@ -71,4 +80,131 @@ class LoanServiceTest {
         assertEquals(Loan.Status.RETURNED, returnedLoan.getStatus());
         assertNotNull(returnedLoan.getReturnDate());
     }
+
+    // ==================== RESERVA DE EJEMPLARES ====================
+
+    @Test
+    @DisplayName("Libro sin ejemplares disponibles - debe rechazar el préstamo sin guardarlo")
+    void testRegisterLoan_NoCopyReserved_ThrowsBadRequest() throws Exception {
+        // Arrange
+        String isbn = "978-3-16-148410-0";
+
+        when(catalogDao.tryReserveCopy(isbn)).thenReturn(false);
+        when(loanDao.findCheckoutStatus(1, isbn)).thenReturn(new CheckoutStatus(true, true, 0, false));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> loanService.registerLoan(1, isbn, User.Role.ASSISTANT));
+        verify(loanDao, never()).saveIfEligible(any(Loan.class));
+        verify(connection).rollback();
+    }
+
+    @Test
+    @DisplayName("Socio con préstamo activo del libro - debe rechazar el préstamo con conflicto")
+    void testRegisterLoan_MemberNotEligible_ThrowsConflict() throws Exception {
+        // Arrange
+        String isbn = "978-3-16-148410-0";
+
+        when(catalogDao.tryReserveCopy(isbn)).thenReturn(true);
+        when(loanDao.saveIfEligible(any(Loan.class))).thenReturn(null);
+        when(loanDao.findCheckoutStatus(1, isbn)).thenReturn(new CheckoutStatus(true, true, 0, true));
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> loanService.registerLoan(1, isbn, User.Role.ASSISTANT));
+        verify(connection, never()).commit();
+        verify(connection).rollback();
+    }
+
+    @Test
+    @DisplayName("Préstamo grupal - debe registrar los válidos y rechazar el resto en una sola transacción")
+    void testRegisterLoans_MixedRequests_ReportsEachOutcome() throws Exception {
+        // Arrange
+        String isbnA = "978-3-16-148410-0";
+        String isbnB = "978-0-00-000111-5";
+        List<LoanRequest> requests = List.of(
+                new LoanRequest(1, isbnA),
+                new LoanRequest(2, isbnA),
+                new LoanRequest(1, isbnA),
+                new LoanRequest(3, isbnB),
+                new LoanRequest(4, isbnB));
+
+        when(memberDao.findByIds(anyCollection())).thenReturn(Map.of(
+                1, new Member(1, "Ana", "ana@mail.com", "3001234567", true, LocalDate.now()),
+                2, new Member(2, "Luis", "luis@mail.com", "3007654321", false, LocalDate.now()),
+                3, new Member(3, "Eva", "eva@mail.com", "3001112233", true, LocalDate.now()),
+                4, new Member(4, "Juan", "juan@mail.com", "3004445566", true, LocalDate.now())));
+        when(catalogDao.findByIsbns(anyCollection())).thenReturn(Map.of(
+                isbnA, new Book(isbnA, "Libro A", "Autor", Book.Category.FICTION, 5, 5, 10.0, true),
+                isbnB, new Book(isbnB, "Libro B", "Autor", Book.Category.FICTION, 1, 1, 10.0, true)));
+        when(loanDao.findActiveIsbnsByMemberIds(anyCollection())).thenReturn(Map.of());
+        when(catalogDao.reserveCopies(Map.of(isbnA, 1, isbnB, 1))).thenReturn(Set.of());
+        when(loanDao.saveAllIfEligible(anyList())).thenAnswer(invocation -> {
+            List<Loan> loans = invocation.getArgument(0);
+            for (int i = 0; i < loans.size(); i++) {
+                loans.get(i).setId(100 + i);
+            }
+            return loans;
+        });
+
+        // Act
+        List<LoanOutcome> outcomes = loanService.registerLoans(requests, User.Role.ASSISTANT);
+
+        // Assert
+        assertEquals(5, outcomes.size());
+        assertEquals(100, outcomes.get(0).getLoan().getId());
+        assertEquals("Member is not active", outcomes.get(1).getReason());
+        assertEquals("Member already has an active loan for this book", outcomes.get(2).getReason());
+        assertEquals(101, outcomes.get(3).getLoan().getId());
+        assertEquals("Book is not available for loan", outcomes.get(4).getReason());
+        verify(connection, times(1)).commit();
+    }
+
+    @Test
+    @DisplayName("Devoluciones por lote - debe calcular multas y liberar ejemplares en una sola transacción")
+    void testMarkReturns_MixedRequests_ComputesFinesInBulk() throws Exception {
+        // Arrange
+        String isbn = "978-3-16-148410-0";
+        LocalDate borrowDate = LocalDate.now().minusDays(20);
+        Loan onTime = new Loan(10, 1, isbn, borrowDate, LocalDate.now().plusDays(1), null, Loan.Status.BORROWED, 0.0, borrowDate);
+        Loan late = new Loan(11, 2, isbn, borrowDate, LocalDate.now().minusDays(3), null, Loan.Status.OVERDUE, 0.0, borrowDate);
+        List<ReturnRequest> requests = List.of(
+                ReturnRequest.ofLoan(10),
+                ReturnRequest.ofMemberAndIsbn(2, isbn),
+                ReturnRequest.ofLoan(10),
+                ReturnRequest.ofLoan(99));
+
+        when(loanDao.findCoreByIds(anyCollection())).thenReturn(Map.of(10, onTime));
+        when(loanDao.findActiveCoreByMemberIds(anyCollection())).thenReturn(List.of(late));
+        when(loanDao.markAllReturned(List.of(onTime, late))).thenReturn(Set.of());
+        when(catalogDao.releaseCopies(Map.of(isbn, 2))).thenReturn(Set.of());
+
+        // Act
+        List<ReturnOutcome> outcomes = loanService.markReturns(requests, User.Role.ASSISTANT);
+
+        // Assert
+        assertEquals(0.0, outcomes.get(0).getLoan().getFineAmount());
+        assertEquals(3 * PropertiesLoad.FINE_PER_DAY, outcomes.get(1).getLoan().getFineAmount());
+        assertEquals(Loan.Status.RETURNED, outcomes.get(1).getLoan().getStatus());
+        assertEquals("Loan is listed more than once", outcomes.get(2).getReason());
+        assertEquals("Loan not found with ID: 99", outcomes.get(3).getReason());
+        verify(connection, times(1)).commit();
+    }
+
+    @Test
+    @DisplayName("Tarea de vencidos sin índice - debe reconstruir el índice antes de marcar por ids")
+    void testMarkDueLoansOverdue_IndexNeverBuilt_RebuildsIndex() throws Exception {
+        // Arrange
+        when(loanDao.markOverdue(any(LocalDate.class))).thenReturn(3);
+        when(loanDao.findBorrowedDueDates()).thenReturn(Map.of(1, LocalDate.now().minusDays(1)));
+        when(loanDao.markOverdueByIds(List.of(1))).thenReturn(1);
+
+        // Act
+        int rebuilt = loanService.markDueLoansOverdue();
+        int marked = loanService.markDueLoansOverdue();
+
+        // Assert
+        assertEquals(3, rebuilt);
+        assertEquals(1, marked);
+        verify(loanDao, times(1)).markOverdue(any(LocalDate.class));
+        verify(connection, times(2)).commit();
+    }
 }
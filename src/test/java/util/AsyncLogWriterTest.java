@@ -0,0 +1,64 @@
+package util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Async Log Writer - Ring Buffer Tests")
+class AsyncLogWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private AsyncLogWriter.Event event(Logger.Level level, String message) {
+        return new AsyncLogWriter.Event(System.currentTimeMillis(), level, "Test", message, null);
+    }
+
+    @Test
+    @DisplayName("Varios productores con BLOCK - no debe perder ninguna entrada")
+    void testEnqueue_ConcurrentProducers_WritesEveryEntry() throws Exception {
+        Path file = tempDir.resolve("app.log");
+        AsyncLogWriter writer = new AsyncLogWriter(file, 16, Logger.OverflowPolicy.BLOCK, 1, 10);
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    writer.enqueue(event(Logger.Level.INFO, "producer " + producer + " entry " + i));
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+        for (Thread thread : producers) {
+            thread.join();
+        }
+        writer.shutdown(5000);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2000, lines.size());
+        assertTrue(lines.get(0).matches("\\[.+\\] \\[INFO\\] \\[Test\\] producer \\d entry \\d+"));
+    }
+
+    @Test
+    @DisplayName("Writer cerrado - debe rechazar nuevas entradas")
+    void testEnqueue_AfterShutdown_ReturnsFalse() throws Exception {
+        Path file = tempDir.resolve("app.log");
+        AsyncLogWriter writer = new AsyncLogWriter(file, 16, Logger.OverflowPolicy.DROP, 1, 10);
+
+        assertTrue(writer.enqueue(event(Logger.Level.WARN, "before")));
+        writer.shutdown(5000);
+
+        assertFalse(writer.enqueue(event(Logger.Level.WARN, "after")));
+        assertEquals(List.of("before"), Files.readAllLines(file).stream()
+                .map(line -> line.substring(line.lastIndexOf("] ") + 2)).toList());
+    }
+}
@@ -0,0 +1,93 @@
+package util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compressing Channel - Gzip and Block Output Tests")
+class CompressingChannelTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static String rows(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> i + ",Member " + (i % 97) + ",978-0-" + i + ",BORROWED," + (i % 13) + ".50\n")
+                .collect(Collectors.joining());
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    @DisplayName("Exportación gzip - debe leerse con cualquier lector gzip")
+    void testGzip_WrittenThroughCsvWriter_Decompresses() throws Exception {
+        Path file = tempDir.resolve("books.csv.gz");
+        String content = rows(20_000);
+
+        try (CsvWriter writer = new CsvWriter(file, 0, Compression.GZIP, 1)) {
+            for (String line : content.split("\n")) {
+                writer.row(line.split(","));
+            }
+        }
+
+        byte[] compressed = Files.readAllBytes(file);
+        assertTrue(compressed.length < content.length() / 3);
+        assertEquals(content, new String(gunzip(compressed)));
+    }
+
+    @Test
+    @DisplayName("Exportación por bloques - cada bloque debe descomprimirse por separado y en paralelo")
+    void testBlockGzip_SplitAtBlockOffsets_DecompressesInParallel() throws Exception {
+        Path file = tempDir.resolve("loans.csv.bgz");
+        byte[] content = rows(50_000).getBytes();
+
+        try (CompressingChannel channel = new CompressingChannel(FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE), Compression.BLOCK_GZIP, 6)) {
+            channel.write(ByteBuffer.wrap(content));
+        }
+
+        byte[] compressed = Files.readAllBytes(file);
+        long[] offsets;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            offsets = CompressingChannel.blockOffsets(channel);
+        }
+        int dataBlocks = (content.length + CompressingChannel.BLOCK_INPUT_BYTES - 1) / CompressingChannel.BLOCK_INPUT_BYTES;
+        assertEquals(dataBlocks + 1, offsets.length);
+
+        long[] bounds = Arrays.copyOf(offsets, offsets.length + 1);
+        bounds[offsets.length] = compressed.length;
+        byte[][] blocks = IntStream.range(0, offsets.length).parallel()
+                .mapToObj(i -> {
+                    try {
+                        return gunzip(Arrays.copyOfRange(compressed, (int) bounds[i], (int) bounds[i + 1]));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .toArray(byte[][]::new);
+
+        assertEquals(0, blocks[blocks.length - 1].length);
+        assertArrayEquals(Arrays.copyOfRange(content, CompressingChannel.BLOCK_INPUT_BYTES, 2 * CompressingChannel.BLOCK_INPUT_BYTES), blocks[1]);
+        assertArrayEquals(content, gunzip(compressed));
+    }
+}
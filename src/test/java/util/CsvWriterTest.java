@@ -0,0 +1,88 @@
+package util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CSV Writer - Streaming Encoding Tests")
+class CsvWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Números, fechas y decimales - debe coincidir con el formato anterior")
+    void testFields_NumbersAndDates_MatchPreviousFormat() throws Exception {
+        Path file = tempDir.resolve("books.csv");
+        double[] prices = {0, 0.005, 0.125, 12.5, 19.99, 1234567.891, -3.456};
+
+        try (CsvWriter writer = new CsvWriter(file, 0)) {
+            for (double price : prices) {
+                writer.fieldCents(price).field(-42).field(LocalDate.of(2024, 3, 7), "N/A").field(null, "N/A").endRow();
+            }
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(prices.length, lines.size());
+        for (int i = 0; i < prices.length; i++) {
+            assertEquals(String.format(Locale.US, "%.2f", prices[i]) + ",-42,07/03/2024,N/A", lines.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Decimales en el punto medio - debe redondear igual que el formato anterior")
+    void testFieldCents_HalfwayValues_MatchPreviousFormat() throws Exception {
+        Path file = tempDir.resolve("fines.csv");
+        double[] amounts = new double[4002];
+        amounts[0] = 1.005;
+        amounts[1] = -2.675;
+        for (int i = 0; i < 4000; i++) {
+            // Every halfway value from -19.995 to 19.995, such as 1.005 and 0.285
+            amounts[i + 2] = (i - 2000) / 100.0 + 0.005;
+        }
+
+        try (CsvWriter writer = new CsvWriter(file, 0)) {
+            for (double amount : amounts) {
+                writer.fieldCents(amount).endRow();
+            }
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals("1.01", lines.get(0));
+        for (int i = 0; i < amounts.length; i++) {
+            assertEquals(String.format(Locale.US, "%.2f", amounts[i]), lines.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Texto con comas, comillas y acentos en varios vaciados del buffer - debe leerse igual con CsvReader")
+    void testField_QuotedUnicodeAcrossFlushes_RoundTrips() throws Exception {
+        Path file = tempDir.resolve("titles.csv");
+        List<String> fields = List.of("Cien años de soledad", "García, Gabriel", "El \"Quijote\"", "línea\nnueva", "📚 libros", "");
+
+        try (CsvWriter writer = new CsvWriter(file, 0)) {
+            for (int i = 0; i < 1000; i++) {
+                writer.row(fields.toArray(new String[0]));
+            }
+            assertEquals(1000, writer.getRows());
+        }
+
+        String content = Files.readString(file, StandardCharsets.UTF_8);
+        try (CsvReader reader = new CsvReader(new StringReader(content))) {
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(fields, reader.readRecord());
+            }
+            assertNull(reader.readRecord());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ISBN - Validation and Encoding Tests")
+class IsbnTest {
+
+    @Test
+    @DisplayName("ISBN-13 con o sin guiones - debe codificarse al mismo número")
+    void testEncode_Isbn13_IgnoresSeparators() {
+        assertEquals(9783161484100L, Isbn.encode("978-3-16-148410-0"));
+        assertEquals(9783161484100L, Isbn.encode("978 3 16 148410 0"));
+        assertEquals("9783161484100", Isbn.normalize("9783161484100"));
+    }
+
+    @Test
+    @DisplayName("ISBN-10 - debe convertirse a su ISBN-13")
+    void testEncode_Isbn10_ConvertsToIsbn13() {
+        assertEquals(9783161484100L, Isbn.encode("3-16-148410-X"));
+        assertEquals(9780306406157L, Isbn.encode("0-306-40615-2"));
+    }
+
+    @Test
+    @DisplayName("Dígito de control incorrecto o formato inválido - debe rechazarse")
+    void testEncode_Invalid_ReturnsInvalid() {
+        assertFalse(Isbn.isValid("978-3-16-148410-1"));
+        assertFalse(Isbn.isValid("0-306-40615-3"));
+        assertFalse(Isbn.isValid("123-X-56789-0"));
+        assertFalse(Isbn.isValid("111"));
+        assertFalse(Isbn.isValid(null));
+        assertNull(Isbn.normalize("abc"));
+    }
+}
@@ -0,0 +1,46 @@
+package util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Logger - Level Filtering Tests")
+class LoggerTest {
+
+    @AfterEach
+    void tearDown() {
+        Logger.configureLevels(new Properties());
+    }
+
+    @Test
+    @DisplayName("Nivel por componente - debe sobrescribir el nivel global")
+    void testConfigureLevels_ComponentOverride_TakesPrecedence() {
+        Properties properties = new Properties();
+        properties.setProperty("log.level", "DEBUG");
+        properties.setProperty("log.level.LoanService", "WARN");
+
+        Logger.configureLevels(properties);
+
+        assertTrue(Logger.isEnabled(Logger.Level.DEBUG, "CatalogService"));
+        assertFalse(Logger.isEnabled(Logger.Level.INFO, "LoanService"));
+        assertTrue(Logger.isEnabled(Logger.Level.ERROR, "LoanService"));
+    }
+
+    @Test
+    @DisplayName("Nivel deshabilitado - no debe construir el mensaje")
+    void testLog_DisabledLevel_DoesNotEvaluateSupplier() {
+        Properties properties = new Properties();
+        properties.setProperty("log.level", "ERROR");
+        Logger.configureLevels(properties);
+
+        Supplier<String> message = () -> fail("Message should not be built for a disabled level");
+
+        Logger.info("LoggerTest", message);
+        Logger.debug("LoggerTest", "Unused %s", "argument");
+    }
+}